@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.constraintvalidators.EmailValidator;
+import org.hibernate.validator.constraints.Email;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintValidator;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static cz.jirutka.validator.collection.benchmarks.BenchmarkUtils.createAnnotation;
+
+/**
+ * Compares the Hibernate Validator's validator of {@code @Email} (used by
+ * {@code @EachEmail} before) with {@link EmailValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmailBenchmark {
+
+    private static final String[] ADDRESSES = {
+        "john.doe@example.org",
+        "first.last+newsletter@mail.sub.example.co.uk",
+        "\"John Doe\"@example.org",
+        "no-reply@[192.168.10.1]",
+        "invalid..address@example.org",
+        "missing-at-sign.example.org",
+        "foo@bar.",
+        "x@y.z"
+    };
+
+    private ConstraintValidator<Email, CharSequence> hibernateValidator;
+
+    private ConstraintValidator<Email, CharSequence> libraryValidator;
+
+    private int index;
+
+
+    @Setup
+    public void setup() {
+        Email constraint = createAnnotation(Email.class, Collections.<String, Object>emptyMap());
+
+        hibernateValidator = new org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator();
+        hibernateValidator.initialize(constraint);
+
+        libraryValidator = new EmailValidator();
+        libraryValidator.initialize(constraint);
+    }
+
+    @Benchmark
+    public boolean hibernateValidator() {
+        return hibernateValidator.isValid(ADDRESSES[index++ & 7], null);
+    }
+
+    @Benchmark
+    public boolean libraryValidator() {
+        return libraryValidator.isValid(ADDRESSES[index++ & 7], null);
+    }
+}
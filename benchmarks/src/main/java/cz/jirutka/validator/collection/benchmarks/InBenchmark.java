@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.constraintvalidators.InValidatorForCharSequence;
+import cz.jirutka.validator.collection.constraintvalidators.PatternValidator;
+import cz.jirutka.validator.collection.constraints.In;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.constraints.Pattern;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static cz.jirutka.validator.collection.benchmarks.BenchmarkUtils.createAnnotation;
+
+/**
+ * Compares validation of ISO 4217 currency codes using {@link PatternValidator}
+ * with an alternation of all the codes and {@link InValidatorForCharSequence}.
+ * Half of the values are valid codes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InBenchmark {
+
+    private static final String[] VALUES = {
+        "CZK", "XYZ", "EUR", "czk", "USD", "EURO", "ZWL", "AAA"
+    };
+
+    private ConstraintValidator<Pattern, CharSequence> patternValidator;
+
+    private ConstraintValidator<In, CharSequence> inValidator;
+
+    private int index;
+
+
+    @Setup
+    public void setup() {
+        List<String> codes = new ArrayList<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            codes.add(currency.getCurrencyCode());
+        }
+        StringBuilder regexp = new StringBuilder();
+        for (String code : codes) {
+            regexp.append(regexp.length() == 0 ? "" : "|").append(code);
+        }
+
+        patternValidator = new PatternValidator();
+        patternValidator.initialize(createAnnotation(Pattern.class,
+                Collections.<String, Object>singletonMap("regexp", regexp.toString())));
+
+        inValidator = new InValidatorForCharSequence();
+        inValidator.initialize(createAnnotation(In.class,
+                Collections.<String, Object>singletonMap("value", codes.toArray(new String[codes.size()]))));
+    }
+
+    @Benchmark
+    public boolean patternValidator() {
+        return patternValidator.isValid(VALUES[index++ & 7], null);
+    }
+
+    @Benchmark
+    public boolean inValidator() {
+        return inValidator.isValid(VALUES[index++ & 7], null);
+    }
+}
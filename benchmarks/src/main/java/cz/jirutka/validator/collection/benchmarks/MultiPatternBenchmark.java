@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.internal.regex.RegexAutomaton;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares matching an element against several regexps one by one using
+ * {@link Pattern} (i.e. several {@code @EachPattern} constraints) with
+ * {@link RegexAutomaton} used by {@code @EachPattern} with
+ * {@code additionalRegexps}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultiPatternBenchmark {
+
+    private static final List<String> REGEXPS = Arrays.asList(
+        "[A-Z]{2}[0-9]{2}[A-Z0-9]{11,30}",
+        "[0-9]{3}-[0-9]{3}-[0-9]{4}",
+        "\\+?[0-9]{1,3}( ?[0-9]{3}){3}",
+        "[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,}",
+        "(?:[0-9]{1,3}\\.){3}[0-9]{1,3}",
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}",
+        "[A-Z][a-z]+(?: [A-Z][a-z]+)*",
+        "#[0-9a-fA-F]{6}"
+    );
+
+    private static final String[] VALUES = {
+        "CZ6508000000192000145399",
+        "john.doe@example.org",
+        "192.168.10.254",
+        "+420 123 456 789",
+        "550e8400-e29b-41d4-a716-446655440000",
+        "Jakub Jirutka",
+        "#ff8800",
+        "not matching anything at all!"
+    };
+
+    @Param({"2", "8"})
+    private int regexpsCount;
+
+    private Pattern[] patterns;
+
+    private RegexAutomaton automaton;
+
+    private int index;
+
+
+    @Setup
+    public void setup() {
+        List<String> regexps = REGEXPS.subList(0, regexpsCount);
+        List<Pattern> patterns = new ArrayList<>();
+
+        for (String regexp : regexps) {
+            patterns.add(Pattern.compile(regexp));
+        }
+        this.patterns = patterns.toArray(new Pattern[patterns.size()]);
+        this.automaton = RegexAutomaton.compile(regexps, 0);
+    }
+
+    @Benchmark
+    public boolean patternsAny() {
+        CharSequence value = VALUES[index++ & 7];
+
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean automatonAny() {
+        return automaton.matchesAny(VALUES[index++ & 7]);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.constraintvalidators.PatternValidator;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.constraints.Pattern;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static cz.jirutka.validator.collection.benchmarks.BenchmarkUtils.createAnnotation;
+
+/**
+ * Compares the Hibernate Validator's validator of {@code @Pattern} with
+ * {@link PatternValidator} that checks a prefilter derived from the regexp
+ * first. Most of the values don't match, some of them differ only in the
+ * last character.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PatternBenchmark {
+
+    private static final String REGEXP = "^INV-[0-9]{8}$";
+
+    private static final String[] VALUES = {
+        "INV-20160412",
+        "INV-2016041",
+        "ORD-20160412",
+        "inv-20160412",
+        "INV-201604123",
+        "20160412",
+        "INV-2016041x",
+        "INV-20160412"
+    };
+
+    private ConstraintValidator<Pattern, CharSequence> hibernateValidator;
+
+    private ConstraintValidator<Pattern, CharSequence> libraryValidator;
+
+    private int index;
+
+
+    @Setup
+    public void setup() {
+        Pattern constraint = createAnnotation(Pattern.class, Collections.<String, Object>singletonMap("regexp", REGEXP));
+
+        hibernateValidator = new org.hibernate.validator.internal.constraintvalidators.bv.PatternValidator();
+        hibernateValidator.initialize(constraint);
+
+        libraryValidator = new PatternValidator();
+        libraryValidator.initialize(constraint);
+    }
+
+    @Benchmark
+    public boolean hibernateValidator() {
+        return hibernateValidator.isValid(VALUES[index++ & 7], null);
+    }
+
+    @Benchmark
+    public boolean libraryValidator() {
+        return libraryValidator.isValid(VALUES[index++ & 7], null);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.constraintvalidators.ScriptAssertValidator;
+import org.hibernate.validator.constraints.ScriptAssert;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintValidator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static cz.jirutka.validator.collection.benchmarks.BenchmarkUtils.createAnnotation;
+
+/**
+ * Compares per-element overhead of the Hibernate Validator's validator of
+ * {@code @ScriptAssert} (used by {@code @EachScriptAssert} before) with
+ * {@link ScriptAssertValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScriptAssertBenchmark {
+
+    private ConstraintValidator<ScriptAssert, Object> hibernateValidator;
+
+    private ConstraintValidator<ScriptAssert, Object> libraryValidator;
+
+    private int value;
+
+
+    @Setup
+    public void setup() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("lang", "javascript");
+        attributes.put("script", "_this >= 0 && _this % 7 != 3");
+
+        ScriptAssert constraint = createAnnotation(ScriptAssert.class, attributes);
+
+        hibernateValidator = new org.hibernate.validator.internal.constraintvalidators.hv.ScriptAssertValidator();
+        hibernateValidator.initialize(constraint);
+
+        libraryValidator = new ScriptAssertValidator();
+        libraryValidator.initialize(constraint);
+    }
+
+    @Benchmark
+    public boolean hibernateValidator() {
+        return hibernateValidator.isValid(value++ & 0xFF, null);
+    }
+
+    @Benchmark
+    public boolean libraryValidator() {
+        return libraryValidator.isValid(value++ & 0xFF, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean hibernateValidatorConcurrent() {
+        return hibernateValidator.isValid(value++ & 0xFF, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean libraryValidatorConcurrent() {
+        return libraryValidator.isValid(value++ & 0xFF, null);
+    }
+
+    // more threads than processors, so the engine pool is exhausted
+    @Benchmark
+    @Threads(64)
+    public boolean hibernateValidatorContended() {
+        return hibernateValidator.isValid(value++ & 0xFF, null);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean libraryValidatorContended() {
+        return libraryValidator.isValid(value++ & 0xFF, null);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.benchmarks;
+
+import cz.jirutka.validator.collection.constraints.EachUnique;
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForCollection;
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForLongArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static cz.jirutka.validator.collection.benchmarks.BenchmarkUtils.createAnnotation;
+
+/**
+ * Compares the usual way of checking distinctness of a list, i.e. copying
+ * it into a {@link HashSet}, with the validators of {@link EachUnique} on
+ * 1M distinct elements (the worst case, all elements must be checked).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UniqueBenchmark {
+
+    private static final int SIZE = 1_000_000;
+
+    private List<Long> longs;
+
+    private long[] longArray;
+
+    private List<String> strings;
+
+    private UniqueValidatorForCollection collectionValidator;
+
+    private UniqueValidatorForLongArray arrayValidator;
+
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Set<Long> set = new HashSet<>(SIZE * 2);
+        while (set.size() < SIZE) {
+            set.add(random.nextLong());
+        }
+        longs = new ArrayList<>(set);
+        Collections.shuffle(longs, random);
+
+        longArray = new long[SIZE];
+        strings = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            longArray[i] = longs.get(i);
+            strings.add(Long.toString(longs.get(i), 36));
+        }
+
+        EachUnique constraint = createAnnotation(EachUnique.class, Collections.<String, Object>emptyMap());
+
+        collectionValidator = new UniqueValidatorForCollection();
+        collectionValidator.initialize(constraint);
+
+        arrayValidator = new UniqueValidatorForLongArray();
+        arrayValidator.initialize(constraint);
+    }
+
+    @Benchmark
+    public boolean hashSetOfLongs() {
+        return new HashSet<>(longs).size() == longs.size();
+    }
+
+    @Benchmark
+    public boolean validatorOfLongs() {
+        return collectionValidator.isValid(longs, null);
+    }
+
+    @Benchmark
+    public boolean validatorOfLongArray() {
+        return arrayValidator.isValid(longArray, null);
+    }
+
+    @Benchmark
+    public boolean hashSetOfStrings() {
+        return new HashSet<>(strings).size() == strings.size();
+    }
+
+    @Benchmark
+    public boolean validatorOfStrings() {
+        return collectionValidator.isValid(strings, null);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import javax.validation.ConstraintValidatorContext;
+import java.util.List;
+
+/**
+ * Interface to be implemented by a validator of collection elements that
+ * can validate a batch of elements at once more efficiently than each
+ * element separately.
+ *
+ * <p>The {@link CommonEachValidator} uses it only when this validator is the
+ * only validator of the constraint (i.e. it validates elements of any type),
+ * the {@code @EachX} annotation declares just one constraint and
+ * {@link #isBatchEnabled()} returns <tt>true</tt>.</p>
+ */
+public interface BatchValidator {
+
+    /**
+     * Whether this (initialized) validator should validate elements in
+     * batches.
+     */
+    boolean isBatchEnabled();
+
+    /**
+     * @return The maximum number of elements in a batch.
+     */
+    int getBatchSize();
+
+    /**
+     * Validates the given batch of elements.
+     *
+     * @param elements The elements to validate; a read-only view that must
+     *                 not be retained after this method returns.
+     * @param context The constraint validator context.
+     * @return Indexes of the invalid elements in the given list in ascending
+     *         order, or an empty array if all elements are valid.
+     */
+    int[] findInvalid(List<?> elements, ConstraintValidatorContext context);
+}
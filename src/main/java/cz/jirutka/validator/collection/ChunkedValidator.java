@@ -0,0 +1,306 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import cz.jirutka.validator.collection.CommonEachValidator.PreparedConstraint;
+import cz.jirutka.validator.collection.internal.DetachedValidatorContext;
+import cz.jirutka.validator.collection.time.ReferenceTime;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Programmatic validator of huge lists against an {@code @EachX}
+ * annotation that proceeds in chunks, so the validation can be paused and
+ * resumed later, e.g. spread over time slices of a scheduler, or restarted
+ * after a failure of a batch job. It resolves the constraints in the same
+ * way as {@link CommonEachValidator}, but it doesn't stop on the first
+ * invalid element; it reports failures of each chunk instead.
+ *
+ * <pre>{@code
+ * ChunkedValidator validator = new ChunkedValidator(eachAnnotation, 10000);
+ * Checkpoint checkpoint = loadCheckpoint();  // or Checkpoint.START
+ *
+ * checkpoint = validator.validate(list, checkpoint, new ProgressListener() {
+ *     public boolean chunkValidated(Checkpoint checkpoint, int size) {
+ *         saveFailures(checkpoint.getChunkFailures());
+ *         saveCheckpoint(checkpoint);
+ *         return !preempted();  // false to pause
+ *     }
+ * });
+ * }</pre>
+ *
+ * <p>A checkpoint holds only the failures of the last chunk and the total
+ * number of failures, so the failures must be consumed after each chunk.</p>
+ *
+ * <p>The validated list must not be modified between the chunks, otherwise
+ * the checkpoint doesn't match it. Instances are thread-safe.</p>
+ */
+public final class ChunkedValidator {
+
+    private final CommonEachValidator validator = new CommonEachValidator();
+
+    private final ConstraintValidatorContext context = DetachedValidatorContext.getInstance();
+
+    private final int chunkSize;
+
+
+    /**
+     * Creates a validator that uses the default {@link ValidatorFactory},
+     * built once and shared by all such instances.
+     *
+     * @param eachAnnotation The {@code @EachX} annotation to validate the
+     *                       elements against.
+     * @param chunkSize The number of elements validated in one chunk.
+     */
+    public ChunkedValidator(Annotation eachAnnotation, int chunkSize) {
+        this(eachAnnotation, DefaultFactoryHolder.INSTANCE, chunkSize);
+    }
+
+    /**
+     * @param eachAnnotation The {@code @EachX} annotation to validate the
+     *                       elements against.
+     * @param factory The factory of validators and message interpolator.
+     * @param chunkSize The number of elements validated in one chunk.
+     */
+    public ChunkedValidator(Annotation eachAnnotation, ValidatorFactory factory, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive, but is: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+
+        validator.setValidatorFactory(factory);
+        validator.initialize(eachAnnotation);
+    }
+
+
+    /**
+     * Validates the chunks of the list from the given checkpoint, until all
+     * the elements are validated or the listener pauses it.
+     *
+     * @param list The list to validate.
+     * @param checkpoint The checkpoint to resume from, or {@link Checkpoint#START}.
+     * @param listener The listener to be notified after each chunk, or <tt>null</tt>.
+     * @return The checkpoint after the last validated chunk.
+     */
+    public Checkpoint validate(List<?> list, Checkpoint checkpoint, ProgressListener listener) {
+        while (! checkpoint.isComplete(list)) {
+            checkpoint = validateChunk(list, checkpoint);
+
+            if (listener != null && ! listener.chunkValidated(checkpoint, list.size())) {
+                break;
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Validates a single chunk of the list from the given checkpoint.
+     *
+     * @param list The list to validate.
+     * @param checkpoint The checkpoint to resume from, or {@link Checkpoint#START}.
+     * @return The checkpoint after the validated chunk.
+     */
+    public Checkpoint validateChunk(List<?> list, Checkpoint checkpoint) {
+        int start = checkpoint.getNextIndex();
+        int end = Math.min(start + chunkSize, list.size());
+
+        if (start > list.size()) {
+            throw new IllegalArgumentException("Checkpoint is beyond the end of the list, has it been modified?");
+        }
+        List<Failure> failures = new ArrayList<>();
+
+        // all elements of the chunk are compared against the same "now"
+        boolean timeCaptured = ReferenceTime.capture(context);
+        try {
+            ListIterator<?> it = list.listIterator(start);
+
+            for (int index = start; index < end; index++) {
+                Object element = it.next();
+                PreparedConstraint violated = validator.findViolatedConstraint(element, context);
+
+                if (violated != null) {
+                    failures.add(new Failure(index, validator.createInterpolatedMessage(
+                            violated.getDescriptor(), violated.getReporter().getMessageTemplate(), element)));
+                }
+            }
+        } finally {
+            if (timeCaptured) {
+                ReferenceTime.release();
+            }
+        }
+        return checkpoint.next(end, failures);
+    }
+
+
+    //////// Inner classes ////////
+
+    /**
+     * Listener of the progress of {@link #validate(List, Checkpoint, ProgressListener)}.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Invoked after each validated chunk. The failures of the chunk are
+         * available only in the given checkpoint.
+         *
+         * @param checkpoint The checkpoint after the chunk.
+         * @param size Size of the validated list.
+         * @return <tt>true</tt> to continue with the next chunk, <tt>false</tt>
+         *         to pause the validation.
+         */
+        boolean chunkValidated(Checkpoint checkpoint, int size);
+    }
+
+    // the default factory is built on the first use
+    private static final class DefaultFactoryHolder {
+
+        static final ValidatorFactory INSTANCE = Validation.buildDefaultValidatorFactory();
+    }
+
+    /**
+     * Immutable state of a chunked validation: index of the next element to
+     * validate, failures of the last validated chunk and the total number of
+     * failures. It's serializable, so it can be persisted to resume the
+     * validation later.
+     */
+    public static final class Checkpoint implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** Checkpoint of a validation that has not started yet. */
+        public static final Checkpoint START = new Checkpoint(0, 0, Collections.<Failure>emptyList());
+
+        private final int nextIndex;
+        private final int failureCount;
+        private final List<Failure> chunkFailures;
+
+
+        private Checkpoint(int nextIndex, int failureCount, List<Failure> chunkFailures) {
+            this.nextIndex = nextIndex;
+            this.failureCount = failureCount;
+            this.chunkFailures = chunkFailures;
+        }
+
+        /**
+         * @return Index of the next element to validate.
+         */
+        public int getNextIndex() {
+            return nextIndex;
+        }
+
+        /**
+         * @return Failures of the elements of the last validated chunk, in
+         *         the order of their indexes.
+         */
+        public List<Failure> getChunkFailures() {
+            return chunkFailures;
+        }
+
+        /**
+         * @return The number of failures of all the elements validated so far.
+         */
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Whether all the elements of the given list have been validated.
+         */
+        public boolean isComplete(List<?> list) {
+            return nextIndex >= list.size();
+        }
+
+        /**
+         * Whether all the validated elements are valid.
+         */
+        public boolean isValid() {
+            return failureCount == 0;
+        }
+
+        Checkpoint next(int nextIndex, List<Failure> chunkFailures) {
+            List<Failure> failures = chunkFailures.isEmpty()
+                    ? Collections.<Failure>emptyList() : unmodifiableList(chunkFailures);
+
+            return new Checkpoint(nextIndex, failureCount + chunkFailures.size(), failures);
+        }
+
+        public String toString() {
+            return "Checkpoint{nextIndex=" + nextIndex + ", failures=" + failureCount + '}';
+        }
+    }
+
+    /**
+     * Failure of a single element.
+     */
+    public static final class Failure implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final String message;
+
+
+        public Failure(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        /**
+         * @return Index of the invalid element in the list.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The interpolated message of the violated constraint.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Failure)) {
+                return false;
+            }
+            Failure other = (Failure) obj;
+            return index == other.index && message.equals(other.message);
+        }
+
+        public int hashCode() {
+            return 31 * index + message.hashCode();
+        }
+
+        public String toString() {
+            return "[" + index + "] " + message;
+        }
+    }
+}
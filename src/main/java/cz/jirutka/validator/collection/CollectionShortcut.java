@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import cz.jirutka.validator.collection.constraints.EachConstraint;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+
+/**
+ * A structure-specific way to find out that all elements of a collection are
+ * valid without validating them one by one, e.g. a {@code contains(null)}
+ * on a hash set for {@code @NotNull}. It's declared for an {@code @EachX}
+ * annotation in {@link EachConstraint#shortcuts()}.
+ *
+ * <p>The {@link CommonEachValidator} asks the shortcuts before validating
+ * the elements; if any of them returns <tt>true</tt>, the collection is valid.
+ * Otherwise the elements are validated as usual, so a shortcut doesn't have
+ * to find out which element is invalid, it just answers <tt>false</tt>.
+ * An implementation must be stateless and thread-safe, and it must have a
+ * public no-arg constructor.</p>
+ */
+public interface CollectionShortcut {
+
+    /**
+     * Decides whether all elements of the given collection are valid, if it
+     * can be determined from the collection's structure.
+     *
+     * @param collection The collection to validate; not empty.
+     * @param constraint The constraint to validate the elements against.
+     * @param validators Provider of the constraint's validators for elements.
+     * @param context The constraint validator context.
+     * @return <tt>true</tt> if all elements are valid, <tt>false</tt> if some
+     *         of them is invalid or it cannot be determined by this shortcut.
+     */
+    boolean isValid(Collection<?> collection, Annotation constraint, ElementValidators validators,
+                    ConstraintValidatorContext context);
+
+
+    /**
+     * Provider of the initialized validators of the constraint, the same
+     * that are used to validate the elements one by one.
+     */
+    interface ElementValidators {
+
+        /**
+         * @param type Type of the element to be validated.
+         * @return An initialized validator for the given type.
+         * @throws IllegalArgumentException if no validator for the type is found.
+         */
+        ConstraintValidator forType(Class<?> type);
+    }
+}
@@ -24,27 +24,39 @@
 package cz.jirutka.validator.collection;
 
 import cz.jirutka.validator.collection.constraints.EachConstraint;
+import cz.jirutka.validator.collection.immutable.ImmutableCollections;
+import cz.jirutka.validator.collection.instrument.Instrumentation;
 import cz.jirutka.validator.collection.internal.ConstraintDescriptorFactory;
+import cz.jirutka.validator.collection.internal.InterpolatedMessageCache;
 import cz.jirutka.validator.collection.internal.MessageInterpolatorContext;
+import cz.jirutka.validator.collection.internal.ViolationReporter;
+import cz.jirutka.validator.collection.internal.WeakIdentitySet;
+import cz.jirutka.validator.collection.internal.ConstraintValidatorUtils;
+import cz.jirutka.validator.collection.limits.Limits;
+import cz.jirutka.validator.collection.limits.ValidationLimits;
+import cz.jirutka.validator.collection.sampling.Sampling;
+import cz.jirutka.validator.collection.sampling.SamplingPolicy;
+import cz.jirutka.validator.collection.time.ReferenceTime;
+import cz.jirutka.validator.collection.time.ReferenceTimeAware;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.reflect.TypeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
+import javax.validation.MessageInterpolator;
 import javax.validation.MessageInterpolator.Context;
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
 import javax.validation.metadata.ConstraintDescriptor;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.TypeVariable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static cz.jirutka.validator.collection.internal.AnnotationUtils.*;
-import static cz.jirutka.validator.collection.internal.ConstraintValidatorContextUtils.addConstraintViolationInIterable;
+import static cz.jirutka.validator.collection.internal.MessageTemplateUtils.referencesValidatedValue;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
@@ -61,21 +73,39 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
 
     private static final ConstraintDescriptorFactory DESCRIPTOR_FACTORY = ConstraintDescriptorFactory.newInstance();
 
+    private static final int MESSAGE_CACHE_SIZE = 256;
+
+    // compared by name, so it works with any Bean Validation provider
+    private static final String DEFAULT_INTERPOLATOR_CLASS =
+            "org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator";
+
     // injected by container, or set default during initialization
     private @Inject ValidatorFactory factory;
 
     // after initialization it's read-only
-    private List<ConstraintDescriptor> descriptors;
+    private Annotation eachAnnotation;
 
     // after initialization it's read-only
-    private Map<Class, Class<? extends ConstraintValidator<?, ?>>> validators;
+    private List<PreparedConstraint> constraints;
 
-    // modifiable after initialization; must be thread-safe!
-    private Map<Class, ConstraintValidator> validatorInstances;
+    // after initialization it's read-only
+    private Map<Class, Class<? extends ConstraintValidator<?, ?>>> validators;
 
     // after initialization it's read-only
     private boolean earlyInterpolation;
 
+    // after initialization it's read-only
+    private boolean referenceTimeAware;
+
+    // after initialization it's read-only; used only with a single constraint
+    private CollectionShortcut[] shortcuts = {};
+
+    // used only with earlyInterpolation and the default interpolator; must be thread-safe!
+    private InterpolatedMessageCache messageCache;
+
+    // created on demand, used only when caching of immutables is enabled
+    private volatile WeakIdentitySet<Collection<?>> validImmutables;
+
 
     public void initialize(Annotation eachAnnotation) {
 
@@ -86,15 +116,22 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
             LOG.debug("No ValidatorFactory injected, building default one");
             factory = Validation.buildDefaultValidatorFactory();
         }
-        validatorInstances = new ConcurrentHashMap<>(2);
+        this.eachAnnotation = eachAnnotation;
+
+        List<ConstraintDescriptor> descriptors;
+        List<Class<? extends ConstraintValidator<?, ?>>> validatorClasses = new ArrayList<>();
 
         if (eachAType.isAnnotationPresent(EachConstraint.class)) {
-            Class constraintClass = eachAType.getAnnotation(EachConstraint.class).validateAs();
+            EachConstraint eachConstraint = eachAType.getAnnotation(EachConstraint.class);
+            Class constraintClass = eachConstraint.validateAs();
+            validatorClasses.addAll(asList(eachConstraint.validatedBy()));
+            validatorClasses.addAll(loadValidatorClasses(eachConstraint.optionalValidatedBy()));
 
             Annotation constraint = createConstraintAndCopyAttributes(constraintClass, eachAnnotation);
             ConstraintDescriptor descriptor = createConstraintDescriptor(constraint);
 
             descriptors = unmodifiableList(asList(descriptor));
+            shortcuts = createShortcuts(eachConstraint.shortcuts());
 
         // legacy and deprecated, will be removed in next major version!
         } else if (isWrapperAnnotation(eachAType)) {
@@ -108,6 +145,10 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
             descriptors = unmodifiableList(list);
             earlyInterpolation = true;
 
+            if (isDefaultMessageInterpolator(factory.getMessageInterpolator())) {
+                messageCache = new InterpolatedMessageCache(MESSAGE_CACHE_SIZE);
+            }
+
             LOG.info("You're using legacy @EachX annotation style, this will be removed soon! " +
                      "Please update your @EachX annotations.");
 
@@ -119,9 +160,31 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
         // constraints are always of the same type, so just pick first
         ConstraintDescriptor descriptor = descriptors.get(0);
 
-        validators = categorizeValidatorsByType(descriptor.getConstraintValidatorClasses());
+        validatorClasses.addAll(descriptor.getConstraintValidatorClasses());
+
+        validators = categorizeValidatorsByType(validatorClasses);
         Validate.notEmpty(validators,
                 "No validator found for constraint: %s", descriptor.getAnnotation().annotationType());
+
+        for (Class<?> validatorClass : validators.values()) {
+            referenceTimeAware |= ReferenceTimeAware.class.isAssignableFrom(validatorClass);
+        }
+
+        List<PreparedConstraint> list = new ArrayList<>(descriptors.size());
+        for (ConstraintDescriptor desc : descriptors) {
+            list.add( prepareConstraint(desc) );
+        }
+        constraints = unmodifiableList(list);
+
+        if (constraints.size() == 1 && validators.size() == 1) {
+            PreparedConstraint constraint = constraints.get(0);
+            ConstraintValidator validator = getValidatorInstance(constraint, validators.keySet().iterator().next());
+
+            if (validator instanceof BatchValidator && ((BatchValidator) validator).isBatchEnabled()) {
+                LOG.trace("Elements will be validated in batches by {}", validator.getClass().getName());
+                constraint.batchValidator = (BatchValidator) validator;
+            }
+        }
     }
 
     public boolean isValid(Collection<?> collection, ConstraintValidatorContext context) {
@@ -130,37 +193,371 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
         }
         context.disableDefaultConstraintViolation();  //do not add wrapper's message
 
+        Limits limits = ValidationLimits.get(eachAnnotation.annotationType());
+        if (collection.size() > limits.getMaxSize()) {
+            LOG.debug("Collection of size {} exceeds the max size {}", collection.size(), limits.getMaxSize());
+            reportLimitExceeded(limits.getSizeMessage(), context);
+            return false;
+        }
+        // a sampled collection has not really passed the validation
+        boolean cacheable = !referenceTimeAware && Sampling.getPolicy() == null
+                && ImmutableCollections.isCachingEnabled() && ImmutableCollections.isImmutable(collection);
+
+        if (cacheable && validImmutables != null && validImmutables.contains(collection)) {
+            LOG.trace("Immutable collection has already passed validation");
+            return true;
+        }
+        ValidationScope.Memo memo = ValidationScope.currentMemo();
+        boolean valid = memo != null
+                ? isValidMemoized(collection, memo, context)
+                : isValidCollection(collection, context);
+
+        if (valid && cacheable) {
+            rememberValidImmutable(collection);
+        }
+        return valid;
+    }
+
+    public void setValidatorFactory(ValidatorFactory factory) {
+        this.factory = factory;
+    }
+
+
+    /**
+     * Validates the collection using the shortcuts, batches, or element by
+     * element, whichever is applicable.
+     */
+    protected boolean isValidCollection(Collection<?> collection, ConstraintValidatorContext context) {
+        // all elements are compared against the same "now"
+        boolean timeCaptured = referenceTimeAware && ReferenceTime.capture(context);
+        try {
+            Limits.Deadline deadline = ValidationLimits.get(eachAnnotation.annotationType()).startDeadline();
+
+            if (collection instanceof IncrementalCollection && !referenceTimeAware
+                    && ((IncrementalCollection) collection).isTracked(eachAnnotation)) {
+                return isValidIncrementally((IncrementalCollection) collection, deadline, context);
+            }
+            PreparedConstraint first = constraints.get(0);
+            if (shortcuts.length > 0 && isValidByShortcut(collection, first, context)) {
+                return true;
+            }
+            SamplingPolicy sampling = Sampling.getPolicy();
+            if (sampling != null) {
+                int[] indexes = sampling.selectIndexes(eachAnnotation, collection.size());
+                if (indexes != null) {
+                    return isValidSample(collection, indexes, context);
+                }
+            }
+            if (first.batchValidator != null) {
+                return isValidInBatches(collection, first, deadline, context);
+            }
+            return isValidEach(collection, deadline, context);
+
+        } finally {
+            if (timeCaptured) {
+                ReferenceTime.release();
+            }
+        }
+    }
+
+    /**
+     * Remembers the immutable collection that has passed validation, so it
+     * won't be validated again.
+     */
+    protected void rememberValidImmutable(Collection<?> collection) {
+        if (validImmutables == null) {
+            synchronized (this) {
+                if (validImmutables == null) {
+                    validImmutables = new WeakIdentitySet<>();
+                }
+            }
+        }
+        validImmutables.add(collection);
+    }
+
+    /**
+     * Validates the collection, unless it has been already validated with
+     * the same annotation in the current {@link ValidationScope}. In that
+     * case the remembered violation (if any) is just reported again.
+     */
+    protected boolean isValidMemoized(Collection<?> collection, ValidationScope.Memo memo,
+                                      ConstraintValidatorContext context) {
+        ValidationScope.Outcome outcome = memo.get(collection, eachAnnotation);
+
+        if (outcome == null) {
+            memo.takeReported();
+            boolean valid = isValidCollection(collection, context);
+            outcome = valid ? ValidationScope.Outcome.VALID : memo.takeReported();
+
+            if (outcome != null) {
+                memo.put(collection, eachAnnotation, outcome);
+            }
+            return valid;
+        }
+        LOG.trace("Collection has been already validated in this scope");
+
+        if (outcome.isValid()) {
+            return true;
+        }
+        reportViolation(constraints.get(outcome.constraintIndex), outcome.element, outcome.index, context);
+        return false;
+    }
+
+
+    /**
+     * Validates the collection element by element.
+     */
+    protected boolean isValidEach(Collection<?> collection, ConstraintValidatorContext context) {
+        return isValidEach(collection, null, context);
+    }
+
+    /**
+     * Validates the collection element by element, until the deadline.
+     *
+     * @param deadline The deadline, or <tt>null</tt> if the time is not limited.
+     */
+    protected boolean isValidEach(Collection<?> collection, Limits.Deadline deadline,
+                                  ConstraintValidatorContext context) {
         int index = 0;
         for (Iterator<?> it = collection.iterator(); it.hasNext(); index++) {
-            Object element = it.next();
+            if (! isValidElement(it.next(), index, context)) {
+                return false;
+            }
+            if (deadline != null && deadline.isExceeded(1) && it.hasNext()) {
+                return timeBudgetExceeded(index + 1, context);
+            }
+        }
+        return true;
+    }
 
-            ConstraintValidator validator = element != null
-                    ? getValidatorInstance(element.getClass())
-                    : getAnyValidatorInstance();
+    /**
+     * Validates only the elements at the given indexes selected by the
+     * {@link SamplingPolicy}.
+     *
+     * @param indexes Ascending indexes of the elements to validate.
+     */
+    protected boolean isValidSample(Collection<?> collection, int[] indexes, ConstraintValidatorContext context) {
+        int invalidIndex = -1;
+        int sampled = 0;
 
-            for (ConstraintDescriptor descriptor : descriptors) {
-                validator.initialize(descriptor.getAnnotation());
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            List<?> list = (List<?>) collection;
 
-                if (! validator.isValid(element, context)) {
-                    LOG.debug("Element [{}] = '{}' is invalid according to: {}",
-                            index, element, validator.getClass().getName());
+            for (; sampled < indexes.length && invalidIndex < 0; sampled++) {
+                int index = indexes[sampled];
+                if (! isValidElement(list.get(index), index, context)) {
+                    invalidIndex = index;
+                }
+            }
+        } else {
+            Iterator<?> it = collection.iterator();
+            int position = 0;
 
-                    // early interpolation hack is needed only for legacy annotations
-                    // and will go away with them
-                    String message = earlyInterpolation
-                            ? createInterpolatedMessage(descriptor, element)
-                            : readAttribute(descriptor.getAnnotation(), "message", String.class);
+            for (; sampled < indexes.length && invalidIndex < 0; sampled++) {
+                int index = indexes[sampled];
+                for (; position < index; position++) {
+                    it.next();
+                }
+                position++;
+                if (! isValidElement(it.next(), index, context)) {
+                    invalidIndex = index;
+                }
+            }
+        }
+        LOG.trace("Validated {} of {} elements", sampled, collection.size());
 
-                    addConstraintViolationInIterable(context, message, index);
-                    return false;
+        if (Instrumentation.isEnabled()) {
+            Instrumentation.getListener().collectionSampled(eachAnnotation, collection.size(), sampled, invalidIndex);
+        }
+        return invalidIndex < 0;
+    }
+
+    /**
+     * Validates only the elements of the collection that have not been
+     * validated against this validator's annotation yet.
+     *
+     * @see ValidatedList
+     * @see ValidatedSet
+     */
+    protected boolean isValidIncrementally(IncrementalCollection collection, ConstraintValidatorContext context) {
+        return isValidIncrementally(collection, null, context);
+    }
+
+    /**
+     * Validates only the pending elements of the collection, until the
+     * deadline. The collection keeps the progress, so the next validation
+     * continues where this one has stopped.
+     *
+     * @param deadline The deadline, or <tt>null</tt> if the time is not limited.
+     * @see #isValidIncrementally(IncrementalCollection, ConstraintValidatorContext)
+     */
+    protected boolean isValidIncrementally(IncrementalCollection collection, final Limits.Deadline deadline,
+                                           final ConstraintValidatorContext context) {
+        return collection.validatePending(eachAnnotation, new IncrementalCollection.ElementValidator() {
+            private PreparedConstraint violated;
+            private int validated;
+
+            public boolean isValid(Object element) {
+                validated++;
+                violated = findViolatedConstraint(element, context);
+                return violated == null;
+            }
+            public boolean isBudgetExceeded() {
+                if (deadline != null && validated > 0 && deadline.isExceeded(1)) {
+                    timeBudgetExceeded(validated, context);
+                    return true;
                 }
+                return false;
             }
+            public void reportViolation(Object element, int index) {
+                LOG.debug("Element [{}] = '{}' is invalid according to: {}",
+                        index, element, violated.getDescriptor().getAnnotation().annotationType().getName());
+
+                CommonEachValidator.this.reportViolation(violated, element, index, context);
+            }
+        });
+    }
+
+    /**
+     * Validates the element against all the constraints and reports
+     * a violation if it's invalid.
+     */
+    protected boolean isValidElement(Object element, int index, ConstraintValidatorContext context) {
+        PreparedConstraint violated = findViolatedConstraint(element, context);
+
+        if (violated != null) {
+            LOG.debug("Element [{}] = '{}' is invalid according to: {}",
+                    index, element, violated.getDescriptor().getAnnotation().annotationType().getName());
+
+            reportViolation(violated, element, index, context);
+            return false;
         }
         return true;
     }
 
-    public void setValidatorFactory(ValidatorFactory factory) {
-        this.factory = factory;
+    /**
+     * Validates the element against all the constraints.
+     *
+     * @return The first constraint that the element violates, or
+     *         <tt>null</tt> if it's valid.
+     */
+    protected PreparedConstraint findViolatedConstraint(Object element, ConstraintValidatorContext context) {
+        for (PreparedConstraint constraint : constraints) {
+            boolean valid = element != null
+                    ? getValidatorInstance(constraint, element.getClass()).isValid(element, context)
+                    : isNullValid(constraint, context);
+
+            if (! valid) {
+                return constraint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates the collection in batches using the constraint's
+     * {@link BatchValidator}. Batches of a random access list are just views,
+     * elements of other collections are copied.
+     */
+    protected boolean isValidInBatches(Collection<?> collection, PreparedConstraint constraint,
+                                       ConstraintValidatorContext context) {
+        return isValidInBatches(collection, constraint, null, context);
+    }
+
+    /**
+     * Validates the collection in batches, until the deadline.
+     *
+     * @param deadline The deadline, or <tt>null</tt> if the time is not limited.
+     * @see #isValidInBatches(Collection, PreparedConstraint, ConstraintValidatorContext)
+     */
+    protected boolean isValidInBatches(Collection<?> collection, PreparedConstraint constraint,
+                                       Limits.Deadline deadline, ConstraintValidatorContext context) {
+        BatchValidator validator = constraint.batchValidator;
+        int batchSize = Math.max(validator.getBatchSize(), 1);
+        int size = collection.size();
+
+        List<?> list = collection instanceof List && collection instanceof RandomAccess
+                ? (List<?>) collection
+                : null;
+        Iterator<?> it = list == null ? collection.iterator() : null;
+
+        for (int offset = 0; offset < size; offset += batchSize) {
+            List<?> batch;
+
+            if (list != null) {
+                batch = list.subList(offset, Math.min(offset + batchSize, size));
+            } else {
+                List<Object> copy = new ArrayList<>(Math.min(batchSize, size - offset));
+                for (int i = 0; i < batchSize && it.hasNext(); i++) {
+                    copy.add(it.next());
+                }
+                batch = copy;
+            }
+            int[] invalid = validator.findInvalid(unmodifiableList(batch), context);
+
+            if (invalid.length > 0) {
+                int index = offset + invalid[0];
+                LOG.debug("Element [{}] = '{}' is invalid according to: {}",
+                        index, batch.get(invalid[0]), validator.getClass().getName());
+
+                reportViolation(constraint, batch.get(invalid[0]), index, context);
+                return false;
+            }
+            if (deadline != null && deadline.isExceeded(batch.size()) && offset + batchSize < size) {
+                return timeBudgetExceeded(offset + batch.size(), context);
+            }
+        }
+        return true;
+    }
+
+    private boolean timeBudgetExceeded(int validated, ConstraintValidatorContext context) {
+        LOG.debug("Time budget exceeded after validating {} elements", validated);
+
+        reportLimitExceeded(ValidationLimits.get(eachAnnotation.annotationType()).getTimeMessage(), context);
+        return false;
+    }
+
+    /**
+     * Reports violation of a {@link Limits limit} on the collection itself.
+     */
+    protected void reportLimitExceeded(String messageTemplate, ConstraintValidatorContext context) {
+        context.buildConstraintViolationWithTemplate(messageTemplate).addConstraintViolation();
+    }
+
+    /**
+     * Asks the {@link CollectionShortcut shortcuts} whether all elements of
+     * the collection are valid.
+     *
+     * @return <tt>true</tt> if some of the shortcuts says so, <tt>false</tt>
+     *         otherwise, i.e. the elements must be validated one by one.
+     */
+    protected boolean isValidByShortcut(Collection<?> collection, PreparedConstraint constraint,
+                                        ConstraintValidatorContext context) {
+        Annotation annotation = constraint.getDescriptor().getAnnotation();
+
+        for (CollectionShortcut shortcut : shortcuts) {
+            if (shortcut.isValid(collection, annotation, constraint.elementValidators, context)) {
+                LOG.trace("Collection validated by shortcut: {}", shortcut.getClass().getName());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void reportViolation(PreparedConstraint constraint, Object element, int index,
+                                   ConstraintValidatorContext context) {
+        // early interpolation hack is needed only for legacy annotations
+        // and will go away with them
+        if (earlyInterpolation) {
+            String message = getInterpolatedMessage(constraint, element);
+            constraint.getReporter().report(context, message, index);
+        } else {
+            constraint.getReporter().report(context, index);
+        }
+        ValidationScope.Memo memo = ValidationScope.currentMemo();
+        if (memo != null) {
+            memo.reported(constraints.indexOf(constraint), element, index);
+        }
     }
 
 
@@ -181,14 +578,77 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
         return DESCRIPTOR_FACTORY.buildConstraintDescriptor(constraint);
     }
 
+    /**
+     * Resolves everything needed to validate elements with the given
+     * constraint and report its violations, so it's not done repeatedly for
+     * every element.
+     */
+    protected PreparedConstraint prepareConstraint(ConstraintDescriptor descriptor) {
+        String template = readAttribute(descriptor.getAnnotation(), "message", String.class);
+
+        final PreparedConstraint constraint = new PreparedConstraint(descriptor, ViolationReporter.create(template));
+
+        if (descriptor.getAnnotation().annotationType() == NotNull.class) {
+            constraint.nullValid = false;
+        }
+
+        constraint.elementValidators = new CollectionShortcut.ElementValidators() {
+            public ConstraintValidator forType(Class<?> type) {
+                return getValidatorInstance(constraint, type);
+            }
+        };
+        return constraint;
+    }
+
+    protected CollectionShortcut[] createShortcuts(Class<? extends CollectionShortcut>[] shortcutClasses) {
+        CollectionShortcut[] shortcuts = new CollectionShortcut[shortcutClasses.length];
+
+        for (int i = 0; i < shortcuts.length; i++) {
+            try {
+                shortcuts[i] = shortcutClasses[i].newInstance();
+            } catch (InstantiationException | IllegalAccessException ex) {
+                throw new IllegalArgumentException("Cannot instantiate shortcut: " + shortcutClasses[i].getName(), ex);
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Loads the validator classes of the given names, skipping those that
+     * cannot be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Class<? extends ConstraintValidator<?, ?>>> loadValidatorClasses(String[] classNames) {
+        List<Class<? extends ConstraintValidator<?, ?>>> classes = new ArrayList<>(classNames.length);
+
+        for (String className : classNames) {
+            try {
+                Class<?> clazz = Class.forName(className, false, CommonEachValidator.class.getClassLoader());
+                classes.add((Class<? extends ConstraintValidator<?, ?>>) clazz.asSubclass(ConstraintValidator.class));
+
+            } catch (ClassNotFoundException | LinkageError ex) {
+                // e.g. validator of java.time type on Java 7
+                LOG.trace("Skipping validator {}, it cannot be loaded: {}", className, ex.toString());
+            }
+        }
+        return classes;
+    }
+
     protected <T extends ConstraintValidator<?, ?>>
             Map<Class, Class<? extends T>> categorizeValidatorsByType(List<Class<? extends T>> validatorClasses) {
 
         Map<Class, Class<? extends T>> validators = new LinkedHashMap<>(10);
 
         for (Class<? extends T> validator : validatorClasses) {
-            Class<?> type = determineTargetType(validator);
-            if (type.isArray()) continue;
+            Class<?> type;
+            try {
+                type = determineTargetType(validator);
+            } catch (TypeNotPresentException | LinkageError ex) {
+                // e.g. validator of java.time type on Java 7
+                LOG.trace("Skipping validator {}, its type is not available: {}", validator.getName(), ex.getMessage());
+                continue;
+            }
+            if (type.isArray() || validators.containsKey(type)) continue;
 
             LOG.trace("Found validator {} for type {}", validator.getName(), type.getName());
             validators.put(type, validator);
@@ -197,43 +657,60 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
     }
 
     protected Class<?> determineTargetType(Class<? extends ConstraintValidator<?, ?>> validatorClass) {
-        TypeVariable<?> typeVar = ConstraintValidator.class.getTypeParameters()[1];
-        return TypeUtils.getRawType(typeVar, validatorClass);
+        return ConstraintValidatorUtils.determineTargetType(validatorClass);
     }
 
     /**
-     * Returns initialized validator instance for the specified object type.
-     * Instances are cached.
+     * Returns initialized validator instance of the given constraint for the
+     * specified object type. Instances are cached.
      *
+     * @param constraint The constraint to get validator for.
      * @param type Type of the object to be validated.
      */
-    protected ConstraintValidator getValidatorInstance(Class<?> type) {
-        ConstraintValidator validator = validatorInstances.get(type);
+    protected ConstraintValidator getValidatorInstance(PreparedConstraint constraint, Class<?> type) {
+        ConstraintValidator validator = constraint.validatorInstances.get(type);
 
         if (validator == null) {
-            validator = findAndInitializeValidator(type);
-            validatorInstances.put(type, validator);
+            validator = findAndInitializeValidator(type, constraint.getDescriptor().getAnnotation());
+            constraint.validatorInstances.put(type, validator);
         }
         return validator;
     }
 
     /**
-     * Returns initialized validator instance for any object type. This is used
-     * when the object to be validated is <tt>null</tt> so we can't determine
-     * it's type. Instances are cached.
+     * Returns initialized validator instance of the given constraint for any
+     * object type. This is used when the object to be validated is
+     * <tt>null</tt> so we can't determine it's type. Instances are cached.
      */
-    protected ConstraintValidator getAnyValidatorInstance() {
+    protected ConstraintValidator getAnyValidatorInstance(PreparedConstraint constraint) {
 
-        if (validatorInstances.isEmpty()) {
-            Class type = validators.keySet().iterator().next();
-            return findAndInitializeValidator(type);
+        if (constraint.validatorInstances.isEmpty()) {
+            return getValidatorInstance(constraint, validators.keySet().iterator().next());
 
         } else {
-            return validatorInstances.values().iterator().next();
+            return constraint.validatorInstances.values().iterator().next();
         }
     }
 
-    protected ConstraintValidator findAndInitializeValidator(Class<?> type) {
+    /**
+     * Whether a <tt>null</tt> element is valid according to the given
+     * constraint. It's resolved by a validator only for the first
+     * <tt>null</tt> element, since the result doesn't depend on anything
+     * else than the constraint; a <tt>null</tt> can't be valid according to
+     * {@code @NotNull}, so it's resolved already in
+     * {@link #prepareConstraint(ConstraintDescriptor)}.
+     */
+    protected boolean isNullValid(PreparedConstraint constraint, ConstraintValidatorContext context) {
+        Boolean valid = constraint.nullValid;
+
+        if (valid == null) {
+            valid = getAnyValidatorInstance(constraint).isValid(null, context);
+            constraint.nullValid = valid;
+        }
+        return valid;
+    }
+
+    protected ConstraintValidator findAndInitializeValidator(Class<?> type, Annotation constraint) {
         LOG.trace("Looking for validator for type: {}", type.getName());
 
         for (Class<?> clazz : validators.keySet()) {
@@ -242,12 +719,63 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
                 Class validatorClass = validators.get(clazz);
 
                 LOG.trace("Initializing validator: {}", validatorClass.getName());
-                return factory.getConstraintValidatorFactory().getInstance(validatorClass);
+                ConstraintValidator validator = factory.getConstraintValidatorFactory().getInstance(validatorClass);
+
+                if (validator instanceof EachAnnotationAware) {
+                    ((EachAnnotationAware) validator).setEachAnnotation(eachAnnotation);
+                }
+                validator.initialize(constraint);
+
+                return validator;
             }
         }
         throw new IllegalArgumentException("No validator found for type: " + type.getName());
     }
 
+    /**
+     * Whether the given interpolator is the Hibernate Validator's default one,
+     * i.e. it resolves messages for the default locale from the standard
+     * message bundles, so the interpolated messages may be cached.
+     */
+    protected boolean isDefaultMessageInterpolator(MessageInterpolator interpolator) {
+        return interpolator != null && DEFAULT_INTERPOLATOR_CLASS.equals(interpolator.getClass().getName());
+    }
+
+    /**
+     * Returns an interpolated error message for the given constraint and
+     * value. Messages are cached per constraint and locale; and per value
+     * only if the message template refers to the validated value. When the
+     * factory has a custom message interpolator (that may e.g. use the locale
+     * of the current request), messages are not cached at all.
+     *
+     * @param constraint The constraint that the value violated.
+     * @param value The validated value.
+     * @return An interpolated message.
+     */
+    protected String getInterpolatedMessage(PreparedConstraint constraint, Object value) {
+        Locale locale = Locale.getDefault();
+        ConstraintDescriptor descriptor = constraint.getDescriptor();
+        String template = constraint.getReporter().getMessageTemplate();
+
+        if (messageCache == null) {
+            return createInterpolatedMessage(descriptor, template, value);
+        }
+        Boolean valueDependent = constraint.messageValueDependency.get(locale);
+        if (valueDependent == null) {
+            Set<String> attributeNames = ((Map<String, Object>) descriptor.getAttributes()).keySet();
+            valueDependent = referencesValidatedValue(template, attributeNames, locale);
+            constraint.messageValueDependency.put(locale, valueDependent);
+        }
+        MessageInterpolatorContext key = new MessageInterpolatorContext(descriptor, valueDependent ? value : null);
+        String message = messageCache.get(key, locale);
+
+        if (message == null) {
+            message = createInterpolatedMessage(descriptor, template, value);
+            messageCache.put(key, locale, message);
+        }
+        return message;
+    }
+
     /**
      * Reads and interpolates an error message for the given constraint and
      * value.
@@ -257,11 +785,24 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
      * @return An interpolated message.
      */
     protected String createInterpolatedMessage(ConstraintDescriptor descriptor, Object value) {
-        Context context = new MessageInterpolatorContext(descriptor, value);
-
         Annotation constraint = descriptor.getAnnotation();
         String template = readAttribute(constraint, "message", String.class);
 
+        return createInterpolatedMessage(descriptor, template, value);
+    }
+
+    /**
+     * Interpolates the given message template for the given constraint and
+     * value.
+     *
+     * @param descriptor Descriptor of the constraint that the value violated.
+     * @param template The constraint's message template.
+     * @param value The validated value.
+     * @return An interpolated message.
+     */
+    protected String createInterpolatedMessage(ConstraintDescriptor descriptor, String template, Object value) {
+        Context context = new MessageInterpolatorContext(descriptor, value);
+
         return factory.getMessageInterpolator().interpolate(template, context);
     }
 
@@ -272,7 +813,9 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
      *
      * <p>If the source constraint's {@code message} is empty, then it will
      * <b>not</b> copy it (so the default {@code message} of the target
-     * constraint will be preserved).</p>
+     * constraint will be preserved). Attributes that are not defined in the
+     * target constraint (i.e. options of the {@code @EachX} annotation) are
+     * not copied either.</p>
      *
      * @param constraintType Type of the constraint to create.
      * @param source Any annotation to copy attribute values from.
@@ -285,6 +828,54 @@ public class CommonEachValidator implements ConstraintValidator<Annotation, Coll
         if (isEmpty((String) attributes.get("message"))) {
             attributes.remove("message");
         }
+        for (Iterator<String> it = attributes.keySet().iterator(); it.hasNext(); ) {
+            if (!hasAttribute(constraintType, it.next())) {
+                it.remove();
+            }
+        }
         return createAnnotation(constraintType, attributes);
     }
+
+
+    //////// Inner classes ////////
+
+    /**
+     * A constraint that the elements are validated with, prepared during
+     * initialization of the {@link CommonEachValidator}.
+     */
+    protected static class PreparedConstraint {
+
+        private final ConstraintDescriptor descriptor;
+
+        private final ViolationReporter reporter;
+
+        // modifiable after initialization; must be thread-safe!
+        private final Map<Class, ConstraintValidator> validatorInstances = new ConcurrentHashMap<>(2);
+
+        // modifiable after initialization; must be thread-safe!
+        private final Map<Locale, Boolean> messageValueDependency = new ConcurrentHashMap<>(2);
+
+        // set during initialization, if elements should be validated in batches
+        private BatchValidator batchValidator;
+
+        // set during initialization
+        private CollectionShortcut.ElementValidators elementValidators;
+
+        // set during initialization, or when validating the first null element
+        private volatile Boolean nullValid;
+
+
+        public PreparedConstraint(ConstraintDescriptor descriptor, ViolationReporter reporter) {
+            this.descriptor = descriptor;
+            this.reporter = reporter;
+        }
+
+        public ConstraintDescriptor getDescriptor() {
+            return descriptor;
+        }
+
+        public ViolationReporter getReporter() {
+            return reporter;
+        }
+    }
 }
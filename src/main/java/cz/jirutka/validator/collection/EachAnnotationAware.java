@@ -0,0 +1,45 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Interface to be implemented by a validator of collection elements that
+ * needs to read attributes of the {@code @EachX} annotation, i.e. options
+ * that are not defined by the element constraint itself.
+ *
+ * @see cz.jirutka.validator.collection.constraints.EachConstraint#validatedBy()
+ */
+public interface EachAnnotationAware {
+
+    /**
+     * Sets the {@code @EachX} annotation that the validator is used for. It's
+     * invoked by the {@link CommonEachValidator} before
+     * {@link javax.validation.ConstraintValidator#initialize(Annotation) initialize()}.
+     *
+     * @param eachAnnotation The {@code @EachX} annotation.
+     */
+    void setEachAnnotation(Annotation eachAnnotation);
+}
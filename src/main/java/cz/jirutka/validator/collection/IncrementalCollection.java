@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * A collection that tracks which of its elements have been already validated
+ * against an {@code @EachX} annotation, so the {@link CommonEachValidator}
+ * validates only the elements added or replaced since the last validation.
+ * It must be implemented by the collection itself, i.e. the object being
+ * validated.
+ *
+ * @see ValidatedList
+ * @see ValidatedSet
+ */
+public interface IncrementalCollection {
+
+    /**
+     * Whether this collection tracks the elements validated against the
+     * given {@code @EachX} annotation.
+     */
+    boolean isTracked(Annotation eachAnnotation);
+
+    /**
+     * Validates the elements that have not been validated against the given
+     * annotation yet, and remembers the valid ones. It stops on the first
+     * invalid element and reports it, or when the validator's budget is
+     * exceeded; the next validation continues where this one has stopped.
+     *
+     * @param eachAnnotation The tracked {@code @EachX} annotation.
+     * @param validator Validator of the individual elements.
+     * @return Whether all elements are valid.
+     */
+    boolean validatePending(Annotation eachAnnotation, ElementValidator validator);
+
+
+    /**
+     * Validator of the individual elements provided by the
+     * {@link CommonEachValidator}.
+     */
+    interface ElementValidator {
+
+        boolean isValid(Object element);
+
+        /**
+         * Invoked before validating each element. When it returns
+         * <tt>true</tt>, the collection must stop the validation, keep the
+         * elements validated so far as valid and return <tt>false</tt>.
+         * The violation has been already reported by the validator.
+         *
+         * @return Whether the validation budget (e.g. time) is exceeded.
+         */
+        boolean isBudgetExceeded();
+
+        /**
+         * Reports violation of the element that has been just found invalid.
+         *
+         * @param element The invalid element.
+         * @param index Index of the element in the collection's iteration order.
+         */
+        void reportViolation(Object element, int index);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * A list decorator that tracks which of its elements have been already
+ * validated against the given {@code @EachX} annotations, so repeated
+ * validation of the list by the {@link CommonEachValidator} checks only the
+ * elements that have been added or replaced since the last validation.
+ * Appending to the list and replacing elements is cheap; inserting or
+ * removing an element at index <i>i</i> invalidates the tracking from
+ * <i>i</i> onwards. When the validation is stopped by the time budget of
+ * {@link cz.jirutka.validator.collection.limits.ValidationLimits}, the next
+ * one continues from where it has stopped.
+ *
+ * <p>The wrapped list must not be modified directly, only through this
+ * decorator. Just like most of the lists, it's not thread-safe. Constraints
+ * that depend on the current time (e.g. {@code @EachFuture}) are always
+ * validated fully.</p>
+ *
+ * @param <E> The type of elements.
+ */
+public final class ValidatedList<E> extends AbstractList<E> implements IncrementalCollection {
+
+    private final List<E> delegate;
+
+    private final Map<Annotation, Progress> progress;
+
+
+    private ValidatedList(List<E> delegate, Annotation[] eachAnnotations) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (eachAnnotations.length == 0) {
+            throw new IllegalArgumentException("At least one @EachX annotation must be given");
+        }
+        this.delegate = delegate;
+        this.progress = new HashMap<>(eachAnnotations.length * 2);
+
+        for (Annotation annotation : eachAnnotations) {
+            progress.put(annotation, new Progress());
+        }
+    }
+
+    /**
+     * Wraps the given list, tracking its validation against the given
+     * {@code @EachX} annotations.
+     */
+    public static <E> ValidatedList<E> wrap(List<E> list, Annotation... eachAnnotations) {
+        return new ValidatedList<>(list, eachAnnotations);
+    }
+
+    /**
+     * Wraps the given list, tracking its validation against the
+     * {@code @EachX} annotations of the given descriptors.
+     */
+    public static <E> ValidatedList<E> wrap(List<E> list, ConstraintDescriptor<?>... descriptors) {
+        Annotation[] annotations = new Annotation[descriptors.length];
+        for (int i = 0; i < descriptors.length; i++) {
+            annotations[i] = descriptors[i].getAnnotation();
+        }
+        return new ValidatedList<>(list, annotations);
+    }
+
+
+    public E get(int index) {
+        return delegate.get(index);
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    public E set(int index, E element) {
+        E previous = delegate.set(index, element);
+
+        for (Progress p : progress.values()) {
+            if (index < p.validUpTo) {
+                p.dirty.set(index);
+            }
+        }
+        return previous;
+    }
+
+    public void add(int index, E element) {
+        delegate.add(index, element);
+        modCount++;
+        invalidateFrom(index);
+    }
+
+    public boolean addAll(Collection<? extends E> elements) {
+        modCount++;
+        return delegate.addAll(elements);
+    }
+
+    public E remove(int index) {
+        E removed = delegate.remove(index);
+        modCount++;
+        invalidateFrom(index);
+
+        return removed;
+    }
+
+    public void clear() {
+        delegate.clear();
+        modCount++;
+        invalidateFrom(0);
+    }
+
+
+    public boolean isTracked(Annotation eachAnnotation) {
+        return progress.containsKey(eachAnnotation);
+    }
+
+    public boolean validatePending(Annotation eachAnnotation, ElementValidator validator) {
+        Progress p = progress.get(eachAnnotation);
+
+        for (int i = p.dirty.nextSetBit(0); i >= 0; i = p.dirty.nextSetBit(i + 1)) {
+            if (validator.isBudgetExceeded()) {
+                return false;
+            }
+            E element = delegate.get(i);
+
+            if (! validator.isValid(element)) {
+                validator.reportViolation(element, i);
+                return false;
+            }
+            p.dirty.clear(i);
+        }
+        int index = p.validUpTo;
+        for (Iterator<E> it = delegate.listIterator(index); it.hasNext(); index++) {
+            if (validator.isBudgetExceeded()) {
+                p.validUpTo = index;
+                return false;
+            }
+            E element = it.next();
+
+            if (! validator.isValid(element)) {
+                p.validUpTo = index;
+                validator.reportViolation(element, index);
+                return false;
+            }
+        }
+        p.validUpTo = index;
+        return true;
+    }
+
+
+    private void invalidateFrom(int index) {
+        for (Progress p : progress.values()) {
+            if (index < p.validUpTo) {
+                p.validUpTo = index;
+                p.dirty.clear(index, Math.max(p.dirty.length(), index));
+            }
+        }
+    }
+
+
+    //////// Inner classes ////////
+
+    private static final class Progress {
+
+        // all elements before this index are valid, unless they're dirty
+        int validUpTo;
+
+        // indexes of replaced elements before validUpTo
+        final BitSet dirty = new BitSet();
+    }
+}
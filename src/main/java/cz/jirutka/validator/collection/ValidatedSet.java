@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * A set decorator that tracks which of its elements have been already
+ * validated against the given {@code @EachX} annotations, so repeated
+ * validation of the set by the {@link CommonEachValidator} checks only the
+ * elements that have been added since the last validation. When the
+ * validation is stopped by the time budget of
+ * {@link cz.jirutka.validator.collection.limits.ValidationLimits}, the next
+ * one continues from where it has stopped.
+ *
+ * <p>The wrapped set must not be modified directly, only through this
+ * decorator. Just like most of the sets, it's not thread-safe. Constraints
+ * that depend on the current time (e.g. {@code @EachFuture}) are always
+ * validated fully.</p>
+ *
+ * <p>The elements are tracked by identity, so it works with sets of any
+ * notion of equality (e.g. identity or comparator-based sets). Just like
+ * the full validation, it always reports the first invalid element in the
+ * iteration order of the set.</p>
+ *
+ * @param <E> The type of elements.
+ */
+public final class ValidatedSet<E> extends AbstractSet<E> implements IncrementalCollection {
+
+    private final Set<E> delegate;
+
+    private final Map<Annotation, Progress> progress;
+
+
+    private ValidatedSet(Set<E> delegate, Annotation[] eachAnnotations) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (eachAnnotations.length == 0) {
+            throw new IllegalArgumentException("At least one @EachX annotation must be given");
+        }
+        this.delegate = delegate;
+        this.progress = new HashMap<>(eachAnnotations.length * 2);
+
+        for (Annotation annotation : eachAnnotations) {
+            progress.put(annotation, new Progress());
+        }
+    }
+
+    /**
+     * Wraps the given set, tracking its validation against the given
+     * {@code @EachX} annotations.
+     */
+    public static <E> ValidatedSet<E> wrap(Set<E> set, Annotation... eachAnnotations) {
+        return new ValidatedSet<>(set, eachAnnotations);
+    }
+
+    /**
+     * Wraps the given set, tracking its validation against the
+     * {@code @EachX} annotations of the given descriptors.
+     */
+    public static <E> ValidatedSet<E> wrap(Set<E> set, ConstraintDescriptor<?>... descriptors) {
+        Annotation[] annotations = new Annotation[descriptors.length];
+        for (int i = 0; i < descriptors.length; i++) {
+            annotations[i] = descriptors[i].getAnnotation();
+        }
+        return new ValidatedSet<>(set, annotations);
+    }
+
+
+    public Iterator<E> iterator() {
+        final Iterator<E> it = delegate.iterator();
+
+        return new Iterator<E>() {
+            private E last;
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+            public E next() {
+                return last = it.next();
+            }
+            public void remove() {
+                it.remove();
+                removed(last);
+            }
+        };
+    }
+
+    public int size() {
+        return delegate.size();
+    }
+
+    public boolean contains(Object obj) {
+        return delegate.contains(obj);
+    }
+
+    public boolean add(E element) {
+        if (! delegate.add(element)) {
+            return false;
+        }
+        for (Progress p : progress.values()) {
+            if (p.all) {
+                p.validatedPrefix = 0;  // the iteration order may have changed
+            } else {
+                p.pending.add(new Identity(element));
+            }
+        }
+        return true;
+    }
+
+    public boolean remove(Object obj) {
+        if (! delegate.remove(obj)) {
+            return false;
+        }
+        for (Progress p : progress.values()) {
+            p.validatedPrefix = 0;  // the iteration order may have changed
+
+            // the set may have contained another instance equal to obj
+            if (! p.pending.remove(new Identity(obj))) {
+                for (Iterator<Identity> it = p.pending.iterator(); it.hasNext(); ) {
+                    if (! delegate.contains(it.next().element)) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        delegate.clear();
+
+        for (Progress p : progress.values()) {
+            p.all = false;
+            p.validatedPrefix = 0;
+            p.pending.clear();
+        }
+    }
+
+
+    public boolean isTracked(Annotation eachAnnotation) {
+        return progress.containsKey(eachAnnotation);
+    }
+
+    public boolean validatePending(Annotation eachAnnotation, ElementValidator validator) {
+        Progress p = progress.get(eachAnnotation);
+
+        if (p.all) {
+            return validateAll(p, validator);
+        }
+        for (Iterator<Identity> it = p.pending.iterator(); it.hasNext(); ) {
+            if (validator.isBudgetExceeded()) {
+                return false;
+            }
+            Object element = it.next().element;
+
+            // should not happen unless the set has been modified directly
+            if (! delegate.contains(element)) {
+                it.remove();
+
+            } else if (validator.isValid(element)) {
+                it.remove();
+
+            } else {
+                reportFirstInvalid(p, element, validator);
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private boolean validateAll(Progress p, ElementValidator validator) {
+        Iterator<E> it = delegate.iterator();
+
+        // skip the elements validated by the previous (stopped) validation
+        int index = 0;
+        for (; index < p.validatedPrefix; index++) {
+            it.next();
+        }
+        for (; it.hasNext(); index++) {
+            if (validator.isBudgetExceeded()) {
+                p.validatedPrefix = index;
+                return false;
+            }
+            E element = it.next();
+
+            if (! validator.isValid(element)) {
+                // the elements validated so far are valid, the rest is pending
+                p.all = false;
+                p.pending.add(new Identity(element));
+                while (it.hasNext()) {
+                    p.pending.add(new Identity(it.next()));
+                }
+                validator.reportViolation(element, index);
+                return false;
+            }
+        }
+        p.all = false;
+        return true;
+    }
+
+    /**
+     * Reports the first invalid element in the iteration order. The pending
+     * elements preceding the given invalid one are validated first.
+     */
+    private void reportFirstInvalid(Progress p, Object invalid, ElementValidator validator) {
+        int index = 0;
+        for (E element : delegate) {
+            if (element == invalid) {
+                break;
+            }
+            Identity key = new Identity(element);
+
+            if (p.pending.contains(key)) {
+                if (validator.isBudgetExceeded()) {
+                    return;
+                }
+                if (! validator.isValid(element)) {
+                    invalid = element;
+                    break;
+                }
+                p.pending.remove(key);
+            }
+            index++;
+        }
+        validator.reportViolation(invalid, index);
+    }
+
+    private void removed(E element) {
+        for (Progress p : progress.values()) {
+            p.validatedPrefix = 0;  // the iteration order may have changed
+            p.pending.remove(new Identity(element));
+        }
+    }
+
+
+    //////// Inner classes ////////
+
+    private static final class Progress {
+
+        // no element has been validated yet, except the validatedPrefix
+        boolean all = true;
+
+        // number of valid elements in the iteration order, used only with all
+        int validatedPrefix;
+
+        // elements not validated since they've been added, or invalid;
+        // tracked by identity, the set may contain several equal elements
+        final Set<Identity> pending = new LinkedHashSet<>();
+    }
+
+    private static final class Identity {
+
+        final Object element;
+
+        Identity(Object element) {
+            this.element = element;
+        }
+
+        public boolean equals(Object obj) {
+            return obj instanceof Identity && ((Identity) obj).element == element;
+        }
+
+        public int hashCode() {
+            return System.identityHashCode(element);
+        }
+    }
+}
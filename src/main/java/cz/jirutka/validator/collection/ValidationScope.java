@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scope of a single validation run in the current thread, in which
+ * {@link CommonEachValidator} validates the same collection instance with the
+ * same {@code @EachX} annotation just once. This is useful when the same
+ * (large) collection is referenced from several properties or beans of the
+ * validated object graph. The outcome is reused for every path the
+ * collection is reachable from, including the reported violation.
+ *
+ * <p>The scope is opt-in and must be closed in the same thread, e.g.:</p>
+ *
+ * <pre>{@code
+ * try (ValidationScope scope = ValidationScope.open()) {
+ *     violations = validator.validate(bean);
+ * }
+ * }</pre>
+ *
+ * <p>The collections must not be modified while the scope is open. If a scope
+ * is already open in the current thread, then the nested one just joins it.</p>
+ */
+public final class ValidationScope implements AutoCloseable {
+
+    private static final ThreadLocal<Memo> CURRENT = new ThreadLocal<>();
+
+    private final boolean owner;
+
+    private boolean closed;
+
+
+    private ValidationScope(boolean owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Opens the scope in the current thread, or joins the already open one.
+     */
+    public static ValidationScope open() {
+        if (CURRENT.get() != null) {
+            return new ValidationScope(false);
+        }
+        CURRENT.set(new Memo());
+        return new ValidationScope(true);
+    }
+
+    /**
+     * Whether a scope is open in the current thread.
+     */
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Closes the scope and discards the remembered outcomes, unless it has
+     * joined an outer scope.
+     */
+    public void close() {
+        if (owner && !closed) {
+            CURRENT.remove();
+        }
+        closed = true;
+    }
+
+
+    /**
+     * @return The memo of the scope open in the current thread, or
+     *         <tt>null</tt> if there's none.
+     */
+    static Memo currentMemo() {
+        return CURRENT.get();
+    }
+
+
+    //////// Inner classes ////////
+
+    /**
+     * Outcomes of the collections validated in the scope. It's confined to
+     * a single thread, so it's not thread-safe.
+     */
+    static final class Memo {
+
+        private final Map<Key, Outcome> outcomes = new HashMap<>();
+
+        // the last violation reported in this scope
+        private Outcome reported;
+
+
+        Outcome get(Collection<?> collection, Annotation eachAnnotation) {
+            return outcomes.get(new Key(collection, eachAnnotation));
+        }
+
+        void put(Collection<?> collection, Annotation eachAnnotation, Outcome outcome) {
+            outcomes.put(new Key(collection, eachAnnotation), outcome);
+        }
+
+        void reported(int constraintIndex, Object element, int index) {
+            reported = new Outcome(constraintIndex, element, index);
+        }
+
+        /**
+         * Returns the last reported violation and forgets it.
+         */
+        Outcome takeReported() {
+            Outcome outcome = reported;
+            reported = null;
+            return outcome;
+        }
+    }
+
+    /**
+     * Outcome of validation of a collection; either valid, or the violation
+     * of the first invalid element.
+     */
+    static final class Outcome {
+
+        static final Outcome VALID = new Outcome(-1, null, -1);
+
+        final int constraintIndex;
+        final Object element;
+        final int index;
+
+        Outcome(int constraintIndex, Object element, int index) {
+            this.constraintIndex = constraintIndex;
+            this.element = element;
+            this.index = index;
+        }
+
+        boolean isValid() {
+            return this == VALID;
+        }
+    }
+
+    /**
+     * Key of the collection instance (compared by identity) and the
+     * {@code @EachX} annotation (compared by value).
+     */
+    private static final class Key {
+
+        private final Collection<?> collection;
+        private final Annotation eachAnnotation;
+        private final int hash;
+
+        Key(Collection<?> collection, Annotation eachAnnotation) {
+            this.collection = collection;
+            this.eachAnnotation = eachAnnotation;
+            this.hash = 31 * System.identityHashCode(collection) + eachAnnotation.hashCode();
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return collection == other.collection && eachAnnotation.equals(other.eachAnnotation);
+        }
+    }
+}
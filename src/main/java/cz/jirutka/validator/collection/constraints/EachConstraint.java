@@ -23,6 +23,9 @@
  */
 package cz.jirutka.validator.collection.constraints;
 
+import cz.jirutka.validator.collection.CollectionShortcut;
+
+import javax.validation.ConstraintValidator;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
@@ -47,4 +50,27 @@ public @interface EachConstraint {
      * will be validated with the validator of this constraint.
      */
     Class<? extends Annotation> validateAs();
+
+    /**
+     * Validators to validate the target collection's items with instead of
+     * the validators of the {@link #validateAs()} constraint. The validators of
+     * the constraint are still used for types of items that are not supported
+     * by any of these validators.
+     */
+    Class<? extends ConstraintValidator<?, ?>>[] validatedBy() default { };
+
+    /**
+     * Fully qualified names of validators just like {@link #validatedBy()}.
+     * The validators that cannot be loaded are ignored, so they may depend
+     * on types that are not available on every supported Java version
+     * (e.g. {@code java.time} on Java 7).
+     */
+    String[] optionalValidatedBy() default { };
+
+    /**
+     * Shortcuts that may find out that all the target collection's items are
+     * valid without validating them one by one, e.g. for specific types of
+     * collections.
+     */
+    Class<? extends CollectionShortcut>[] shortcuts() default { };
 }
@@ -24,6 +24,9 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.DecimalMaxValidatorForCharSequence;
+import cz.jirutka.validator.collection.constraintvalidators.DecimalMaxValidatorForNumber;
+import cz.jirutka.validator.collection.shortcuts.SortedSetBoundShortcut;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -37,12 +40,15 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see DecimalMax
+ * @see SortedSetBoundShortcut
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = DecimalMax.class)
+@EachConstraint(validateAs = DecimalMax.class,
+                validatedBy = { DecimalMaxValidatorForNumber.class, DecimalMaxValidatorForCharSequence.class },
+                shortcuts = SortedSetBoundShortcut.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachDecimalMax {
 
@@ -24,6 +24,9 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.DecimalMinValidatorForCharSequence;
+import cz.jirutka.validator.collection.constraintvalidators.DecimalMinValidatorForNumber;
+import cz.jirutka.validator.collection.shortcuts.SortedSetBoundShortcut;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -37,12 +40,15 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see DecimalMin
+ * @see SortedSetBoundShortcut
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = DecimalMin.class)
+@EachConstraint(validateAs = DecimalMin.class,
+                validatedBy = { DecimalMinValidatorForNumber.class, DecimalMinValidatorForCharSequence.class },
+                shortcuts = SortedSetBoundShortcut.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachDecimalMin {
 
@@ -24,6 +24,8 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.DigitsValidatorForCharSequence;
+import cz.jirutka.validator.collection.constraintvalidators.DigitsValidatorForNumber;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -42,7 +44,8 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Digits.class)
+@EachConstraint(validateAs = Digits.class,
+                validatedBy = { DigitsValidatorForNumber.class, DigitsValidatorForCharSequence.class })
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachDigits {
 
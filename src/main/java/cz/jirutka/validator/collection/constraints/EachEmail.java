@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.EmailValidator;
 import org.hibernate.validator.constraints.Email;
 
 import javax.validation.Constraint;
@@ -43,7 +44,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Email.class)
+@EachConstraint(validateAs = Email.class, validatedBy = EmailValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachEmail {
 
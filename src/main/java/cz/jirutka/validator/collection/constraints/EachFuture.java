@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.FutureValidator;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -42,7 +43,12 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Future.class)
+@EachConstraint(validateAs = Future.class,
+        validatedBy = { FutureValidator.ForDate.class, FutureValidator.ForCalendar.class },
+        optionalValidatedBy = {
+                "cz.jirutka.validator.collection.constraintvalidators.FutureValidatorForInstant",
+                "cz.jirutka.validator.collection.constraintvalidators.FutureValidatorForOffsetDateTime",
+                "cz.jirutka.validator.collection.constraintvalidators.FutureValidatorForChronoZonedDateTime" })
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachFuture {
 
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.LuhnCheckValidator;
 import org.hibernate.validator.constraints.LuhnCheck;
 
 import javax.validation.Constraint;
@@ -43,7 +44,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = LuhnCheck.class)
+@EachConstraint(validateAs = LuhnCheck.class, validatedBy = LuhnCheckValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachLuhnCheck {
 
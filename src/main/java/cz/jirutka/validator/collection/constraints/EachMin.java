@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.shortcuts.SortedSetBoundShortcut;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -37,12 +38,13 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see Min
+ * @see SortedSetBoundShortcut
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Min.class)
+@EachConstraint(validateAs = Min.class, shortcuts = SortedSetBoundShortcut.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachMin {
 
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.Mod10CheckValidator;
 import org.hibernate.validator.constraints.Mod10Check;
 
 import javax.validation.Constraint;
@@ -43,7 +44,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Mod10Check.class)
+@EachConstraint(validateAs = Mod10Check.class, validatedBy = Mod10CheckValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachMod10Check {
 
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.NotBlankValidator;
 import org.hibernate.validator.constraints.NotBlank;
 
 import javax.validation.Constraint;
@@ -42,7 +43,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = NotBlank.class)
+@EachConstraint(validateAs = NotBlank.class, validatedBy = NotBlankValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachNotBlank {
 
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.shortcuts.NotNullShortcut;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -37,12 +38,13 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see NotNull
+ * @see NotNullShortcut
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = NotNull.class)
+@EachConstraint(validateAs = NotNull.class, shortcuts = NotNullShortcut.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachNotNull {
 
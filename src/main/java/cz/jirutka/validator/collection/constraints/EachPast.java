@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.PastValidator;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -42,7 +43,12 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Past.class)
+@EachConstraint(validateAs = Past.class,
+        validatedBy = { PastValidator.ForDate.class, PastValidator.ForCalendar.class },
+        optionalValidatedBy = {
+                "cz.jirutka.validator.collection.constraintvalidators.PastValidatorForInstant",
+                "cz.jirutka.validator.collection.constraintvalidators.PastValidatorForOffsetDateTime",
+                "cz.jirutka.validator.collection.constraintvalidators.PastValidatorForChronoZonedDateTime" })
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachPast {
 
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.PatternValidator;
 
 import javax.validation.Constraint;
 import javax.validation.Payload;
@@ -38,12 +39,13 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see Pattern
+ * @see PatternValidator
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = Pattern.class)
+@EachConstraint(validateAs = Pattern.class, validatedBy = PatternValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachPattern {
 
@@ -57,6 +59,28 @@ public @interface EachPattern {
      */
     Flag[] flags() default { };
 
+    /**
+     * @return additional regular expressions to match; all the regexps are
+     * compiled into a single automaton, so each element is scanned just once
+     */
+    String[] additionalRegexps() default { };
+
+    /**
+     * @return whether an element must match all the regexps, or at least one
+     * of them; relevant only with {@link #additionalRegexps()}
+     */
+    Match match() default Match.ALL;
+
+    /**
+     * @return whether to match the regexps in time linear to the length of
+     * an element, i.e. without backtracking; a regexp that uses a construct
+     * not supported by the linear-time engine (e.g. a backreference or
+     * a lookaround) causes an {@link IllegalArgumentException} when the
+     * constraint is initialized
+     * @see cz.jirutka.validator.collection.internal.regex.RegexAutomaton
+     */
+    boolean linearTime() default false;
+
     /**
      * @return the error message template
      */
@@ -71,4 +95,9 @@ public @interface EachPattern {
      * @return the payload associated to the constraint
      */
     Class<? extends Payload>[] payload() default { };
+
+
+    enum Match {
+        ALL, ANY
+    }
 }
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.SafeHtmlValidator;
 import org.hibernate.validator.constraints.SafeHtml;
 import org.hibernate.validator.constraints.SafeHtml.Tag;
 import org.hibernate.validator.constraints.SafeHtml.WhiteListType;
@@ -40,12 +41,13 @@ import static org.hibernate.validator.constraints.SafeHtml.WhiteListType.RELAXED
 
 /**
  * @see SafeHtml
+ * @see SafeHtmlValidator
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = SafeHtml.class)
+@EachConstraint(validateAs = SafeHtml.class, validatedBy = SafeHtmlValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachSafeHtml {
 
@@ -71,4 +73,17 @@ public @interface EachSafeHtml {
      * @since Hibernate Validator 5.1.0
      */
     Tag[] additionalTagsWithAttributes() default { };
+
+    /**
+     * @return The maximum length of an element. Longer elements are rejected
+     * without parsing. There's no limit by default.
+     */
+    int maxLength() default Integer.MAX_VALUE;
+
+    /**
+     * @return The maximum number of verdicts to cache. Verdicts of already
+     * validated elements are cached by a hash (SHA-256) of their content, so
+     * the same element is not parsed again. Zero (default) disables the cache.
+     */
+    int verdictCacheSize() default 0;
 }
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.ScriptAssertValidator;
 import org.hibernate.validator.constraints.ScriptAssert;
 
 import javax.validation.Constraint;
@@ -37,12 +38,13 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * @see ScriptAssert
+ * @see ScriptAssertValidator
  * @see CommonEachValidator
  */
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = ScriptAssert.class)
+@EachConstraint(validateAs = ScriptAssert.class, validatedBy = ScriptAssertValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachScriptAssert {
 
@@ -88,4 +90,21 @@ public @interface EachScriptAssert {
      * @since Hibernate Validator 5.4.0
      */
     String reportOn() default "";
+
+    /**
+     * @return Whether to evaluate the script once for a batch of elements
+     *         instead of for each element. Then a {@link java.util.List} of
+     *         the elements is registered within the script context under
+     *         the name specified in the <code>alias</code> attribute and the
+     *         script must return indexes of the invalid elements in the list
+     *         as an array or a collection of numbers (empty if all elements
+     *         are valid). Defaults to false.
+     */
+    boolean batch() default false;
+
+    /**
+     * @return The maximum number of elements in a batch, if <code>batch</code>
+     *         is enabled. Defaults to the whole collection.
+     */
+    int batchSize() default Integer.MAX_VALUE;
 }
@@ -24,6 +24,7 @@
 package cz.jirutka.validator.collection.constraints;
 
 import cz.jirutka.validator.collection.CommonEachValidator;
+import cz.jirutka.validator.collection.constraintvalidators.URLValidator;
 import org.hibernate.validator.constraints.URL;
 
 import javax.validation.Constraint;
@@ -43,7 +44,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Documented
 @Retention(RUNTIME)
 @Target({METHOD, FIELD, ANNOTATION_TYPE})
-@EachConstraint(validateAs = URL.class)
+@EachConstraint(validateAs = URL.class, validatedBy = URLValidator.class)
 @Constraint(validatedBy = CommonEachValidator.class)
 public @interface EachURL {
 
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraints;
+
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForCollection;
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForIntArray;
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForLongArray;
+import cz.jirutka.validator.collection.constraintvalidators.UniqueValidatorForObjectArray;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The annotated collection or array must not contain two equal elements,
+ * or two elements with equal keys if a {@link #by() key extractor} is
+ * specified. {@code null} elements and keys are ignored.
+ *
+ * <p>Unlike the other {@code @Each*} constraints, this one doesn't validate
+ * each element on its own, so it's not an {@link EachConstraint}. When a
+ * duplicate is found, the violation is reported on the index of its second
+ * occurrence.</p>
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, FIELD, ANNOTATION_TYPE})
+@Constraint(validatedBy = {
+        UniqueValidatorForCollection.class, UniqueValidatorForObjectArray.class,
+        UniqueValidatorForIntArray.class, UniqueValidatorForLongArray.class })
+public @interface EachUnique {
+
+    String message() default "must not contain duplicate elements";
+
+    Class<?>[] groups() default { };
+
+    Class<? extends Payload>[] payload() default { };
+
+    /**
+     * @return class that extracts a key to compare the elements by; it must
+     *         have a public no-arg constructor
+     */
+    Class<? extends KeyExtractor> by() default KeyExtractor.class;
+
+
+    /**
+     * Extractor of a key to compare the elements by, e.g. a property of the
+     * element.
+     *
+     * @param <T> Type of the elements.
+     */
+    interface KeyExtractor<T> {
+
+        /**
+         * @param element The element, never {@code null}.
+         * @return the element's key, or {@code null} to ignore the element
+         */
+        Object getKey(T element);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraints;
+
+import cz.jirutka.validator.collection.constraintvalidators.InValidatorForCharSequence;
+import cz.jirutka.validator.collection.constraintvalidators.InValidatorForEnum;
+import cz.jirutka.validator.collection.constraintvalidators.InValidatorForNumber;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.Collection;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The annotated element must be one of the allowed values. The allowed
+ * values are given inline in {@link #value()}, provided by a
+ * {@link #provider()}, or both.
+ *
+ * <p>Supported types are:</p>
+ * <ul>
+ *     <li>{@code CharSequence} &ndash; compared by content with the
+ *         allowed values (case sensitive),</li>
+ *     <li>{@code Number} &ndash; compared numerically with the allowed
+ *         values, i.e. {@code 1}, {@code 1L} and {@code 1.0} are the same,</li>
+ *     <li>{@code Enum} &ndash; compared by name with the allowed values.</li>
+ * </ul>
+ * <p>{@code null} elements are considered valid.</p>
+ *
+ * @see EachIn
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, FIELD, ANNOTATION_TYPE})
+@Constraint(validatedBy = {
+        InValidatorForCharSequence.class, InValidatorForNumber.class, InValidatorForEnum.class })
+public @interface In {
+
+    String message() default "must be one of the allowed values";
+
+    Class<?>[] groups() default { };
+
+    Class<? extends Payload>[] payload() default { };
+
+    /**
+     * @return the allowed values
+     */
+    String[] value() default { };
+
+    /**
+     * @return class that provides additional allowed values; it must have
+     *         a public no-arg constructor
+     */
+    Class<? extends ValuesProvider> provider() default ValuesProvider.class;
+
+
+    /**
+     * Provider of the allowed values, e.g. when there's too many of them to
+     * list in the annotation or they are loaded from a resource. It's called
+     * only once for each initialization of the validator.
+     */
+    interface ValuesProvider {
+
+        /**
+         * @return the allowed values; a {@code String}, {@code Number} or
+         *         {@code Enum} each, {@code null}s are ignored
+         */
+        Collection<?> getValues();
+    }
+}
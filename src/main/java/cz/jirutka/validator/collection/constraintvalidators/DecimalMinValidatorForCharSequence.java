@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachDecimalMin;
+import cz.jirutka.validator.collection.internal.DecimalBound;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.DecimalMin;
+
+import static cz.jirutka.validator.collection.internal.AnnotationUtils.hasAttribute;
+
+/**
+ * Validator of {@link DecimalMin} for {@link CharSequence} elements of a collection
+ * annotated with {@link EachDecimalMin}. Unlike the Hibernate Validator's
+ * validator, it doesn't convert short decimal numbers to {@code BigDecimal},
+ * see {@link DecimalBound}.
+ */
+public class DecimalMinValidatorForCharSequence implements ConstraintValidator<DecimalMin, CharSequence> {
+
+    // inclusive has been added in Bean Validation 1.1 (HV 5.0.0)
+    private static final boolean INCLUSIVE_SUPPORTED = hasAttribute(DecimalMin.class, "inclusive");
+
+    private DecimalBound bound;
+
+    private boolean inclusive;
+
+
+    public void initialize(DecimalMin constraint) {
+        this.bound = new DecimalBound(constraint.value());
+        this.inclusive = !INCLUSIVE_SUPPORTED || constraint.inclusive();
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        try {
+            int result = bound.compareTo(value);
+
+            return inclusive ? result >= 0 : result > 0;
+
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
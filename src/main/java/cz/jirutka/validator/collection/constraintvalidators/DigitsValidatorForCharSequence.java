@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachDigits;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Digits;
+import java.math.BigDecimal;
+
+import static cz.jirutka.validator.collection.internal.DecimalUtils.precision;
+import static cz.jirutka.validator.collection.internal.DecimalUtils.scaleOf;
+import static cz.jirutka.validator.collection.internal.DecimalUtils.unscaledValueOf;
+
+/**
+ * Validator of {@link Digits} for {@link CharSequence} elements of
+ * a collection annotated with {@link EachDigits}. Unlike the Hibernate
+ * Validator's validator, it counts digits of short decimal numbers without
+ * converting them to {@code BigDecimal}.
+ */
+public class DigitsValidatorForCharSequence implements ConstraintValidator<Digits, CharSequence> {
+
+    private int maxIntegerLength;
+
+    private int maxFractionLength;
+
+
+    public void initialize(Digits constraint) {
+        this.maxIntegerLength = constraint.integer();
+        this.maxFractionLength = constraint.fraction();
+
+        if (maxIntegerLength < 0) {
+            throw new IllegalArgumentException("The length of the integer part cannot be negative.");
+        }
+        if (maxFractionLength < 0) {
+            throw new IllegalArgumentException("The length of the fraction part cannot be negative.");
+        }
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        int precision, scale = scaleOf(value);
+
+        if (scale >= 0) {
+            precision = precision(unscaledValueOf(value));
+        } else {
+            try {
+                BigDecimal number = new BigDecimal(value.toString());
+                precision = number.precision();
+                scale = number.scale();
+
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+        int fractionLength = scale < 0 ? 0 : scale;
+
+        return precision - scale <= maxIntegerLength && fractionLength <= maxFractionLength;
+    }
+}
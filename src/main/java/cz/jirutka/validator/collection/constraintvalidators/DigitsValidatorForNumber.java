@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachDigits;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Digits;
+import java.math.BigDecimal;
+
+import static cz.jirutka.validator.collection.internal.DecimalUtils.precision;
+
+/**
+ * Validator of {@link Digits} for {@link Number} elements of a collection
+ * annotated with {@link EachDigits}. Unlike the Hibernate Validator's
+ * validator, it counts digits of integral numbers without converting them
+ * to {@code BigDecimal}.
+ */
+public class DigitsValidatorForNumber implements ConstraintValidator<Digits, Number> {
+
+    private int maxIntegerLength;
+
+    private int maxFractionLength;
+
+
+    public void initialize(Digits constraint) {
+        this.maxIntegerLength = constraint.integer();
+        this.maxFractionLength = constraint.fraction();
+
+        if (maxIntegerLength < 0) {
+            throw new IllegalArgumentException("The length of the integer part cannot be negative.");
+        }
+        if (maxFractionLength < 0) {
+            throw new IllegalArgumentException("The length of the fraction part cannot be negative.");
+        }
+    }
+
+    public boolean isValid(Number value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return precision(value.longValue()) <= maxIntegerLength;
+        }
+
+        BigDecimal number = value instanceof BigDecimal
+                ? (BigDecimal) value
+                : new BigDecimal(value.toString()).stripTrailingZeros();
+
+        int integerLength = number.precision() - number.scale();
+        int fractionLength = number.scale() < 0 ? 0 : number.scale();
+
+        return integerLength <= maxIntegerLength && fractionLength <= maxFractionLength;
+    }
+}
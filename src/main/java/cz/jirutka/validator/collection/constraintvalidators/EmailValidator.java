@@ -0,0 +1,246 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachEmail;
+import org.hibernate.validator.constraints.Email;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator;
+
+/**
+ * Validator of {@link Email} for elements of a collection annotated with
+ * {@link EachEmail}. It's a single-pass parser that accepts the same ASCII
+ * addresses as the Hibernate Validator's (5.4) validator, without regular
+ * expressions and without converting the domain by {@link java.net.IDN}.
+ * Addresses with non-ASCII characters or an IPv6 domain literal are passed
+ * to the Hibernate Validator's validator.
+ */
+public class EmailValidator implements ConstraintValidator<Email, CharSequence> {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final int MAX_DOMAIN_PART_LENGTH = 255;
+
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final String ALPHANUMERIC
+            = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    // characters of an unquoted local part and of a domain label
+    private static final boolean[] ATOM_CHARS = asciiTable(ALPHANUMERIC + "!#$%&'*+/=?^_`{|}~-");
+
+    // characters of a quoted local part, except escaped \ and "
+    private static final boolean[] QUOTED_CHARS = asciiTable(ALPHANUMERIC + "!#$%&'*.(),<>[]:; @+/=?^_`{|}~-");
+
+    private ConstraintValidator<Email, CharSequence> delegate;
+
+
+    public void initialize(Email constraint) {
+        this.delegate = createDefaultValidator(constraint, CharSequence.class);
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null || value.length() == 0) {
+            return true;
+        }
+        int length = value.length();
+        int at = -1;
+
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+
+            if (ch >= 0x80) {
+                return delegate.isValid(value, context);
+            }
+            if (ch == '@') {
+                at = i;
+            }
+        }
+        if (at < 0 || !isValidLocalPart(value, 0, at)) {
+            return false;
+        }
+        if (startsWithIgnoreCase(value, at + 1, "[IPv6:")) {
+            return delegate.isValid(value, context);
+        }
+        return isValidDomain(value, at + 1, length);
+    }
+
+
+    /**
+     * Dot separated atoms or quoted strings, e.g. {@code foo."b@r"}.
+     */
+    private static boolean isValidLocalPart(CharSequence value, int start, int end) {
+        if (end - start > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        int i = start;
+
+        while (i < end) {
+            if (value.charAt(i) == '"') {
+                i = skipQuoted(value, i + 1, end);
+            } else {
+                i = skipChars(value, i, end, ATOM_CHARS);
+            }
+            if (i < 0) {
+                return false;
+            }
+            if (i == end) {
+                return true;
+            }
+            if (value.charAt(i++) != '.') {
+                return false;
+            }
+        }
+        // empty local part, or trailing dot
+        return false;
+    }
+
+    /**
+     * Dot separated labels, or an IPv4 address in square brackets. Labels may
+     * not be longer than 63 characters (this is verified by IDN in HV).
+     */
+    private static boolean isValidDomain(CharSequence value, int start, int end) {
+        if (end - start > MAX_DOMAIN_PART_LENGTH) {
+            return false;
+        }
+        if (start < end && value.charAt(start) == '[') {
+            return isValidIPv4Literal(value, start, end);
+        }
+        int i = start;
+
+        while (i < end) {
+            int labelEnd = skipChars(value, i, end, ATOM_CHARS);
+
+            if (labelEnd < 0 || labelEnd - i > MAX_LABEL_LENGTH) {
+                return false;
+            }
+            if (labelEnd == end) {
+                return true;
+            }
+            if (value.charAt(labelEnd) != '.') {
+                return false;
+            }
+            i = labelEnd + 1;
+        }
+        // empty domain, or trailing dot
+        return false;
+    }
+
+    /**
+     * {@code [d.d.d.d]}, where d is 1 to 3 digits.
+     */
+    private static boolean isValidIPv4Literal(CharSequence value, int start, int end) {
+        if (value.charAt(end - 1) != ']') {
+            return false;
+        }
+        int i = start + 1;
+
+        for (int part = 0; part < 4; part++) {
+            int digits = 0;
+
+            while (i < end - 1 && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+            if (digits == 0 || digits > 3) {
+                return false;
+            }
+            if (part < 3 && (i >= end - 1 || value.charAt(i++) != '.')) {
+                return false;
+            }
+        }
+        return i == end - 1;
+    }
+
+    /**
+     * Skips non-empty sequence of the allowed characters.
+     *
+     * @return Index of the first not allowed character, or -1 if there's no
+     *         allowed character at the start index.
+     */
+    private static int skipChars(CharSequence value, int start, int end, boolean[] allowed) {
+        int i = start;
+
+        while (i < end && allowed[value.charAt(i)]) {
+            i++;
+        }
+        return i > start ? i : -1;
+    }
+
+    /**
+     * Skips non-empty content of a quoted string and the closing quote.
+     *
+     * @return Index after the closing quote, or -1 if the string is invalid.
+     */
+    private static int skipQuoted(CharSequence value, int start, int end) {
+        int i = start;
+
+        while (i < end) {
+            char ch = value.charAt(i);
+
+            if (ch == '"') {
+                return i > start ? i + 1 : -1;
+            }
+            if (ch == '\\') {
+                if (i + 1 == end || (value.charAt(i + 1) != '\\' && value.charAt(i + 1) != '"')) {
+                    return -1;
+                }
+                i += 2;
+            } else if (QUOTED_CHARS[ch]) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence value, int start, String prefix) {
+        if (value.length() - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(value.charAt(start + i)) != Character.toLowerCase(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean[] asciiTable(String chars) {
+        boolean[] table = new boolean[0x80];
+
+        for (int i = 0; i < chars.length(); i++) {
+            table[chars.charAt(i)] = true;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.In;
+import cz.jirutka.validator.collection.constraints.In.ValuesProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Base class for the validators of {@link In} ({@link InValidatorForCharSequence},
+ * {@link InValidatorForNumber} and {@link InValidatorForEnum}). Each of them
+ * builds a lookup structure specific for its type from the allowed values
+ * when initialized, so validation of an element doesn't depend on the number
+ * of the allowed values.
+ */
+public abstract class InValidatorBase {
+
+    /**
+     * Reads the allowed values from {@link In#value()} and the
+     * {@link In#provider()}, if any.
+     *
+     * @param constraint The constraint to read the values from.
+     * @return A list of the allowed values without {@code null}s.
+     * @throws IllegalArgumentException if the provider cannot be instantiated.
+     */
+    protected static List<Object> readAllowedValues(In constraint) {
+        List<Object> values = new ArrayList<Object>(asList(constraint.value()));
+        Class<? extends ValuesProvider> providerClass = constraint.provider();
+
+        if (providerClass != ValuesProvider.class) {
+            Collection<?> provided;
+            try {
+                provided = providerClass.newInstance().getValues();
+            } catch (InstantiationException | IllegalAccessException ex) {
+                throw new IllegalArgumentException("Cannot instantiate values provider: " + providerClass.getName(), ex);
+            }
+            if (provided != null) {
+                for (Object value : provided) {
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+}
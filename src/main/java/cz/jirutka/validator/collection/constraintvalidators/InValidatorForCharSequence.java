@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.In;
+import cz.jirutka.validator.collection.internal.CharSequenceHashSet;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validator of {@link In} for {@link CharSequence} elements. The allowed
+ * values (enums by their name, anything else by its string representation)
+ * are stored in a {@link CharSequenceHashSet}, so the validated value is
+ * never copied into a {@code String}.
+ */
+public class InValidatorForCharSequence extends InValidatorBase
+        implements ConstraintValidator<In, CharSequence> {
+
+    private CharSequenceHashSet allowed;
+
+
+    public void initialize(In constraint) {
+        List<Object> values = readAllowedValues(constraint);
+        List<String> strings = new ArrayList<>(values.size());
+
+        for (Object value : values) {
+            strings.add(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        }
+        this.allowed = new CharSequenceHashSet(strings);
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || allowed.contains(value);
+    }
+}
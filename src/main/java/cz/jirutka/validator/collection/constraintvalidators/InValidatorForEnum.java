@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.In;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Validator of {@link In} for {@link Enum} elements. The allowed constants
+ * are stored in an {@link EnumSet}, i.e. as a bitmask indexed by their
+ * ordinal, so a whole {@code EnumSet} of elements can be validated at once
+ * using {@link #isValidAll(EnumSet)}.
+ *
+ * <p>The enum type is not known until the first element is validated, so the
+ * set is built lazily and rebuilt if an element of another enum type comes
+ * along (this doesn't happen when used via {@code @EachIn}, since it creates
+ * a validator instance per element type).</p>
+ */
+@SuppressWarnings("unchecked")
+public class InValidatorForEnum extends InValidatorBase implements ConstraintValidator<In, Enum> {
+
+    private List<Object> allowedValues;
+
+    private volatile Allowed allowed;
+
+
+    public void initialize(In constraint) {
+        this.allowedValues = readAllowedValues(constraint);
+    }
+
+    public boolean isValid(Enum value, ConstraintValidatorContext context) {
+        return value == null || allowedFor(value.getDeclaringClass()).contains(value);
+    }
+
+    /**
+     * Validates all elements of the given non-empty set at once.
+     *
+     * @param elements The elements to validate.
+     * @return Whether all the elements are allowed.
+     */
+    public boolean isValidAll(EnumSet<?> elements) {
+        return allowedFor(elements.iterator().next().getDeclaringClass()).containsAll(elements);
+    }
+
+
+    private EnumSet allowedFor(Class enumType) {
+        Allowed allowed = this.allowed;
+
+        if (allowed == null || allowed.enumType != enumType) {
+            this.allowed = allowed = new Allowed(enumType, allowedValues);
+        }
+        return allowed.constants;
+    }
+
+
+    private static final class Allowed {
+
+        final Class enumType;
+
+        final EnumSet constants;
+
+        Allowed(Class enumType, List<Object> values) {
+            this.enumType = enumType;
+            this.constants = EnumSet.noneOf(enumType);
+
+            for (Object value : values) {
+                if (!(value instanceof Enum)) {
+                    constants.add(valueOf(enumType, value.toString()));
+
+                // constants of other enum types are simply never matched
+                } else if (((Enum) value).getDeclaringClass() == enumType) {
+                    constants.add(value);
+                }
+            }
+        }
+
+        private static Enum valueOf(Class enumType, String name) {
+            try {
+                return Enum.valueOf(enumType, name);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(String.format(
+                        "%s has no constant named: %s", enumType.getName(), name), ex);
+            }
+        }
+    }
+}
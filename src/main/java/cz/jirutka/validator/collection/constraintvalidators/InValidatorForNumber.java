@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.In;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Validator of {@link In} for {@link Number} elements. The allowed values
+ * are compared numerically, i.e. regardless of their type and scale.
+ *
+ * <p>Integral allowed values that fit into {@code long} are stored in a
+ * sorted array, so integral elements of the primitive wrapper types (and
+ * doubles with an integral value) are looked up by binary search without
+ * any allocation. The rest of the allowed values are stored as normalized
+ * {@code BigDecimal}s in a hash set.</p>
+ */
+public class InValidatorForNumber extends InValidatorBase implements ConstraintValidator<In, Number> {
+
+    // 2^63; any integral double in [-2^63, 2^63) is exactly representable as long
+    private static final double LONG_BOUND = 0x1p63;
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private long[] longs;
+
+    private Set<BigDecimal> decimals;
+
+
+    public void initialize(In constraint) {
+        Set<Long> longs = new HashSet<>();
+        Set<BigDecimal> decimals = new HashSet<>();
+
+        for (Object value : readAllowedValues(constraint)) {
+            BigDecimal decimal;
+            try {
+                decimal = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(value + " does not represent a valid number", ex);
+            }
+            BigDecimal normalized = normalize(decimal);
+
+            if (isLong(normalized)) {
+                longs.add(normalized.longValue());
+            } else {
+                decimals.add(normalized);
+            }
+        }
+        this.longs = new long[longs.size()];
+        int i = 0;
+        for (long value : longs) {
+            this.longs[i++] = value;
+        }
+        Arrays.sort(this.longs);
+        this.decimals = decimals;
+    }
+
+    public boolean isValid(Number value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return containsLong(value.longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = value.doubleValue();
+
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                return false;
+            }
+            if (d == Math.rint(d) && d >= -LONG_BOUND && d < LONG_BOUND) {
+                return containsLong((long) d);
+            }
+            // Float.toString gives the shortest decimal representation of the float, not of the double
+            return containsDecimal(value instanceof Double
+                    ? BigDecimal.valueOf(d)
+                    : new BigDecimal(value.toString()));
+        }
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            return containsLong(value.longValue());
+        }
+        if (value instanceof BigDecimal) {
+            return containsDecimal((BigDecimal) value);
+        }
+        try {
+            return containsDecimal(new BigDecimal(value.toString()));
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+
+    private boolean containsLong(long value) {
+        return Arrays.binarySearch(longs, value) >= 0;
+    }
+
+    private boolean containsDecimal(BigDecimal value) {
+        BigDecimal normalized = normalize(value);
+
+        return isLong(normalized)
+                ? containsLong(normalized.longValue())
+                : decimals.contains(normalized);
+    }
+
+    /**
+     * Strips trailing zeros, so numerically equal values are also equal
+     * according to {@link BigDecimal#equals(Object)}.
+     */
+    private static BigDecimal normalize(BigDecimal value) {
+        // BigDecimal.stripTrailingZeros() doesn't strip zero before Java 8
+        return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+
+    private static boolean isLong(BigDecimal normalized) {
+        return normalized.scale() <= 0
+                && normalized.compareTo(LONG_MIN) >= 0 && normalized.compareTo(LONG_MAX) <= 0;
+    }
+}
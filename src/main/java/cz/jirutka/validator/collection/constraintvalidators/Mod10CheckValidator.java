@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachMod10Check;
+import org.hibernate.validator.constraints.Mod10Check;
+
+import javax.validation.ConstraintValidator;
+
+/**
+ * Validator of {@link Mod10Check} for elements of a collection annotated with
+ * {@link EachMod10Check}. It computes the checksum without any allocation,
+ * see {@link ModCheckValidatorBase}.
+ */
+public class Mod10CheckValidator extends ModCheckValidatorBase
+        implements ConstraintValidator<Mod10Check, CharSequence> {
+
+    private int multiplier;
+
+    private int weight;
+
+
+    public void initialize(Mod10Check constraint) {
+        initialize(constraint.startIndex(), constraint.endIndex(),
+                constraint.checkDigitIndex(), constraint.ignoreNonDigitCharacters());
+
+        this.multiplier = constraint.multiplier();
+        this.weight = constraint.weight();
+
+        if (multiplier < 0) {
+            throw new IllegalArgumentException("Multiplier cannot be negative: " + multiplier);
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + weight);
+        }
+    }
+
+    protected boolean isCheckDigitValid(CharSequence value, int from, int to, char checkDigit) {
+        int sum = 0;
+        boolean even = true;
+
+        for (int i = to - 1; i >= from; i--) {
+            int digit = digitAt(value, i);
+
+            if (digit == SKIP) {
+                continue;
+            }
+            if (digit == INVALID) {
+                return false;
+            }
+            sum += digit * (even ? multiplier : weight);
+            even = !even;
+        }
+        return checkDigitValue(checkDigit) == (10 - (sum % 10)) % 10;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachMod11Check;
+import org.hibernate.validator.constraints.Mod11Check;
+import org.hibernate.validator.constraints.Mod11Check.ProcessingDirection;
+
+import javax.validation.ConstraintValidator;
+
+/**
+ * Validator of {@link Mod11Check} for elements of a collection annotated with
+ * {@link EachMod11Check}. It computes the checksum without any allocation,
+ * see {@link ModCheckValidatorBase}.
+ */
+public class Mod11CheckValidator extends ModCheckValidatorBase
+        implements ConstraintValidator<Mod11Check, CharSequence> {
+
+    private int threshold;
+
+    private char treatCheck10As;
+
+    private char treatCheck11As;
+
+    private boolean leftToRight;
+
+
+    public void initialize(Mod11Check constraint) {
+        initialize(constraint.startIndex(), constraint.endIndex(),
+                constraint.checkDigitIndex(), constraint.ignoreNonDigitCharacters());
+
+        this.threshold = constraint.threshold();
+        this.treatCheck10As = constraint.treatCheck10As();
+        this.treatCheck11As = constraint.treatCheck11As();
+        this.leftToRight = constraint.processingDirection() == ProcessingDirection.LEFT_TO_RIGHT;
+
+        if (!Character.isLetterOrDigit(treatCheck10As)) {
+            throw new IllegalArgumentException("'" + treatCheck10As + "' is not a digit nor a letter");
+        }
+        if (!Character.isLetterOrDigit(treatCheck11As)) {
+            throw new IllegalArgumentException("'" + treatCheck11As + "' is not a digit nor a letter");
+        }
+    }
+
+    protected boolean isCheckDigitValid(CharSequence value, int from, int to, char checkDigit) {
+        int sum = 0;
+        int multiplier = 1;
+        int step = leftToRight ? 1 : -1;
+
+        for (int i = leftToRight ? from : to - 1; i >= from && i < to; i += step) {
+            int digit = digitAt(value, i);
+
+            if (digit == SKIP) {
+                continue;
+            }
+            if (digit == INVALID) {
+                return false;
+            }
+            if (++multiplier > threshold) {
+                multiplier = 2;
+            }
+            sum += digit * multiplier;
+        }
+
+        int result = 11 - (sum % 11);
+        switch (result) {
+            case 10:
+                return checkDigit == treatCheck10As;
+            case 11:
+                return checkDigit == treatCheck11As;
+            default:
+                return checkDigitValue(checkDigit) == result;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Base class for the checksum validators ({@link LuhnCheckValidator},
+ * {@link Mod10CheckValidator} and {@link Mod11CheckValidator}). Unlike the
+ * Hibernate Validator's {@code ModCheckBase}, it doesn't copy the validated
+ * value into a string nor a list of digits; the digits are read directly
+ * from the {@link CharSequence} while computing the checksum. The semantics
+ * of {@code startIndex}, {@code endIndex}, {@code checkDigitIndex} and
+ * {@code ignoreNonDigitCharacters} are the same as in Hibernate Validator.
+ */
+public abstract class ModCheckValidatorBase {
+
+    /**
+     * Returned by {@link #digitAt(CharSequence, int)} for a character that
+     * should be skipped.
+     */
+    protected static final int SKIP = -1;
+
+    /**
+     * Returned by {@link #digitAt(CharSequence, int)} for a character that
+     * makes the value invalid.
+     */
+    protected static final int INVALID = -2;
+
+    private int startIndex;
+
+    private int endIndex;
+
+    private int checkDigitIndex;
+
+    private boolean ignoreNonDigitCharacters;
+
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        int length = value.length();
+        int from, to;
+
+        // bounds of the digits to verify, i.e. without the check digit
+        if (endIndex == Integer.MAX_VALUE) {
+            from = 0;
+            to = length - 1;
+        } else if (checkDigitIndex == -1) {
+            from = startIndex;
+            to = endIndex;
+        } else {
+            from = startIndex;
+            to = endIndex + 1;
+        }
+        if (to < 0 || to > length || from > to) {
+            return false;
+        }
+
+        int checkDigitPos = checkDigitIndex != -1 ? checkDigitIndex
+                : endIndex == Integer.MAX_VALUE ? length - 1
+                : endIndex;
+        if (checkDigitPos < 0 || checkDigitPos >= length) {
+            return false;
+        }
+
+        return isCheckDigitValid(value, from, to, value.charAt(checkDigitPos));
+    }
+
+    /**
+     * Validates the check digit against the digits in the given range of
+     * the value. Characters should be read using
+     * {@link #digitAt(CharSequence, int)}.
+     *
+     * @param value The validated value.
+     * @param from Index of the first character to verify (inclusive).
+     * @param to Index of the last character to verify (exclusive).
+     * @param checkDigit The check digit.
+     * @return Whether the check digit is valid.
+     */
+    protected abstract boolean isCheckDigitValid(CharSequence value, int from, int to, char checkDigit);
+
+    protected void initialize(int startIndex, int endIndex, int checkDigitIndex, boolean ignoreNonDigitCharacters) {
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.checkDigitIndex = checkDigitIndex;
+        this.ignoreNonDigitCharacters = ignoreNonDigitCharacters;
+
+        if (startIndex < 0) {
+            throw new IllegalArgumentException("Start index cannot be negative: " + startIndex);
+        }
+        if (endIndex < 0) {
+            throw new IllegalArgumentException("End index cannot be negative: " + endIndex);
+        }
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid Range: %d > %d", startIndex, endIndex));
+        }
+        if (checkDigitIndex > 0 && startIndex <= checkDigitIndex && endIndex > checkDigitIndex) {
+            throw new IllegalArgumentException(String.format(
+                    "A explicitly specified check digit must lie outside the interval: [%d, %d]",
+                    startIndex, endIndex));
+        }
+    }
+
+    /**
+     * Returns the numeric value of the character at the given index,
+     * {@link #SKIP} if it's not an ASCII digit and non-digit characters
+     * should be ignored, or {@link #INVALID} if it's not a digit at all.
+     */
+    protected final int digitAt(CharSequence value, int index) {
+        char ch = value.charAt(index);
+
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        }
+        if (ignoreNonDigitCharacters) {
+            return SKIP;
+        }
+        return Character.isDigit(ch) ? Character.digit(ch, 10) : INVALID;
+    }
+
+    /**
+     * Returns the numeric value of the check digit, or -1 if it's not
+     * a digit.
+     */
+    protected static int checkDigitValue(char checkDigit) {
+        return Character.isDigit(checkDigit) ? Character.digit(checkDigit, 10) : -1;
+    }
+}
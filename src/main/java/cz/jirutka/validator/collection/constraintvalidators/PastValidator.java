@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachPast;
+import cz.jirutka.validator.collection.time.ReferenceTime;
+import cz.jirutka.validator.collection.time.ReferenceTimeAware;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Past;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Validators of {@link Past} for elements of a collection annotated with
+ * {@link EachPast}. Unlike the Hibernate Validator's validators, they compare
+ * elements with the current time in milliseconds obtained from
+ * {@link ReferenceTime}, i.e. just once for the whole collection, without
+ * converting it to the element's type.
+ *
+ * <p>Validators of the {@code java.time} types are in separate classes
+ * (e.g. {@code PastValidatorForInstant}) compiled only on JDK 8 and newer,
+ * so they're not loaded on Java 7.</p>
+ *
+ * @param <T> The type of the validated elements.
+ */
+public abstract class PastValidator<T> implements ConstraintValidator<Past, T>, ReferenceTimeAware {
+
+    public void initialize(Past constraint) {
+    }
+
+    public boolean isValid(T value, ConstraintValidatorContext context) {
+        return value == null || compare(value, ReferenceTime.currentTimeMillis(context)) < 0;
+    }
+
+    /**
+     * @return A negative integer, zero, or a positive integer as the value is
+     *         before, equal to, or after the given time.
+     */
+    protected abstract int compare(T value, long epochMilli);
+
+
+    //////// Inner classes ////////
+
+    public static class ForDate extends PastValidator<Date> {
+
+        protected int compare(Date value, long epochMilli) {
+            return Long.compare(value.getTime(), epochMilli);
+        }
+    }
+
+    public static class ForCalendar extends PastValidator<Calendar> {
+
+        protected int compare(Calendar value, long epochMilli) {
+            return Long.compare(value.getTimeInMillis(), epochMilli);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.EachAnnotationAware;
+import cz.jirutka.validator.collection.constraints.EachPattern;
+import cz.jirutka.validator.collection.constraints.EachPattern.Match;
+import cz.jirutka.validator.collection.internal.regex.RegexAutomaton;
+import cz.jirutka.validator.collection.internal.regex.RegexPrefilter;
+import cz.jirutka.validator.collection.internal.regex.UnsupportedRegexException;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Pattern.Flag;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator;
+
+/**
+ * Validator of {@link Pattern} for elements of a collection annotated with
+ * {@link EachPattern}. If there are no {@link EachPattern#additionalRegexps()
+ * additional regexps}, it just wraps the Hibernate Validator's validator.
+ * Otherwise all the regexps are compiled into a single {@link RegexAutomaton},
+ * so each element is scanned just once regardless of the number of regexps.
+ * If any of the regexps uses a construct that is not supported by the
+ * automaton (e.g. a backreference), it falls back to matching the regexps
+ * one by one using {@link java.util.regex.Pattern}, unless
+ * {@link EachPattern#linearTime()} is enabled. In that case the automaton
+ * is used even for a single regexp and an unsupported regexp is rejected
+ * in {@link #initialize(Pattern)}.
+ *
+ * <p>In any case, an element is first checked against a {@link RegexPrefilter}
+ * derived from each regexp (e.g. its length and literal prefix), so most of
+ * the non-matching elements are rejected without running the regex engine.</p>
+ */
+public class PatternValidator implements ConstraintValidator<Pattern, CharSequence>, EachAnnotationAware {
+
+    private String[] additionalRegexps = {};
+
+    private Match match = Match.ALL;
+
+    private boolean linearTime;
+
+    private ConstraintValidator<Pattern, CharSequence> delegate;
+
+    // only one of these is set if there are additional regexps
+    private RegexAutomaton automaton;
+    private java.util.regex.Pattern[] patterns;
+
+    // null if there's nothing to check, otherwise an item per regexp (may be null)
+    private RegexPrefilter[] prefilters;
+
+
+    public void setEachAnnotation(Annotation eachAnnotation) {
+        if (eachAnnotation instanceof EachPattern) {
+            EachPattern each = (EachPattern) eachAnnotation;
+
+            additionalRegexps = each.additionalRegexps();
+            match = each.match();
+            linearTime = each.linearTime();
+        }
+    }
+
+    public void initialize(Pattern constraint) {
+        int flags = 0;
+        for (Flag flag : constraint.flags()) {
+            flags |= flag.getValue();
+        }
+        List<String> regexps = new ArrayList<>(additionalRegexps.length + 1);
+        regexps.add(constraint.regexp());
+
+        for (String regexp : additionalRegexps) {
+            regexps.add(regexp);
+        }
+        if (regexps.size() == 1 && !linearTime) {
+            this.delegate = createDefaultValidator(constraint, CharSequence.class);
+        } else {
+            initializeMatcher(regexps, flags);
+        }
+        this.prefilters = createPrefilters(regexps, flags);
+    }
+
+    private void initializeMatcher(List<String> regexps, int flags) {
+        java.util.regex.Pattern[] patterns = new java.util.regex.Pattern[regexps.size()];
+
+        for (int i = 0; i < patterns.length; i++) {
+            try {
+                patterns[i] = java.util.regex.Pattern.compile(regexps.get(i), flags);
+            } catch (PatternSyntaxException ex) {
+                throw new IllegalArgumentException("Invalid regular expression.", ex);
+            }
+        }
+        if (linearTime) {
+            this.automaton = RegexAutomaton.compile(regexps, flags);
+            return;
+        }
+        if (regexps.size() <= RegexAutomaton.MAX_REGEXPS) {
+            try {
+                this.automaton = RegexAutomaton.compile(regexps, flags);
+                return;
+            } catch (UnsupportedRegexException ex) {
+                // fall back to java.util.regex
+            }
+        }
+        this.patterns = patterns;
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (prefilters != null && !mayMatch(value)) {
+            return false;
+        }
+        if (delegate != null) {
+            return delegate.isValid(value, context);
+        }
+        if (automaton != null) {
+            return match == Match.ALL ? automaton.matchesAll(value) : automaton.matchesAny(value);
+        }
+        boolean all = match == Match.ALL;
+
+        for (java.util.regex.Pattern pattern : patterns) {
+            if (pattern.matcher(value).matches() != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+
+    private boolean mayMatch(CharSequence value) {
+        boolean all = match == Match.ALL;
+
+        for (RegexPrefilter prefilter : prefilters) {
+            if ((prefilter == null || prefilter.mayMatch(value)) != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+    private static RegexPrefilter[] createPrefilters(List<String> regexps, int flags) {
+        RegexPrefilter[] prefilters = new RegexPrefilter[regexps.size()];
+        boolean any = false;
+
+        for (int i = 0; i < prefilters.length; i++) {
+            prefilters[i] = RegexPrefilter.of(regexps.get(i), flags);
+            any |= prefilters[i] != null;
+        }
+        return any ? prefilters : null;
+    }
+}
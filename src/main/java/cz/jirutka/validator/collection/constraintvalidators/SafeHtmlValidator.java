@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.EachAnnotationAware;
+import cz.jirutka.validator.collection.constraints.EachSafeHtml;
+import cz.jirutka.validator.collection.instrument.Instrumentation;
+import cz.jirutka.validator.collection.internal.LruCache;
+import org.hibernate.validator.constraints.SafeHtml;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator;
+
+/**
+ * Validator of {@link SafeHtml} for elements of a collection annotated with
+ * {@link EachSafeHtml}. It wraps the Hibernate Validator's validator, but
+ * rejects elements longer than {@link EachSafeHtml#maxLength()} before
+ * parsing them and optionally caches verdicts for already validated
+ * elements, see {@link EachSafeHtml#verdictCacheSize()}.
+ */
+public class SafeHtmlValidator implements ConstraintValidator<SafeHtml, CharSequence>, EachAnnotationAware {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = new ThreadLocal<MessageDigest>() {
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    };
+
+    private SafeHtml constraint;
+
+    private ConstraintValidator<SafeHtml, CharSequence> delegate;
+
+    private int maxLength = Integer.MAX_VALUE;
+
+    // null if disabled
+    private LruCache<ByteBuffer, Boolean> verdicts;
+
+
+    public void setEachAnnotation(Annotation eachAnnotation) {
+        if (eachAnnotation instanceof EachSafeHtml) {
+            EachSafeHtml each = (EachSafeHtml) eachAnnotation;
+
+            maxLength = each.maxLength();
+            verdicts = each.verdictCacheSize() > 0 ? new LruCache<ByteBuffer, Boolean>(each.verdictCacheSize()) : null;
+        }
+    }
+
+    public void initialize(SafeHtml constraint) {
+        this.constraint = constraint;
+        this.delegate = createDefaultValidator(constraint, CharSequence.class);
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (value.length() > maxLength) {
+            return false;
+        }
+        if (verdicts == null) {
+            return parseAndValidate(value, context);
+        }
+        ByteBuffer hash = hash(value);
+        Boolean valid = verdicts.get(hash);
+
+        if (valid == null) {
+            valid = parseAndValidate(value, context);
+            verdicts.put(hash, valid);
+        }
+        return valid;
+    }
+
+
+    private boolean parseAndValidate(CharSequence value, ConstraintValidatorContext context) {
+        if (!Instrumentation.isEnabled()) {
+            return delegate.isValid(value, context);
+        }
+        long start = System.nanoTime();
+        boolean valid = delegate.isValid(value, context);
+
+        Instrumentation.getListener().elementParsed(constraint, value.length(), System.nanoTime() - start);
+
+        return valid;
+    }
+
+    private static ByteBuffer hash(CharSequence value) {
+        MessageDigest digest = DIGEST.get();
+        byte[] buffer = new byte[Math.min(value.length(), 512) * 2];
+        int pos = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            buffer[pos++] = (byte) (ch >> 8);
+            buffer[pos++] = (byte) ch;
+
+            if (pos == buffer.length) {
+                digest.update(buffer, 0, pos);
+                pos = 0;
+            }
+        }
+        digest.update(buffer, 0, pos);
+
+        return ByteBuffer.wrap(digest.digest());
+    }
+}
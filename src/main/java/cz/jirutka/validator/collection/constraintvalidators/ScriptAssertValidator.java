@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.BatchValidator;
+import cz.jirutka.validator.collection.EachAnnotationAware;
+import cz.jirutka.validator.collection.constraints.EachScriptAssert;
+import cz.jirutka.validator.collection.internal.ScriptEnginePool;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.validator.constraints.ScriptAssert;
+
+import javax.script.ScriptException;
+import javax.validation.ConstraintDeclarationException;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static cz.jirutka.validator.collection.internal.AnnotationUtils.hasAttribute;
+import static cz.jirutka.validator.collection.internal.AnnotationUtils.readAttribute;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * Validator of {@link ScriptAssert} for elements of a collection annotated
+ * with {@link EachScriptAssert}. Unlike the Hibernate Validator's validator,
+ * it evaluates the script using a pool of script engines, so the script is
+ * compiled only once per engine (when the engine supports it) and concurrent
+ * evaluations don't block each other, up to the number of processors.
+ *
+ * <p>When {@link EachScriptAssert#batch()} is enabled, the script is evaluated
+ * once for a whole batch of elements and returns indexes of the invalid ones.</p>
+ *
+ * @see ScriptEnginePool
+ */
+public class ScriptAssertValidator
+        implements ConstraintValidator<ScriptAssert, Object>, BatchValidator, EachAnnotationAware {
+
+    // reportOn has been added in HV 5.4.0
+    private static final boolean REPORT_ON_SUPPORTED = hasAttribute(ScriptAssert.class, "reportOn");
+
+    private String script;
+
+    private String alias;
+
+    private String message;
+
+    private String reportOn;
+
+    private ScriptEnginePool enginePool;
+
+    private boolean batch;
+
+    private int batchSize = Integer.MAX_VALUE;
+
+
+    public void setEachAnnotation(Annotation eachAnnotation) {
+        if (eachAnnotation instanceof EachScriptAssert) {
+            EachScriptAssert each = (EachScriptAssert) eachAnnotation;
+
+            Validate.isTrue(each.batchSize() > 0, "The parameter \"batchSize\" must be positive");
+            this.batch = each.batch();
+            this.batchSize = each.batchSize();
+        }
+    }
+
+    public void initialize(ScriptAssert constraint) {
+        Validate.notEmpty(constraint.lang(), "The parameter \"lang\" must not be empty");
+        Validate.notEmpty(constraint.script(), "The parameter \"script\" must not be empty");
+        Validate.notEmpty(constraint.alias(), "The parameter \"alias\" must not be empty");
+
+        this.script = constraint.script();
+        this.alias = constraint.alias();
+        this.message = constraint.message();
+        this.reportOn = REPORT_ON_SUPPORTED ? readAttribute(constraint, "reportOn", String.class) : "";
+        this.enginePool = ScriptEnginePool.forLanguage(constraint.lang());
+    }
+
+    public boolean isValid(Object value, ConstraintValidatorContext context) {
+        Object result = evaluate(value);
+
+        if (!(result instanceof Boolean)) {
+            throw new ConstraintDeclarationException(String.format(
+                    "Script \"%s\" returned %s, but it must return either true or false.", script, result));
+        }
+        boolean valid = (Boolean) result;
+
+        if (!valid && !isEmpty(reportOn)) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(message)
+                    .addPropertyNode(reportOn)
+                    .addConstraintViolation();
+        }
+        return valid;
+    }
+
+
+    public boolean isBatchEnabled() {
+        return batch;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Evaluates the script once for the given elements. The elements are
+     * bound as a {@link List} under the alias and the script must return
+     * indexes of the invalid elements as an array or a collection of numbers.
+     */
+    public int[] findInvalid(List<?> elements, ConstraintValidatorContext context) {
+        Object result = evaluate(elements);
+
+        Collection<?> values;
+        if (result instanceof Collection) {
+            values = (Collection<?>) result;
+        } else if (result instanceof Map) {  // e.g. JavaScript array in Nashorn
+            values = ((Map<?, ?>) result).values();
+        } else if (result != null && result.getClass().isArray()) {
+            Object[] array = new Object[Array.getLength(result)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = Array.get(result, i);
+            }
+            values = Arrays.asList(array);
+        } else {
+            throw new ConstraintDeclarationException(String.format(
+                    "Script \"%s\" returned %s, but it must return indexes of invalid elements.", script, result));
+        }
+
+        int[] indexes = new int[values.size()];
+        int i = 0;
+        for (Object value : values) {
+            if (!(value instanceof Number) || ((Number) value).intValue() < 0
+                    || ((Number) value).intValue() >= elements.size()) {
+                throw new ConstraintDeclarationException(String.format(
+                        "Script \"%s\" returned %s, but it's not an index of the elements.", script, value));
+            }
+            indexes[i++] = ((Number) value).intValue();
+        }
+        Arrays.sort(indexes);
+
+        return indexes;
+    }
+
+
+    private Object evaluate(Object value) {
+        try {
+            return enginePool.evaluate(script, alias, value);
+
+        } catch (ScriptException | IllegalStateException ex) {
+            throw new ConstraintDeclarationException(String.format(
+                    "Error during execution of script \"%s\" occurred.", script), ex);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachURL;
+import org.hibernate.validator.constraints.URL;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.Pattern.Flag;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator;
+
+/**
+ * Validator of {@link URL} for elements of a collection annotated with
+ * {@link EachURL}. It's a single-pass parser that splits the value the same
+ * way as {@link java.net.URL#URL(String)} does for the built-in {@code http},
+ * {@code https} and {@code ftp} handlers, so it accepts the same values as
+ * the Hibernate Validator's validator, but without constructing
+ * {@code java.net.URL} and throwing {@code MalformedURLException} for every
+ * invalid value. Values with other protocols, an IPv6 host or non-ASCII
+ * characters in the protocol, host or port are passed to the Hibernate
+ * Validator's validator.
+ *
+ * <p>Unlike the Hibernate Validator's validator, this one also verifies the
+ * {@link URL#regexp() regexp} (if it's not the default {@code .*}), which is
+ * otherwise ignored for {@code @EachURL}, because it's implemented as
+ * a composed {@code @Pattern} constraint.</p>
+ */
+public class URLValidator implements ConstraintValidator<URL, CharSequence> {
+
+    private static final String DEFAULT_REGEXP = ".*";
+
+    private static final String[] BUILTIN_PROTOCOLS = { "http", "https", "ftp" };
+
+    // results of parsePort() besides a port number
+    private static final int INVALID = -2, UNKNOWN = -3;
+
+    private String protocol;
+    private String host;
+    private int port;
+    private Pattern pattern;
+
+    private ConstraintValidator<URL, CharSequence> delegate;
+
+
+    public void initialize(URL constraint) {
+        this.protocol = constraint.protocol();
+        this.host = constraint.host();
+        this.port = constraint.port();
+        this.delegate = createDefaultValidator(constraint, CharSequence.class);
+
+        if (!DEFAULT_REGEXP.equals(constraint.regexp()) || constraint.flags().length > 0) {
+            int flags = 0;
+            for (Flag flag : constraint.flags()) {
+                flags |= flag.getValue();
+            }
+            try {
+                this.pattern = Pattern.compile(constraint.regexp(), flags);
+            } catch (PatternSyntaxException ex) {
+                throw new IllegalArgumentException("Invalid regular expression.", ex);
+            }
+        }
+    }
+
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (pattern != null && !pattern.matcher(value).matches()) {
+            return false;
+        }
+        if (value.length() == 0) {
+            return true;
+        }
+        int start = 0;
+        int limit = value.length();
+
+        while (limit > 0 && value.charAt(limit - 1) <= ' ') {
+            limit--;
+        }
+        while (start < limit && value.charAt(start) <= ' ') {
+            start++;
+        }
+        if (regionMatchesIgnoreCase(value, start, "url:")) {
+            start += 4;
+        }
+        if (start < value.length() && value.charAt(start) == '#') {
+            return false;  // relative URL
+        }
+        int colon = indexOf(value, ':', start, limit, '/');
+        if (colon < 0) {
+            return false;  // no protocol
+        }
+        // non-ASCII letters are lower-cased by the default locale
+        for (int i = start; i < colon; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return delegate.isValid(value, context);
+            }
+        }
+        if (!isValidProtocol(value, start, colon)) {
+            return false;  // no protocol
+        }
+        String actualProtocol = builtinProtocol(value, start, colon);
+
+        if (actualProtocol == null) {
+            return delegate.isValid(value, context);
+        }
+        if (!protocol.isEmpty() && !protocol.equals(actualProtocol)) {
+            return false;
+        }
+        start = colon + 1;
+        limit = min(indexOf(value, '#', start, limit), limit);
+        limit = min(indexOf(value, '?', start, limit), limit);
+
+        int hostStart = 0, hostEnd = 0, actualPort = -1;
+
+        // "//" followed by an authority, but not an UNC name "////"
+        if (regionMatches(value, start, limit, "//") && !regionMatches(value, start, limit, "////")) {
+            int authStart = start + 2;
+            int authEnd = min(indexOf(value, '/', authStart, limit), limit);
+            int at = indexOf(value, '@', authStart, authEnd);
+
+            hostStart = at + 1 > authStart ? at + 1 : authStart;
+            hostEnd = authEnd;
+
+            // more than one '@' means no host
+            if (at >= 0 && indexOf(value, '@', at + 1, authEnd) >= 0) {
+                hostStart = hostEnd = authEnd;
+            }
+            if (hostStart < hostEnd && value.charAt(hostStart) == '[') {
+                return delegate.isValid(value, context);  // IPv6
+            }
+            int portColon = indexOf(value, ':', hostStart, hostEnd);
+
+            if (portColon >= 0) {
+                actualPort = parsePort(value, portColon + 1, hostEnd);
+                hostEnd = portColon;
+
+                if (actualPort == INVALID) {
+                    return false;
+                } else if (actualPort == UNKNOWN) {
+                    return delegate.isValid(value, context);
+                }
+            }
+            // control and non-ASCII characters in the host are rejected by newer JDKs only
+            for (int i = hostStart; i < hostEnd; i++) {
+                char ch = value.charAt(i);
+                if (ch < 0x20 || ch >= 0x7F) {
+                    return delegate.isValid(value, context);
+                }
+            }
+        }
+        if (!host.isEmpty() && !regionEquals(value, hostStart, hostEnd, host)) {
+            return false;
+        }
+        return port == -1 || port == actualPort;
+    }
+
+
+    /**
+     * Parses the port the same way as {@link Integer#parseInt(String)}.
+     *
+     * @return The port number, -1 if empty, {@link #INVALID} if it's not
+     *         a number, or {@link #UNKNOWN} if it contains a sign or non-ASCII
+     *         characters.
+     */
+    private static int parsePort(CharSequence value, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        char first = value.charAt(start);
+        if (first == '+' || first == '-') {
+            return UNKNOWN;
+        }
+        long result = 0;
+
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return UNKNOWN;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+
+            if (ch < '0' || ch > '9') {
+                return INVALID;
+            }
+            result = result * 10 + (ch - '0');
+
+            if (result > Integer.MAX_VALUE) {
+                return INVALID;
+            }
+        }
+        return (int) result;
+    }
+
+    /**
+     * A letter followed by letters, digits, '.', '+' or '-'.
+     */
+    private static boolean isValidProtocol(CharSequence value, int start, int end) {
+        if (start == end || !isLetter(value.charAt(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char ch = value.charAt(i);
+
+            if (!isLetter(ch) && !(ch >= '0' && ch <= '9') && ch != '.' && ch != '+' && ch != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String builtinProtocol(CharSequence value, int start, int end) {
+        for (String name : BUILTIN_PROTOCOLS) {
+            if (end - start == name.length() && regionMatchesIgnoreCase(value, start, name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(CharSequence value, char ch, int start, int end) {
+        return indexOf(value, ch, start, end, ch);
+    }
+
+    /**
+     * @return Index of the character, or -1 if it's not found before the end
+     *         or the stop character.
+     */
+    private static int indexOf(CharSequence value, char ch, int start, int end, char stop) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (c == ch) {
+                return i;
+            }
+            if (c == stop) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int min(int index, int limit) {
+        return index >= 0 && index < limit ? index : limit;
+    }
+
+    private static boolean regionMatches(CharSequence value, int start, int end, String str) {
+        return end - start >= str.length() && regionEquals(value, start, start + str.length(), str);
+    }
+
+    private static boolean regionEquals(CharSequence value, int start, int end, String str) {
+        if (end - start != str.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (value.charAt(start + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The same as {@link String#regionMatches(boolean, int, String, int, int)}
+     * with {@code ignoreCase}.
+     */
+    private static boolean regionMatchesIgnoreCase(CharSequence value, int start, String str) {
+        if (value.length() - start < str.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c1 = value.charAt(start + i);
+            char c2 = str.charAt(i);
+
+            if (c1 == c2) {
+                continue;
+            }
+            char u1 = Character.toUpperCase(c1);
+            char u2 = Character.toUpperCase(c2);
+
+            if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachUnique;
+import cz.jirutka.validator.collection.constraints.EachUnique.KeyExtractor;
+import cz.jirutka.validator.collection.internal.LongHashSet;
+import cz.jirutka.validator.collection.internal.ObjectHashSet;
+import cz.jirutka.validator.collection.internal.ViolationReporter;
+
+import javax.validation.ConstraintValidatorContext;
+import java.util.Collection;
+
+/**
+ * Base class for the validators of {@link EachUnique}. The elements are
+ * checked in a single pass, each one is added into a set of the already
+ * seen elements (or keys) until it's already there.
+ *
+ * <p>If all the (non-null) elements are of the same primitive wrapper type
+ * and there's no key extractor, they're added into a {@link LongHashSet}
+ * without boxing, otherwise into an {@link ObjectHashSet}. Both are
+ * presized for the number of elements, so the set is never rehashed.</p>
+ */
+public abstract class UniqueValidatorBase {
+
+    /**
+     * Returned by {@link #indexOfDuplicate(Collection)} when there's no
+     * duplicate element.
+     */
+    protected static final int NONE = -1;
+
+    // returned by indexOfDuplicatePrimitive() when it cannot be used
+    private static final int NOT_PRIMITIVE = -2;
+
+    private KeyExtractor<Object> keyExtractor;
+
+    private ViolationReporter reporter;
+
+
+    @SuppressWarnings("unchecked")
+    public void initialize(EachUnique constraint) {
+        Class<? extends KeyExtractor> extractorClass = constraint.by();
+
+        if (extractorClass != KeyExtractor.class) {
+            try {
+                this.keyExtractor = extractorClass.newInstance();
+            } catch (InstantiationException | IllegalAccessException ex) {
+                throw new IllegalArgumentException("Cannot instantiate key extractor: " + extractorClass.getName(), ex);
+            }
+        }
+        this.reporter = ViolationReporter.create(constraint.message());
+    }
+
+    /**
+     * Returns index of the first element that is equal to (or has equal key
+     * as) some of the preceding elements.
+     *
+     * @param elements The elements to check.
+     * @return An index of the duplicate element, or {@link #NONE}.
+     */
+    protected int indexOfDuplicate(Collection<?> elements) {
+        if (keyExtractor == null) {
+            int index = indexOfDuplicatePrimitive(elements);
+            if (index != NOT_PRIMITIVE) {
+                return index;
+            }
+        }
+        ObjectHashSet seen = new ObjectHashSet(elements.size());
+        int index = 0;
+
+        for (Object element : elements) {
+            Object key = element != null && keyExtractor != null ? keyExtractor.getKey(element) : element;
+
+            if (key != null && !seen.add(key)) {
+                return index;
+            }
+            index++;
+        }
+        return NONE;
+    }
+
+    protected boolean hasKeyExtractor() {
+        return keyExtractor != null;
+    }
+
+    /**
+     * Reports a violation on the element at the given index.
+     *
+     * @return Always {@code false}.
+     */
+    protected boolean reportDuplicate(int index, ConstraintValidatorContext context) {
+        context.disableDefaultConstraintViolation();
+        reporter.report(context, index);
+
+        return false;
+    }
+
+
+    private int indexOfDuplicatePrimitive(Collection<?> elements) {
+        Class<?> type = null;
+        LongHashSet seen = null;
+        int index = 0;
+
+        for (Object element : elements) {
+            if (element != null) {
+                if (type == null) {
+                    type = element.getClass();
+                    if (!isPrimitiveWrapper(type)) {
+                        return NOT_PRIMITIVE;
+                    }
+                    seen = new LongHashSet(elements.size());
+
+                } else if (element.getClass() != type) {
+                    // e.g. Integer(1) and Long(1) are not equal, so let equals() decide
+                    return NOT_PRIMITIVE;
+                }
+                if (!seen.add(toLongBits(element))) {
+                    return index;
+                }
+            }
+            index++;
+        }
+        return NONE;
+    }
+
+    private static boolean isPrimitiveWrapper(Class<?> type) {
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == Character.class || type == Double.class || type == Float.class;
+    }
+
+    /**
+     * Converts the given primitive wrapper into a {@code long} that is equal
+     * for two wrappers of the same type iff they are equal according to
+     * their {@code equals} method.
+     */
+    private static long toLongBits(Object element) {
+        if (element instanceof Double) {
+            return Double.doubleToLongBits((Double) element);
+        }
+        if (element instanceof Float) {
+            return Float.floatToIntBits((Float) element);
+        }
+        if (element instanceof Character) {
+            return (Character) element;
+        }
+        return ((Number) element).longValue();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators;
+
+import cz.jirutka.validator.collection.constraints.EachUnique;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Validator of {@link EachUnique} for collections. A JDK set that compares
+ * elements by {@code equals} (or by natural ordering) is valid by definition
+ * when there's no key extractor, so it's not iterated at all. Other sets
+ * (e.g. identity-based) may contain equal elements, so they're validated.
+ */
+public class UniqueValidatorForCollection extends UniqueValidatorBase
+        implements ConstraintValidator<EachUnique, Collection<?>> {
+
+    public boolean isValid(Collection<?> collection, ConstraintValidatorContext context) {
+        if (collection == null || collection.size() < 2 || (isEqualsBasedSet(collection) && !hasKeyExtractor())) {
+            return true;
+        }
+        int index = indexOfDuplicate(collection);
+
+        return index == NONE || reportDuplicate(index, context);
+    }
+
+    /**
+     * Whether the collection is a set that cannot contain two equal elements.
+     * Only the exact JDK classes are recognized, since a subclass or another
+     * implementation may compare elements differently.
+     */
+    static boolean isEqualsBasedSet(Collection<?> collection) {
+        Class<?> type = collection.getClass();
+
+        if (type == HashSet.class || type == LinkedHashSet.class || collection instanceof EnumSet) {
+            return true;
+        }
+        return (type == TreeSet.class || type == ConcurrentSkipListSet.class)
+                && ((SortedSet<?>) collection).comparator() == null;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.immutable;
+
+import java.util.Collection;
+
+/**
+ * Base class for detectors that recognize immutable collections just by
+ * their class. The result is computed once per class.
+ */
+public abstract class ClassImmutabilityDetector implements ImmutabilityDetector {
+
+    private final ClassValue<Boolean> immutable = new ClassValue<Boolean>() {
+        protected Boolean computeValue(Class<?> type) {
+            return isImmutableType(type);
+        }
+    };
+
+
+    public boolean isImmutable(Collection<?> collection) {
+        return immutable.get(collection.getClass());
+    }
+
+    /**
+     * @param type The class of a collection.
+     * @return Whether all instances of the class are immutable.
+     */
+    protected abstract boolean isImmutableType(Class<?> type);
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.immutable;
+
+import java.util.Collection;
+
+/**
+ * Detector of collections that are immutable, including their elements, so
+ * the outcome of their validation cannot change. It's used to cache the
+ * collections that have passed validation, when enabled by
+ * {@link ImmutableCollections#setCachingEnabled(boolean)}.
+ *
+ * <p>Implementations may be registered by
+ * {@link ImmutableCollections#addDetector(ImmutabilityDetector)}, or as
+ * a service provider in
+ * {@code META-INF/services/cz.jirutka.validator.collection.immutable.ImmutabilityDetector}.
+ * They must be thread-safe and fast; in particular they must not iterate the
+ * collection.</p>
+ */
+public interface ImmutabilityDetector {
+
+    /**
+     * @param collection The collection to be validated, never <tt>null</tt>.
+     * @return Whether neither the collection, nor any of its elements can be
+     *         modified.
+     */
+    boolean isImmutable(Collection<?> collection);
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.immutable;
+
+import java.util.Collection;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holder of the {@link ImmutabilityDetector detectors} of immutable
+ * collections and the switch of caching of their validation results.
+ *
+ * <p>When the caching is enabled, {@code CommonEachValidator} remembers the
+ * instances of immutable collections that have passed its constraint (weakly,
+ * by identity), so revalidation of the same instance takes a constant time.
+ * It's disabled by default, because the detectors cannot check that the
+ * elements are immutable as well; e.g. an immutable list of {@link java.util.Date}s
+ * is considered immutable. Constraints that depend on the current time
+ * (e.g. {@code @EachPast}) are never cached.</p>
+ *
+ * <p>The JDK's immutable collections ({@code List.of(...)} etc., empty and
+ * singleton collections) and Guava's {@code ImmutableCollection} are
+ * recognized by default. Other detectors are loaded using
+ * {@link ServiceLoader}, or may be added programmatically.</p>
+ */
+public abstract class ImmutableCollections {
+
+    private static final CopyOnWriteArrayList<ImmutabilityDetector> detectors = loadDetectors();
+
+    private static volatile boolean cachingEnabled;
+
+
+    /**
+     * Whether the results of validation of immutable collections are cached.
+     */
+    public static boolean isCachingEnabled() {
+        return cachingEnabled;
+    }
+
+    /**
+     * Enables or disables caching of the results of validation of immutable
+     * collections. Disabling does not evict the already cached results, they
+     * are just not used.
+     */
+    public static void setCachingEnabled(boolean enabled) {
+        ImmutableCollections.cachingEnabled = enabled;
+    }
+
+    /**
+     * Registers the detector, if it's not registered yet.
+     */
+    public static void addDetector(ImmutabilityDetector detector) {
+        if (detector == null) {
+            throw new IllegalArgumentException("detector must not be null");
+        }
+        detectors.addIfAbsent(detector);
+    }
+
+    /**
+     * Unregisters the detector.
+     */
+    public static void removeDetector(ImmutabilityDetector detector) {
+        detectors.remove(detector);
+    }
+
+    /**
+     * Whether any of the registered detectors recognizes the given collection
+     * as immutable.
+     */
+    public static boolean isImmutable(Collection<?> collection) {
+        for (ImmutabilityDetector detector : detectors) {
+            if (detector.isImmutable(collection)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static CopyOnWriteArrayList<ImmutabilityDetector> loadDetectors() {
+        CopyOnWriteArrayList<ImmutabilityDetector> list = new CopyOnWriteArrayList<>();
+        list.add(new JdkImmutabilityDetector());
+        list.add(new GuavaImmutabilityDetector());
+
+        for (ImmutabilityDetector detector : ServiceLoader.load(ImmutabilityDetector.class,
+                ImmutableCollections.class.getClassLoader())) {
+            list.add(detector);
+        }
+        return list;
+    }
+}
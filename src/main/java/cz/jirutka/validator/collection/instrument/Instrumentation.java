@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.instrument;
+
+/**
+ * Holder of the {@link ValidationListener} used by validators of this
+ * library. There's no listener by default.
+ */
+public abstract class Instrumentation {
+
+    private static final ValidationListener NOOP_LISTENER = new ValidationListener() { };
+
+    private static volatile ValidationListener listener = NOOP_LISTENER;
+
+
+    /**
+     * @return The registered listener, or a listener that does nothing.
+     */
+    public static ValidationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Registers the listener to be notified about validation events.
+     *
+     * @param listener The listener, or <tt>null</tt> to unregister.
+     */
+    public static void setListener(ValidationListener listener) {
+        Instrumentation.listener = listener != null ? listener : NOOP_LISTENER;
+    }
+
+    /**
+     * Whether any listener is registered. Validators should check this before
+     * gathering data that is expensive to obtain, e.g. reading the time.
+     */
+    public static boolean isEnabled() {
+        return listener != NOOP_LISTENER;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.instrument;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Listener of events emitted during validation of collections, e.g. to
+ * collect metrics. All methods do nothing by default, so implementations
+ * override only the events they're interested in.
+ *
+ * <p>Methods are invoked synchronously from the validating thread, so
+ * implementations must be thread-safe and fast.</p>
+ *
+ * @see Instrumentation
+ */
+public abstract class ValidationListener {
+
+    /**
+     * Invoked after an element has been parsed by a validator that parses its
+     * input (e.g. {@code @EachSafeHtml}).
+     *
+     * @param constraint The element constraint being validated.
+     * @param length Length of the parsed element.
+     * @param durationNanos The time spent with parsing, in nanoseconds.
+     */
+    public void elementParsed(Annotation constraint, int length, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a collection has been validated partially, according to
+     * the {@link cz.jirutka.validator.collection.sampling.SamplingPolicy}.
+     *
+     * @param eachAnnotation The {@code @EachX} annotation being validated.
+     * @param size Size of the collection.
+     * @param sampled Number of the validated elements.
+     * @param invalidIndex Index of the invalid element, or -1 if all the
+     *                     validated elements are valid.
+     */
+    public void collectionSampled(Annotation eachAnnotation, int size, int sampled, int invalidIndex) {
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.util.Collection;
+
+/**
+ * An immutable set of strings that can be queried with any
+ * {@link CharSequence} without converting it to a {@code String}.
+ *
+ * <p>It's an open addressing hash table with linear probing, filled at most
+ * to a quarter of its capacity, so a lookup usually ends in the first slot.
+ * The hash codes of the strings are stored alongside them, so a slot is
+ * compared by content only if the hash codes are equal. The hash code of a
+ * {@code CharSequence} is the same as of a {@code String} with the same
+ * content, thus for a {@code String} it's usually already cached.</p>
+ */
+public final class CharSequenceHashSet {
+
+    private final String[] keys;
+
+    private final int[] hashes;
+
+    private final int mask;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+
+    public CharSequenceHashSet(Collection<String> strings) {
+        int capacity = Integer.highestOneBit(Math.max(strings.size(), 1) * 4 - 1) << 1;
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = -1;
+
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (String key : strings) {
+            int hash = key.hashCode();
+            int i = spread(hash) & mask;
+
+            while (keys[i] != null && !(hashes[i] == hash && keys[i].equals(key))) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            hashes[i] = hash;
+            minLength = Math.min(minLength, key.length());
+            maxLength = Math.max(maxLength, key.length());
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return Whether this set contains a string with the same content as
+     *         the given char sequence.
+     */
+    public boolean contains(CharSequence value) {
+        int length = value.length();
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        int hash = value instanceof String ? value.hashCode() : hashCode(value);
+
+        for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && contentEquals(keys[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Computes hash code of the given char sequence as {@link String#hashCode()}.
+     */
+    private static int hashCode(CharSequence value) {
+        int hash = 0;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(String key, CharSequence value) {
+        if (value instanceof String) {
+            return key.equals(value);
+        }
+        int length = key.length();
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
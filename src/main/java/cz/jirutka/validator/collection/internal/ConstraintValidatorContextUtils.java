@@ -27,27 +27,19 @@ import javax.validation.ConstraintValidatorContext;
 
 public abstract class ConstraintValidatorContextUtils {
 
-    private static final int HV_VERSION = HibernateValidatorInfo.getVersion();
-
     /**
      * Builds and adds a constraint violation inside an iterable value to the
      * given {@code ConstraintValidatorContext}. If running with Hibernate
      * Validator 5.x, then it also registers index of the violated value.
      *
+     * <p>When reporting violations repeatedly with the same message, prefer
+     * a {@link ViolationReporter} prepared in advance.</p>
+     *
      * @param context The Constraint validator context.
      * @param message The interpolated error message.
      * @param index Index of the invalid value inside a list (ignored on HV 4.x).
      */
     public static void addConstraintViolationInIterable(ConstraintValidatorContext context, String message, int index) {
-        if (HV_VERSION >= 5_0_0) {
-            context.buildConstraintViolationWithTemplate(message)
-                    .addBeanNode()
-                    .inIterable()
-                    .atIndex(index)
-                    .addConstraintViolation();
-        } else {
-            context.buildConstraintViolationWithTemplate(message)
-                    .addConstraintViolation();
-        }
+        ViolationReporter.create(message).report(context, index);
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.TypeVariable;
+
+public abstract class ConstraintValidatorUtils {
+
+    private static final ConstraintDescriptorFactory DESCRIPTOR_FACTORY = ConstraintDescriptorFactory.newInstance();
+
+
+    /**
+     * Returns type of the value that the given validator validates.
+     */
+    public static Class<?> determineTargetType(Class<? extends ConstraintValidator<?, ?>> validatorClass) {
+        TypeVariable<?> typeVar = ConstraintValidator.class.getTypeParameters()[1];
+        return TypeUtils.getRawType(typeVar, validatorClass);
+    }
+
+    /**
+     * Creates and initializes an instance of the validator that the Bean
+     * Validation provider uses for the given constraint and value type.
+     * It's used by validators that wraps the provider's validator.
+     *
+     * @param constraint The constraint to initialize validator with.
+     * @param type Type of the values to be validated.
+     * @return An initialized validator.
+     * @throws IllegalArgumentException if no validator for the given type is found.
+     */
+    @SuppressWarnings("unchecked")
+    public static <A extends Annotation, T> ConstraintValidator<A, T> createDefaultValidator(A constraint, Class<T> type) {
+
+        ConstraintDescriptor<A> descriptor = DESCRIPTOR_FACTORY.buildConstraintDescriptor(constraint);
+
+        for (Class<? extends ConstraintValidator<A, ?>> validatorClass : descriptor.getConstraintValidatorClasses()) {
+            if (determineTargetType(validatorClass).isAssignableFrom(type)) {
+                try {
+                    ConstraintValidator<A, T> validator = (ConstraintValidator<A, T>) validatorClass.newInstance();
+                    validator.initialize(constraint);
+
+                    return validator;
+
+                } catch (InstantiationException | IllegalAccessException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+        throw new IllegalArgumentException(String.format("No validator found for constraint %s and type %s",
+                constraint.annotationType().getName(), type.getName()));
+    }
+}
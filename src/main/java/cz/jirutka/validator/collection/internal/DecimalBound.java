@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import static cz.jirutka.validator.collection.internal.DecimalUtils.MAX_DIGITS;
+import static cz.jirutka.validator.collection.internal.DecimalUtils.scaleOf;
+import static cz.jirutka.validator.collection.internal.DecimalUtils.unscaledValueOf;
+
+/**
+ * Bound of the {@code DecimalMin} and {@code DecimalMax} constraints, parsed
+ * once at initialization. Values are compared with the bound exactly as if
+ * they were converted to {@link BigDecimal} the same way as Hibernate
+ * Validator does, but integral numbers, doubles and short decimal strings
+ * are compared using primitive arithmetic without any allocation.
+ *
+ * <p>This class is immutable.</p>
+ */
+public class DecimalBound {
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    // kinds of the bound at a scale
+    private static final byte EXACT = 0, FRACTION = 1, ABOVE = 2, BELOW = 3;
+
+    private final BigDecimal bound;
+
+    // floor(bound * 10^scale) for scale 0..MAX_DIGITS
+    private final long[] floors = new long[MAX_DIGITS + 1];
+
+    private final byte[] kinds = new byte[MAX_DIGITS + 1];
+
+    private final double boundAsDouble;
+
+    // whether doubles can be compared with boundAsDouble directly
+    private final boolean doubleComparable;
+
+
+    /**
+     * @param bound The string representation of the bound according to the
+     *              {@code BigDecimal} string representation.
+     * @throws IllegalArgumentException if the bound cannot be parsed.
+     */
+    public DecimalBound(String bound) {
+        try {
+            this.bound = new BigDecimal(bound);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(bound + " does not represent a valid BigDecimal format.", ex);
+        }
+        for (int scale = 0; scale <= MAX_DIGITS; scale++) {
+            BigDecimal scaled = this.bound.movePointRight(scale);
+
+            if (scaled.compareTo(LONG_MAX) > 0) {
+                kinds[scale] = ABOVE;
+            } else if (scaled.compareTo(LONG_MIN) < 0) {
+                kinds[scale] = BELOW;
+            } else {
+                BigDecimal floor = scaled.setScale(0, RoundingMode.FLOOR);
+                floors[scale] = floor.longValue();
+                kinds[scale] = floor.compareTo(scaled) == 0 ? EXACT : FRACTION;
+            }
+        }
+        // BigDecimal.valueOf(double) is the shortest decimal that uniquely
+        // distinguishes the double, so ordering of doubles is preserved when
+        // the bound itself converts to and from double without loss.
+        this.boundAsDouble = this.bound.doubleValue();
+        this.doubleComparable = !Double.isInfinite(boundAsDouble)
+                && BigDecimal.valueOf(boundAsDouble).compareTo(this.bound) == 0;
+    }
+
+
+    /**
+     * Compares the given number with the bound. NaN and infinite values must
+     * be handled by the caller.
+     *
+     * @return -1, 0, or 1 as the value is less than, equal to, or greater
+     *         than the bound.
+     */
+    public int compareTo(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return compareTo(value.longValue(), 0);
+        }
+        if ((value instanceof Double || value instanceof Float) && doubleComparable) {
+            double number = value.doubleValue();
+            return number < boundAsDouble ? -1 : number > boundAsDouble ? 1 : 0;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(bound);
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value).compareTo(bound);
+        }
+        return BigDecimal.valueOf(value.doubleValue()).compareTo(bound);
+    }
+
+    /**
+     * Compares the given decimal number with the bound.
+     *
+     * @return -1, 0, or 1 as the value is less than, equal to, or greater
+     *         than the bound.
+     * @throws NumberFormatException if the value is not a valid
+     *         representation of {@code BigDecimal}.
+     */
+    public int compareTo(CharSequence value) {
+        int scale = scaleOf(value);
+
+        if (scale >= 0) {
+            return compareTo(unscaledValueOf(value), scale);
+        }
+        return new BigDecimal(value.toString()).compareTo(bound);
+    }
+
+
+    private int compareTo(long unscaled, int scale) {
+        switch (kinds[scale]) {
+            case ABOVE: return -1;
+            case BELOW: return 1;
+        }
+        long floor = floors[scale];
+
+        if (unscaled != floor) {
+            return unscaled < floor ? -1 : 1;
+        }
+        // bound is either equal to floor, or between floor and floor + 1
+        return kinds[scale] == EXACT ? 0 : -1;
+    }
+}
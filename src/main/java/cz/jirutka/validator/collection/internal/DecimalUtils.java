@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+/**
+ * Allocation-free parsing of short decimal numbers in the format accepted by
+ * {@link java.math.BigDecimal#BigDecimal(String) BigDecimal(String)}, but
+ * without an exponent and with at most {@link #MAX_DIGITS} ASCII digits.
+ * Anything else is left for {@code BigDecimal}.
+ */
+public abstract class DecimalUtils {
+
+    /**
+     * Maximal number of digits that always fits into {@code long}.
+     */
+    public static final int MAX_DIGITS = 18;
+
+
+    /**
+     * Returns scale (i.e. number of digits after the decimal point) of the
+     * given decimal number, or -1 if it's not a short decimal number that
+     * can be parsed by {@link #unscaledValueOf(CharSequence)}.
+     */
+    public static int scaleOf(CharSequence value) {
+        int length = value.length();
+        int start = 0;
+
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            start = 1;
+        }
+        int digits = 0;
+        int point = -1;
+
+        for (int i = start; i < length; i++) {
+            char ch = value.charAt(i);
+
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+            } else if (ch == '.' && point == -1) {
+                point = i;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || digits > MAX_DIGITS) {
+            return -1;
+        }
+        return point == -1 ? 0 : length - point - 1;
+    }
+
+    /**
+     * Returns the given decimal number without the decimal point as
+     * {@code long}. The value must be checked by {@link #scaleOf(CharSequence)}
+     * first.
+     */
+    public static long unscaledValueOf(CharSequence value) {
+        int length = value.length();
+        boolean negative = value.charAt(0) == '-';
+        long result = 0;
+
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+
+            if (ch >= '0' && ch <= '9') {
+                result = result * 10 + (ch - '0');
+            }
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Returns number of decimal digits of the given number without leading
+     * zeros; 1 for zero. This is the same as {@code BigDecimal#precision()}
+     * of the number.
+     */
+    public static int precision(long value) {
+        int digits = 0;
+
+        // works for negative numbers as well, including Long.MIN_VALUE
+        while (value != 0) {
+            value /= 10;
+            digits++;
+        }
+        return Math.max(digits, 1);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ValidationException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * {@link ConstraintValidatorContext} for validators that are invoked outside
+ * of a validation by the Bean Validation provider. All the violations built
+ * in it are discarded, it just allows the validators to use the context.
+ * It's implemented by a dynamic proxy, so it works with any version of the
+ * Bean Validation API.
+ */
+public final class DetachedValidatorContext implements InvocationHandler {
+
+    private static final ConstraintValidatorContext INSTANCE = proxy(ConstraintValidatorContext.class);
+
+
+    private DetachedValidatorContext() {
+    }
+
+    /**
+     * @return A stateless context that discards all the violations.
+     */
+    public static ConstraintValidatorContext getInstance() {
+        return INSTANCE;
+    }
+
+
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Class<?> type = method.getReturnType();
+
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return DetachedValidatorContext.class.getSimpleName();
+            case "unwrap":
+                throw new ValidationException("Type " + args[0] + " is not supported");
+        }
+        if (type == boolean.class) {
+            return false;
+        } else if (type == String.class) {
+            return "";
+        } else if (type.isInterface()) {
+            return proxy(type);  // fluent builders
+        }
+        return null;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{ type }, new DetachedValidatorContext());
+    }
+}
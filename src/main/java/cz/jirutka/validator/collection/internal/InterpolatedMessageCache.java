@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.util.Locale;
+
+/**
+ * Bounded cache of interpolated messages with the least recently used
+ * eviction policy. Messages are keyed by the message interpolator context
+ * (i.e. constraint descriptor and validated value) and locale.
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class InterpolatedMessageCache {
+
+    private final LruCache<Key, String> cache;
+
+
+    /**
+     * @param maxSize The maximum number of messages to keep in the cache.
+     */
+    public InterpolatedMessageCache(int maxSize) {
+        this.cache = new LruCache<>(maxSize);
+    }
+
+
+    /**
+     * @return A cached message, or <tt>null</tt> if there's no such message.
+     */
+    public String get(MessageInterpolatorContext context, Locale locale) {
+        return cache.get(new Key(context, locale));
+    }
+
+    public void put(MessageInterpolatorContext context, Locale locale, String message) {
+        cache.put(new Key(context, locale), message);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+
+    private static final class Key {
+
+        private final MessageInterpolatorContext context;
+        private final Locale locale;
+
+        Key(MessageInterpolatorContext context, Locale locale) {
+            this.context = context;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return context.equals(other.context) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * context.hashCode() + locale.hashCode();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+/**
+ * A set of primitive {@code long}s that doesn't box them. It's an open
+ * addressing hash table with linear probing, filled at most to a half of its
+ * capacity. Zero is used as the empty slot marker, so it's tracked separately.
+ */
+public final class LongHashSet {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+
+    private int shift;
+
+    private int size;
+
+    private boolean containsZero;
+
+
+    /**
+     * @param expectedSize The expected number of elements; the set grows
+     *                     when it's exceeded.
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.min(Math.max(expectedSize, 2), 1 << 28) * 2 - 1) << 1);
+    }
+
+    /**
+     * Adds the given value into this set.
+     *
+     * @return {@code true} if this set did not already contain the value.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = keys.length - 1;
+
+        for (int i = indexFor(value); ; i = (i + 1) & mask) {
+            long key = keys[i];
+            if (key == value) {
+                return false;
+            }
+            if (key == 0) {
+                keys[i] = value;
+                if (++size * 2 > keys.length) {
+                    rehash();
+                }
+                return true;
+            }
+        }
+    }
+
+
+    private int indexFor(long value) {
+        // Fibonacci hashing, the high bits of the product are well mixed
+        return (int) ((value * PHI) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int i = indexFor(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simple bounded cache with the least recently used eviction policy.
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of values.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> cache;
+
+
+    /**
+     * @param maxSize The maximum number of entries to keep in the cache.
+     */
+    public LruCache(final int maxSize) {
+        this.cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+
+    /**
+     * @return A cached value, or <tt>null</tt> if there's no such entry.
+     */
+    public V get(K key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (cache) {
+            cache.put(key, value);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
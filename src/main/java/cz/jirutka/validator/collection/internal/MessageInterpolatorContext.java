@@ -23,12 +23,17 @@
  */
 package cz.jirutka.validator.collection.internal;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 import javax.validation.MessageInterpolator;
 import javax.validation.metadata.ConstraintDescriptor;
+import java.util.Objects;
 
+/**
+ * Simple implementation of {@link MessageInterpolator.Context}.
+ *
+ * <p>Two contexts are equal when they refer to the same instance of the
+ * constraint descriptor and equal validated values, so the context can be
+ * used as (a part of) a cache key.</p>
+ */
 public class MessageInterpolatorContext implements MessageInterpolator.Context {
 
     private final ConstraintDescriptor<?> constraintDescriptor;
@@ -56,13 +61,21 @@ public class MessageInterpolatorContext implements MessageInterpolator.Context {
 
     @Override
     public boolean equals(Object obj) {
-        // this is normally not called, so use just brief reflection method
-        return EqualsBuilder.reflectionEquals(this, obj);
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MessageInterpolatorContext)) {
+            return false;
+        }
+        MessageInterpolatorContext other = (MessageInterpolatorContext) obj;
+
+        // descriptors are created once per constraint, so identity is enough
+        return constraintDescriptor == other.constraintDescriptor
+                && Objects.equals(validatedValue, other.validatedValue);
     }
 
     @Override
     public int hashCode() {
-        // this is normally not called, so use just brief reflection method
-        return HashCodeBuilder.reflectionHashCode(this);
+        return 31 * System.identityHashCode(constraintDescriptor) + Objects.hashCode(validatedValue);
     }
 }
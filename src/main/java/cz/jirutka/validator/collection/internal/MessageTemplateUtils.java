@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public abstract class MessageTemplateUtils {
+
+    private static final String VALIDATED_VALUE = "validatedValue";
+
+    // the same bundles (and order) as used by the Hibernate Validator's interpolator
+    private static final String[] BUNDLES = {
+            "ValidationMessages",
+            "ContributorValidationMessages",
+            "org.hibernate.validator.ValidationMessages"
+    };
+
+    private static final Pattern MESSAGE_PARAMETER = Pattern.compile("(?<!\\\\)\\{([^{}$]+)\\}");
+
+    private static final int MAX_RECURSION_DEPTH = 8;
+
+
+    /**
+     * Whether the given message template refers to the validated value, i.e.
+     * whether the interpolated message may differ for different values. Message
+     * parameters are resolved from the validation message bundles in the same
+     * way as the default message interpolator does. A parameter that is
+     * neither found in the bundles, nor is an attribute of the constraint, is
+     * considered to refer to the validated value.
+     *
+     * @param template The message template to analyse.
+     * @param attributeNames Names of the constraint's attributes.
+     * @param locale The locale to resolve message bundles for.
+     */
+    public static boolean referencesValidatedValue(String template, Collection<String> attributeNames, Locale locale) {
+        return referencesValidatedValue(template, attributeNames, locale, 0);
+    }
+
+
+    private static boolean referencesValidatedValue(String template, Collection<String> attributeNames,
+                                                    Locale locale, int depth) {
+
+        if (template.contains(VALIDATED_VALUE)) {
+            return true;
+        }
+        if (depth >= MAX_RECURSION_DEPTH) {
+            return true;  // give up, better safe than sorry
+        }
+        Matcher matcher = MESSAGE_PARAMETER.matcher(template);
+
+        while (matcher.find()) {
+            String parameter = matcher.group(1);
+
+            // EL expression can refer to the value only by its name, checked above
+            if (attributeNames.contains(parameter) || isExpression(template, matcher.start())) {
+                continue;
+            }
+            String message = resolveMessage(parameter, locale);
+
+            // unknown parameter may be resolved by a custom bundle locator to anything
+            if (message == null || referencesValidatedValue(message, attributeNames, locale, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExpression(String template, int braceIndex) {
+        return braceIndex > 0 && template.charAt(braceIndex - 1) == '$';
+    }
+
+    private static String resolveMessage(String key, Locale locale) {
+
+        for (String bundleName : BUNDLES) {
+            ResourceBundle bundle = loadBundle(bundleName, locale);
+
+            if (bundle != null && bundle.containsKey(key)) {
+                return bundle.getString(key);
+            }
+        }
+        return null;
+    }
+
+    private static ResourceBundle loadBundle(String name, Locale locale) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        if (classLoader == null) {
+            classLoader = MessageTemplateUtils.class.getClassLoader();
+        }
+        try {
+            return ResourceBundle.getBundle(name, locale, classLoader);
+
+        } catch (MissingResourceException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+/**
+ * A minimal set of objects that, unlike {@link java.util.HashSet}, doesn't
+ * allocate an entry for each element. It's an open addressing hash table
+ * with linear probing, filled at most to a half of its capacity; hash codes
+ * of the elements are stored alongside them, so {@code equals} is called only
+ * when the hash codes are equal.
+ */
+public final class ObjectHashSet {
+
+    private Object[] keys;
+
+    private int[] hashes;
+
+    private int size;
+
+
+    /**
+     * @param expectedSize The expected number of elements; the set grows
+     *                     when it's exceeded.
+     */
+    public ObjectHashSet(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.min(Math.max(expectedSize, 2), 1 << 28) * 2 - 1) << 1);
+    }
+
+    /**
+     * Adds the given value into this set.
+     *
+     * @param value The value to add, must not be {@code null}.
+     * @return {@code true} if this set did not already contain the value.
+     */
+    public boolean add(Object value) {
+        int hash = value.hashCode();
+        int mask = keys.length - 1;
+
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            Object key = keys[i];
+            if (key == null) {
+                keys[i] = value;
+                hashes[i] = hash;
+                if (++size * 2 > keys.length) {
+                    rehash();
+                }
+                return true;
+            }
+            if (hashes[i] == hash && (key == value || key.equals(value))) {
+                return false;
+            }
+        }
+    }
+
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    private void rehash() {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = spread(oldHashes[j]) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import javax.script.*;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pool of JSR 223 script engines for a single script language. Each engine
+ * is used only by one thread at a time and keeps its own cache of compiled
+ * scripts (if the engine is {@link Compilable}), so concurrent evaluations
+ * neither block each other, nor compile the same script again.
+ *
+ * <p>The pool is bounded by the total number of engines; engines are created
+ * lazily up to this limit and never discarded. When all of them are in use,
+ * the calling thread waits until one is released. Each evaluation gets
+ * fresh bindings, so global variables of a script don't leak into the
+ * next evaluation.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class ScriptEnginePool {
+
+    private static final int DEFAULT_MAX_ENGINES = Runtime.getRuntime().availableProcessors();
+
+    // weak keys and values, so the map doesn't pin the class loaders, nor the pools
+    private static final Map<ClassLoader, Map<String, WeakReference<ScriptEnginePool>>> POOLS = new WeakHashMap<>(2);
+
+    private final String languageName;
+
+    private final ClassLoader classLoader;
+
+    private final Queue<PooledEngine> idle = new ConcurrentLinkedQueue<>();
+
+    // one permit for each engine that may be borrowed
+    private final Semaphore permits;
+
+
+    /**
+     * Creates a pool of engines looked up in the current thread's context
+     * class loader.
+     *
+     * @param languageName The name of the script language as expected by the
+     *                     {@link ScriptEngineManager}.
+     * @param maxEngines The maximum number of engines to create.
+     * @throws IllegalArgumentException if {@code maxEngines} is not positive.
+     */
+    public ScriptEnginePool(String languageName, int maxEngines) {
+        this(languageName, maxEngines, contextClassLoader());
+    }
+
+    /**
+     * @param languageName The name of the script language as expected by the
+     *                     {@link ScriptEngineManager}.
+     * @param maxEngines The maximum number of engines to create.
+     * @param classLoader The class loader to look up the engines in, before
+     *                    the class loader of this class.
+     * @throws IllegalArgumentException if {@code maxEngines} is not positive.
+     */
+    public ScriptEnginePool(String languageName, int maxEngines, ClassLoader classLoader) {
+        if (maxEngines < 1) {
+            throw new IllegalArgumentException("maxEngines must be positive");
+        }
+        this.languageName = languageName;
+        this.classLoader = classLoader;
+        this.permits = new Semaphore(maxEngines);
+    }
+
+    /**
+     * Returns a pool for the specified script language shared by the callers
+     * with the same context class loader. The pool is held only weakly, so
+     * it's discarded when no longer used by anyone.
+     *
+     * @param languageName The name of the script language.
+     */
+    public static ScriptEnginePool forLanguage(String languageName) {
+        ClassLoader classLoader = contextClassLoader();
+
+        synchronized (POOLS) {
+            Map<String, WeakReference<ScriptEnginePool>> pools = POOLS.get(classLoader);
+            if (pools == null) {
+                pools = new HashMap<>(2);
+                POOLS.put(classLoader, pools);
+            }
+            WeakReference<ScriptEnginePool> ref = pools.get(languageName);
+            ScriptEnginePool pool = ref != null ? ref.get() : null;
+
+            if (pool == null) {
+                pool = new ScriptEnginePool(languageName, DEFAULT_MAX_ENGINES, classLoader);
+                pools.put(languageName, new WeakReference<>(pool));
+            }
+            return pool;
+        }
+    }
+
+
+    /**
+     * Evaluates the script with the given value bound under the given name.
+     *
+     * @param script The script to evaluate.
+     * @param bindingName The name to bind the value under.
+     * @param bindingValue The value to bind.
+     * @return A result of the script.
+     * @throws ScriptException if an error occurred during evaluation.
+     * @throws IllegalStateException if no engine for the language is found.
+     */
+    public Object evaluate(String script, String bindingName, Object bindingValue) throws ScriptException {
+        PooledEngine engine = borrow();
+        try {
+            return engine.evaluate(script, bindingName, bindingValue);
+        } finally {
+            release(engine);
+        }
+    }
+
+    public String getLanguageName() {
+        return languageName;
+    }
+
+
+    private PooledEngine borrow() {
+        permits.acquireUninterruptibly();
+
+        // a permit guarantees that an idle engine exists, or can be created
+        PooledEngine engine = idle.poll();
+        if (engine != null) {
+            return engine;
+        }
+        try {
+            return new PooledEngine(createEngine());
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void release(PooledEngine engine) {
+        idle.offer(engine);
+        permits.release();
+    }
+
+    private ScriptEngine createEngine() {
+        ScriptEngine engine = null;
+
+        if (classLoader != null) {
+            engine = new ScriptEngineManager(classLoader).getEngineByName(languageName);
+        }
+        if (engine == null) {
+            engine = new ScriptEngineManager(ScriptEnginePool.class.getClassLoader()).getEngineByName(languageName);
+        }
+        if (engine == null) {
+            throw new IllegalStateException("No JSR 223 script engine found for language: " + languageName);
+        }
+        return engine;
+    }
+
+    private static ClassLoader contextClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ScriptEnginePool.class.getClassLoader();
+    }
+
+
+    private static final class PooledEngine {
+
+        private final ScriptEngine engine;
+
+        // accessed only by the thread that borrowed this engine
+        private final Map<String, CompiledScript> compiledScripts = new HashMap<>(4);
+
+        PooledEngine(ScriptEngine engine) {
+            this.engine = engine;
+        }
+
+        Object evaluate(String script, String bindingName, Object bindingValue) throws ScriptException {
+            CompiledScript compiled = compile(script);
+
+            // fresh bindings, so the script's global variables don't leak into the next evaluation
+            Bindings bindings = engine.createBindings();
+            bindings.put(bindingName, bindingValue);
+
+            return compiled != null ? compiled.eval(bindings) : engine.eval(script, bindings);
+        }
+
+        private CompiledScript compile(String script) throws ScriptException {
+            if (!(engine instanceof Compilable)) {
+                return null;
+            }
+            CompiledScript compiled = compiledScripts.get(script);
+
+            if (compiled == null) {
+                compiled = ((Compilable) engine).compile(script);
+                compiledScripts.put(script, compiled);
+            }
+            return compiled;
+        }
+    }
+}
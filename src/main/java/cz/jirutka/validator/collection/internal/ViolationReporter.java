@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Reporter of constraint violations of values inside an iterable. It's
+ * prepared once per constraint; the message template and the strategy for
+ * building a property path (which depends on the Hibernate Validator version)
+ * are resolved when the reporter is created, not for every violation.
+ *
+ * <p>The message template is passed to the context as is, so it's
+ * interpolated by the Bean Validation provider only when the constraint
+ * violation is actually created.</p>
+ */
+public abstract class ViolationReporter {
+
+    private static final int HV_VERSION = HibernateValidatorInfo.getVersion();
+
+    private final String messageTemplate;
+
+
+    private ViolationReporter(String messageTemplate) {
+        this.messageTemplate = messageTemplate;
+    }
+
+    /**
+     * Creates a new reporter for the version of Hibernate Validator detected
+     * on classpath.
+     *
+     * @param messageTemplate The message template to report violations with.
+     */
+    public static ViolationReporter create(String messageTemplate) {
+
+        if (HV_VERSION >= 5_0_0) {
+            return new ViolationReporter(messageTemplate) {
+                public void report(ConstraintValidatorContext context, String message, int index) {
+                    context.buildConstraintViolationWithTemplate(message)
+                            .addBeanNode()
+                            .inIterable()
+                            .atIndex(index)
+                            .addConstraintViolation();
+                }
+            };
+        } else {
+            return new ViolationReporter(messageTemplate) {
+                public void report(ConstraintValidatorContext context, String message, int index) {
+                    context.buildConstraintViolationWithTemplate(message)
+                            .addConstraintViolation();
+                }
+            };
+        }
+    }
+
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    /**
+     * Builds and adds a constraint violation with the prepared message
+     * template to the given context.
+     *
+     * @param context The Constraint validator context.
+     * @param index Index of the invalid value inside an iterable (ignored on HV 4.x).
+     */
+    public void report(ConstraintValidatorContext context, int index) {
+        report(context, messageTemplate, index);
+    }
+
+    /**
+     * Builds and adds a constraint violation with the given message to the
+     * given context.
+     *
+     * @param context The Constraint validator context.
+     * @param message The message (template) to use instead of the prepared one.
+     * @param index Index of the invalid value inside an iterable (ignored on HV 4.x).
+     */
+    public abstract void report(ConstraintValidatorContext context, String message, int index);
+}
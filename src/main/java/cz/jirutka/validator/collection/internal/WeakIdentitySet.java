@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe set of objects that compares them by identity and holds them
+ * weakly, i.e. an object is removed from the set after it's garbage
+ * collected. Unlike {@link java.util.WeakHashMap}, it never calls
+ * {@code hashCode()} or {@code equals()} of the objects.
+ */
+public final class WeakIdentitySet<T> {
+
+    private final Map<Key, Boolean> map = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+
+    public boolean contains(T object) {
+        return map.containsKey(new LookupKey(object));
+    }
+
+    public void add(T object) {
+        expungeStale();
+        map.put(new WeakKey<>(object, queue), Boolean.TRUE);
+    }
+
+    /**
+     * Returns the number of objects in the set, including the ones that have
+     * been garbage collected, but not expunged yet.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    private void expungeStale() {
+        for (Object ref; (ref = queue.poll()) != null; ) {
+            map.remove(ref);
+        }
+    }
+
+
+    //////// Inner classes ////////
+
+    private interface Key {
+        Object get();
+    }
+
+    private static final class WeakKey<T> extends WeakReference<T> implements Key {
+
+        private final int hash;
+
+        WeakKey(T referent, ReferenceQueue<T> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            Object referent = get();
+            return referent != null && obj instanceof Key && ((Key) obj).get() == referent;
+        }
+    }
+
+    private static final class LookupKey implements Key {
+
+        private final Object referent;
+
+        LookupKey(Object referent) {
+            this.referent = referent;
+        }
+
+        public Object get() {
+            return referent;
+        }
+
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).get() == referent;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex;
+
+/**
+ * A set of code points matched by a single step of a regular expression,
+ * i.e. a literal character, a character class or a dot. The case
+ * insensitive variants follow the rules of {@link java.util.regex.Pattern}
+ * for ASCII-only case folding.
+ */
+abstract class CharPredicate {
+
+    static final CharPredicate ANY = new CharPredicate() {
+        boolean matches(int cp) {
+            return true;
+        }
+    };
+
+    /** {@code .} without DOTALL */
+    static final CharPredicate DOT = new CharPredicate() {
+        boolean matches(int cp) {
+            return cp != '\n' && cp != '\r' && (cp | 1) != 0x2029 && cp != 0x85;
+        }
+    };
+
+    /** {@code .} without DOTALL, with UNIX_LINES */
+    static final CharPredicate UNIX_DOT = new CharPredicate() {
+        boolean matches(int cp) {
+            return cp != '\n';
+        }
+    };
+
+    /** {@code \d} */
+    static final CharPredicate DIGIT = range('0', '9', false);
+
+    /** {@code \w} */
+    static final CharPredicate WORD = new CharPredicate() {
+        boolean matches(int cp) {
+            return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') || (cp >= '0' && cp <= '9') || cp == '_';
+        }
+        boolean isBmpOnly() {
+            return true;
+        }
+    };
+
+    /** {@code \s} */
+    static final CharPredicate SPACE = new CharPredicate() {
+        boolean matches(int cp) {
+            return cp == ' ' || (cp >= '\t' && cp <= '\r');
+        }
+        boolean isBmpOnly() {
+            return true;
+        }
+    };
+
+
+    abstract boolean matches(int cp);
+
+    /**
+     * @return The only code point matched by this predicate, or -1 if it
+     *         matches none or more than one.
+     */
+    int singleCodePoint() {
+        return -1;
+    }
+
+    /**
+     * @return Whether this predicate matches only characters from the Basic
+     *         Multilingual Plane, i.e. a single {@code char}.
+     */
+    boolean isBmpOnly() {
+        return false;
+    }
+
+
+    static CharPredicate single(final int cp, boolean caseInsensitive) {
+        if (caseInsensitive && isAsciiLetter(cp)) {
+            return range(cp, cp, true);
+        }
+        return new CharPredicate() {
+            boolean matches(int other) {
+                return other == cp;
+            }
+            int singleCodePoint() {
+                return cp;
+            }
+            boolean isBmpOnly() {
+                return Character.isBmpCodePoint(cp);
+            }
+        };
+    }
+
+    static CharPredicate range(final int lower, final int upper, boolean caseInsensitive) {
+        if (caseInsensitive) {
+            return new CharPredicate() {
+                boolean matches(int cp) {
+                    return inRange(cp, lower, upper)
+                            || cp < 0x80 && (inRange(toUpper(cp), lower, upper) || inRange(toLower(cp), lower, upper));
+                }
+                boolean isBmpOnly() {
+                    return Character.isBmpCodePoint(upper);
+                }
+            };
+        }
+        return new CharPredicate() {
+            boolean matches(int cp) {
+                return inRange(cp, lower, upper);
+            }
+            boolean isBmpOnly() {
+                return Character.isBmpCodePoint(upper);
+            }
+        };
+    }
+
+    static CharPredicate not(final CharPredicate predicate) {
+        return new CharPredicate() {
+            boolean matches(int cp) {
+                return !predicate.matches(cp);
+            }
+        };
+    }
+
+    static CharPredicate union(final CharPredicate[] predicates) {
+        if (predicates.length == 1) {
+            return predicates[0];
+        }
+        return new CharPredicate() {
+            boolean matches(int cp) {
+                for (CharPredicate predicate : predicates) {
+                    if (predicate.matches(cp)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            boolean isBmpOnly() {
+                for (CharPredicate predicate : predicates) {
+                    if (!predicate.isBmpOnly()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+
+    private static boolean inRange(int cp, int lower, int upper) {
+        return cp >= lower && cp <= upper;
+    }
+
+    private static boolean isAsciiLetter(int cp) {
+        return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z');
+    }
+
+    private static int toUpper(int cp) {
+        return cp >= 'a' && cp <= 'z' ? cp - 0x20 : cp;
+    }
+
+    private static int toLower(int cp) {
+        return cp >= 'A' && cp <= 'Z' ? cp + 0x20 : cp;
+    }
+}
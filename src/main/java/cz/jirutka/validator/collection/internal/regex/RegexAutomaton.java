@@ -0,0 +1,546 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex;
+
+import cz.jirutka.validator.collection.internal.regex.RegexNode.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finite automaton that matches an input against one or more regular
+ * expressions at once, in time linear to the length of the input. It gives
+ * the same results as {@link java.util.regex.Matcher#matches()}, but
+ * supports only a subset of the {@link java.util.regex.Pattern} syntax, see
+ * {@link RegexParser}.
+ *
+ * <p>The expressions are compiled into a single Thompson's NFA that is
+ * lazily converted into a DFA while matching, so every character of the
+ * input is read just once, regardless of the number of the expressions.
+ * The DFA states are cached per thread, up to {@link #MAX_DFA_STATES}; when
+ * the cache is full, it's flushed and built again.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public final class RegexAutomaton {
+
+    /**
+     * The maximum number of regular expressions that can be combined into
+     * one automaton.
+     */
+    public static final int MAX_REGEXPS = 64;
+
+    static final int MAX_NFA_STATES = 10000;
+
+    static final int MAX_DFA_STATES = 1000;
+
+    // NFA state types
+    private static final byte CHAR = 0, SPLIT = 1, ASSERT = 2, MATCH = 3;
+
+    private final int regexpsCount;
+
+    private final Nfa nfa;
+
+    // Dfa must not refer to this object, otherwise it would never be removed
+    // from the ThreadLocalMap of a long-living thread.
+    private final ThreadLocal<Dfa> dfa = new ThreadLocal<Dfa>() {
+        protected Dfa initialValue() {
+            return new Dfa(nfa);
+        }
+    };
+
+
+    private RegexAutomaton(Nfa nfa, int regexpsCount) {
+        this.nfa = nfa;
+        this.regexpsCount = regexpsCount;
+    }
+
+    /**
+     * Compiles the given regular expressions into an automaton.
+     *
+     * @param regexps The regular expressions, already validated by
+     *                {@link java.util.regex.Pattern#compile(String, int)}.
+     * @param flags Match flags of {@link java.util.regex.Pattern}.
+     * @throws UnsupportedRegexException if any of the expressions uses an
+     *         unsupported construct, or the expressions are too complex.
+     */
+    public static RegexAutomaton compile(List<String> regexps, int flags) {
+        if (regexps.isEmpty() || regexps.size() > MAX_REGEXPS) {
+            throw new IllegalArgumentException("Expected 1 to " + MAX_REGEXPS + " regexps, got: " + regexps.size());
+        }
+        Builder builder = new Builder();
+        int start = -1;
+
+        for (int i = regexps.size() - 1; i >= 0; i--) {
+            String regexp = regexps.get(i);
+            RegexNode node = RegexParser.parse(regexp, flags);
+
+            builder.owner = i;
+            builder.regexp = regexp;
+            int regexpStart = builder.compile(node, builder.add(MATCH, -1, -1));
+
+            start = start < 0 ? regexpStart : builder.add(SPLIT, regexpStart, start);
+        }
+        return new RegexAutomaton(new Nfa(builder, start), regexps.size());
+    }
+
+
+    /**
+     * @return Whether the input matches all the regular expressions.
+     */
+    public boolean matchesAll(CharSequence input) {
+        long all = regexpsCount == 64 ? -1L : (1L << regexpsCount) - 1;
+        return run(input, all) == all;
+    }
+
+    /**
+     * @return Whether the input matches at least one of the regular expressions.
+     */
+    public boolean matchesAny(CharSequence input) {
+        return run(input, 0L) != 0L;
+    }
+
+    /**
+     * Runs the automaton on the input.
+     *
+     * @param required Mask of the expressions that must be matched, or 0 if
+     *                 at least one is required. It's used to stop early.
+     * @return Mask of the matched expressions.
+     */
+    private long run(CharSequence input, long required) {
+        Dfa dfa = this.dfa.get();
+        int length = input.length();
+        int pos = 0;
+
+        // The DFA can be used only for positions where no anchor can hold, i.e.
+        // after the start and before the last two characters (see Anchor),
+        // or for the whole input if there are no anchors.
+        int dfaLimit = nfa.hasAnchors ? length - 2 : Integer.MAX_VALUE;
+        StateSet current = dfa.current;
+
+        if (dfaLimit > 0) {
+            DfaState state = dfa.startState(input);
+
+            for (;;) {
+                if (pos == length) {
+                    return state.matchedMask;  // only without anchors
+                }
+                if (!isAlive(state.liveMask, required)) {
+                    return 0L;
+                }
+                int cp = Character.codePointAt(input, pos);
+                int next = pos + Character.charCount(cp);
+
+                if (next >= dfaLimit) {
+                    current.load(state.states);
+                    break;
+                }
+                state = dfa.transition(state, cp);
+                pos = next;
+            }
+        } else {
+            current.clear();
+            dfa.addState(current, nfa.start, input, 0);
+        }
+
+        while (pos < length) {
+            if (!isAlive(nfa.liveMask(current), required)) {
+                return 0L;
+            }
+            int cp = Character.codePointAt(input, pos);
+            pos += Character.charCount(cp);
+
+            dfa.step(current, cp, input, pos);
+        }
+        return nfa.matchedMask(current);
+    }
+
+    private static boolean isAlive(long liveMask, long required) {
+        return required == 0L ? liveMask != 0L : (liveMask & required) == required;
+    }
+
+
+    /**
+     * Thompson's NFA of the combined regular expressions, indexed by state.
+     */
+    private static final class Nfa {
+
+        final byte[] types;
+        final int[] out1;
+        final int[] out2;
+        final CharPredicate[] predicates;
+        final Anchor[] anchors;
+        final int[] owners;
+        final int start;
+        final boolean hasAnchors;
+
+        Nfa(Builder builder, int start) {
+            int size = builder.size;
+            this.types = Arrays.copyOf(builder.types, size);
+            this.out1 = Arrays.copyOf(builder.out1, size);
+            this.out2 = Arrays.copyOf(builder.out2, size);
+            this.predicates = Arrays.copyOf(builder.predicates, size);
+            this.anchors = Arrays.copyOf(builder.anchors, size);
+            this.owners = Arrays.copyOf(builder.owners, size);
+            this.start = start;
+
+            boolean hasAnchors = false;
+            for (byte type : types) {
+                hasAnchors |= type == ASSERT;
+            }
+            this.hasAnchors = hasAnchors;
+        }
+
+        /**
+         * @return Mask of the expressions that have a state in the set that
+         *         can consume a character.
+         */
+        long liveMask(StateSet set) {
+            return ownersMask(set, CHAR);
+        }
+
+        /**
+         * @return Mask of the expressions that have the final state in the set.
+         */
+        long matchedMask(StateSet set) {
+            return ownersMask(set, MATCH);
+        }
+
+        private long ownersMask(StateSet set, byte type) {
+            long mask = 0L;
+            for (int i = 0; i < set.size; i++) {
+                if (types[set.dense[i]] == type) {
+                    mask |= 1L << owners[set.dense[i]];
+                }
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Lazily built DFA, private to a thread.
+     */
+    private static final class Dfa {
+
+        private final Nfa nfa;
+        private final Map<IntArray, DfaState> states = new HashMap<>();
+        private final StateSet current;
+        private final StateSet next;
+        private final int[] stack;
+
+        private DfaState startState;
+
+
+        Dfa(Nfa nfa) {
+            int size = nfa.types.length;
+            this.nfa = nfa;
+            this.current = new StateSet(size);
+            this.next = new StateSet(size);
+            this.stack = new int[size * 2 + 1];
+        }
+
+
+        DfaState startState(CharSequence input) {
+            if (startState == null) {
+                next.clear();
+                addState(next, nfa.start, input, 0);
+                startState = toDfaState(next);
+            }
+            return startState;
+        }
+
+        DfaState transition(DfaState state, int cp) {
+            DfaState target = cp < 0x80 ? state.ascii[cp] : state.other != null ? state.other.get(cp) : null;
+
+            if (target == null) {
+                if (states.size() >= MAX_DFA_STATES) {
+                    states.clear();
+                    startState = null;
+                }
+                next.load(state.states);
+                step(next, cp, null, -1);
+                target = toDfaState(next);
+
+                if (cp < 0x80) {
+                    state.ascii[cp] = target;
+                } else {
+                    if (state.other == null) {
+                        state.other = new HashMap<>();
+                    }
+                    state.other.put(cp, target);
+                }
+            }
+            return target;
+        }
+
+        /**
+         * Advances the set over the code point.
+         *
+         * @param input The input for evaluating anchors, or null if no anchor
+         *              holds at the position.
+         * @param pos The position after the code point.
+         */
+        void step(StateSet set, int cp, CharSequence input, int pos) {
+            StateSet result = set == current ? next : current;
+            result.clear();
+
+            for (int i = 0; i < set.size; i++) {
+                int s = set.dense[i];
+                if (nfa.types[s] == CHAR && nfa.predicates[s].matches(cp)) {
+                    addState(result, nfa.out1[s], input, pos);
+                }
+            }
+            set.load(result);
+        }
+
+        /**
+         * Adds the state and all states reachable from it by epsilon
+         * transitions into the set.
+         */
+        void addState(StateSet set, int state, CharSequence input, int pos) {
+            int top = 0;
+            stack[top++] = state;
+
+            while (top > 0) {
+                int s = stack[--top];
+                if (!set.add(s)) {
+                    continue;
+                }
+                switch (nfa.types[s]) {
+                    case SPLIT:
+                        stack[top++] = nfa.out2[s];
+                        stack[top++] = nfa.out1[s];
+                        break;
+                    case ASSERT:
+                        if (input != null && nfa.anchors[s].holds(input, pos)) {
+                            stack[top++] = nfa.out1[s];
+                        }
+                        break;
+                    default:
+                }
+            }
+        }
+
+        private DfaState toDfaState(StateSet set) {
+            int count = 0;
+            for (int i = 0; i < set.size; i++) {
+                if (nfa.types[set.dense[i]] == CHAR || nfa.types[set.dense[i]] == MATCH) {
+                    count++;
+                }
+            }
+            // the other states are just epsilon moves
+            int[] key = new int[count];
+            for (int i = 0, j = 0; i < set.size; i++) {
+                if (nfa.types[set.dense[i]] == CHAR || nfa.types[set.dense[i]] == MATCH) {
+                    key[j++] = set.dense[i];
+                }
+            }
+            Arrays.sort(key);
+            IntArray wrapper = new IntArray(key);
+            DfaState state = states.get(wrapper);
+
+            if (state == null) {
+                state = new DfaState(key, nfa.liveMask(set), nfa.matchedMask(set));
+                states.put(wrapper, state);
+            }
+            return state;
+        }
+    }
+
+    private static final class DfaState {
+
+        final int[] states;
+        final long liveMask;
+        final long matchedMask;
+        final DfaState[] ascii = new DfaState[0x80];
+        Map<Integer, DfaState> other;
+
+        DfaState(int[] states, long liveMask, long matchedMask) {
+            this.states = states;
+            this.liveMask = liveMask;
+            this.matchedMask = matchedMask;
+        }
+    }
+
+    /**
+     * Sparse set of NFA states with constant time add, clear and iteration.
+     */
+    private static final class StateSet {
+
+        final int[] dense;
+        final int[] sparse;
+        int size;
+
+        StateSet(int capacity) {
+            this.dense = new int[capacity];
+            this.sparse = new int[capacity];
+        }
+
+        boolean add(int state) {
+            int i = sparse[state];
+            if (i < size && dense[i] == state) {
+                return false;
+            }
+            sparse[state] = size;
+            dense[size++] = state;
+            return true;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void load(int[] states) {
+            clear();
+            for (int s : states) {
+                add(s);
+            }
+        }
+
+        void load(StateSet other) {
+            System.arraycopy(other.dense, 0, dense, 0, other.size);
+            size = other.size;
+            for (int i = 0; i < size; i++) {
+                sparse[dense[i]] = i;
+            }
+        }
+    }
+
+    private static final class IntArray {
+
+        final int[] array;
+        final int hash;
+
+        IntArray(int[] array) {
+            this.array = array;
+            this.hash = Arrays.hashCode(array);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            return obj instanceof IntArray && Arrays.equals(array, ((IntArray) obj).array);
+        }
+    }
+
+    /**
+     * Builds Thompson's NFA from the parsed regular expressions.
+     */
+    private static final class Builder {
+
+        byte[] types = new byte[64];
+        int[] out1 = new int[64];
+        int[] out2 = new int[64];
+        CharPredicate[] predicates = new CharPredicate[64];
+        Anchor[] anchors = new Anchor[64];
+        int[] owners = new int[64];
+        int size;
+
+        int owner;
+        String regexp;
+
+
+        /**
+         * Compiles the node into states that continue to the given state.
+         *
+         * @return The start state of the node.
+         */
+        int compile(RegexNode node, int next) {
+            if (node instanceof Chars) {
+                int s = add(CHAR, next, -1);
+                predicates[s] = ((Chars) node).predicate;
+                return s;
+
+            } else if (node instanceof Concat) {
+                List<RegexNode> nodes = ((Concat) node).nodes;
+                for (int i = nodes.size() - 1; i >= 0; i--) {
+                    next = compile(nodes.get(i), next);
+                }
+                return next;
+
+            } else if (node instanceof Alternation) {
+                List<RegexNode> nodes = ((Alternation) node).nodes;
+                int s = compile(nodes.get(nodes.size() - 1), next);
+                for (int i = nodes.size() - 2; i >= 0; i--) {
+                    s = add(SPLIT, compile(nodes.get(i), next), s);
+                }
+                return s;
+
+            } else if (node instanceof Repeat) {
+                return compileRepeat((Repeat) node, next);
+
+            } else if (node instanceof Assertion) {
+                int s = add(ASSERT, next, -1);
+                anchors[s] = ((Assertion) node).anchor;
+                return s;
+            }
+            throw new IllegalStateException("Unknown node: " + node);
+        }
+
+        private int compileRepeat(Repeat repeat, int next) {
+            int s = next;
+
+            if (repeat.max == RegexNode.UNBOUNDED) {
+                // the loop state is patched after the body is compiled
+                int loop = add(SPLIT, -1, next);
+                int body = compile(repeat.node, loop);  // may reallocate out1
+                out1[loop] = body;
+                s = loop;
+            } else {
+                for (int i = repeat.min; i < repeat.max; i++) {
+                    s = add(SPLIT, compile(repeat.node, s), next);
+                }
+            }
+            for (int i = 0; i < repeat.min; i++) {
+                s = compile(repeat.node, s);
+            }
+            return s;
+        }
+
+        int add(byte type, int out1, int out2) {
+            if (size == MAX_NFA_STATES) {
+                throw new UnsupportedRegexException("Regexp with more than " + MAX_NFA_STATES + " states", regexp, 0);
+            }
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                this.out1 = Arrays.copyOf(this.out1, capacity);
+                this.out2 = Arrays.copyOf(this.out2, capacity);
+                predicates = Arrays.copyOf(predicates, capacity);
+                anchors = Arrays.copyOf(anchors, capacity);
+                owners = Arrays.copyOf(owners, capacity);
+            }
+            types[size] = type;
+            this.out1[size] = out1;
+            this.out2[size] = out2;
+            owners[size] = owner;
+            return size++;
+        }
+    }
+}
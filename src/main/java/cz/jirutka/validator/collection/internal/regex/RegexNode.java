@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex;
+
+import java.util.List;
+
+/**
+ * A node of a parsed regular expression, see {@link RegexParser}.
+ */
+abstract class RegexNode {
+
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+
+    /**
+     * @return Whether the node may match an empty string (provided that
+     *         its anchors hold).
+     */
+    abstract boolean isNullable();
+
+    /**
+     * @return Whether the node contains an {@link Assertion}.
+     */
+    abstract boolean hasAssertion();
+
+
+    /**
+     * Matches a single code point.
+     */
+    static final class Chars extends RegexNode {
+        final CharPredicate predicate;
+
+        Chars(CharPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        boolean isNullable() {
+            return false;
+        }
+
+        boolean hasAssertion() {
+            return false;
+        }
+    }
+
+    /**
+     * Matches a sequence of nodes.
+     */
+    static final class Concat extends RegexNode {
+        final List<RegexNode> nodes;
+
+        Concat(List<RegexNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        boolean isNullable() {
+            for (RegexNode node : nodes) {
+                if (!node.isNullable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean hasAssertion() {
+            return anyHasAssertion(nodes);
+        }
+    }
+
+    /**
+     * Matches any of the nodes.
+     */
+    static final class Alternation extends RegexNode {
+        final List<RegexNode> nodes;
+
+        Alternation(List<RegexNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        boolean isNullable() {
+            for (RegexNode node : nodes) {
+                if (node.isNullable()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean hasAssertion() {
+            return anyHasAssertion(nodes);
+        }
+    }
+
+    /**
+     * Matches the node repeated {@code min} to {@code max} times.
+     */
+    static final class Repeat extends RegexNode {
+        final RegexNode node;
+        final int min;
+        final int max;
+
+        Repeat(RegexNode node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        boolean isNullable() {
+            return min == 0 || node.isNullable();
+        }
+
+        boolean hasAssertion() {
+            return node.hasAssertion();
+        }
+    }
+
+    /**
+     * Zero-width assertion about the position in the input.
+     */
+    static final class Assertion extends RegexNode {
+        final Anchor anchor;
+
+        Assertion(Anchor anchor) {
+            this.anchor = anchor;
+        }
+
+        boolean isNullable() {
+            return true;
+        }
+
+        boolean hasAssertion() {
+            return true;
+        }
+    }
+
+    private static boolean anyHasAssertion(List<RegexNode> nodes) {
+        for (RegexNode node : nodes) {
+            if (node.hasAssertion()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    enum Anchor {
+
+        /** {@code ^} without MULTILINE, or {@code \A} */
+        BEGIN,
+
+        /** {@code \z} */
+        END,
+
+        /** {@code $} without MULTILINE, or {@code \Z} */
+        DOLLAR,
+
+        /** {@code $} without MULTILINE, with UNIX_LINES */
+        UNIX_DOLLAR;
+
+        /**
+         * Whether the anchor holds at the given position of the input; the
+         * same as {@code Begin}, {@code End}, {@code Dollar} and
+         * {@code UnixDollar} nodes of {@link java.util.regex.Pattern}.
+         */
+        boolean holds(CharSequence input, int pos) {
+            int end = input.length();
+
+            switch (this) {
+                case BEGIN:
+                    return pos == 0;
+                case END:
+                    return pos == end;
+                case DOLLAR:
+                    if (pos < end - 2) {
+                        return false;
+                    }
+                    if (pos == end - 2) {
+                        return input.charAt(pos) == '\r' && input.charAt(pos + 1) == '\n';
+                    }
+                    if (pos == end - 1) {
+                        char ch = input.charAt(pos);
+                        if (ch == '\n') {
+                            return pos == 0 || input.charAt(pos - 1) != '\r';
+                        }
+                        return ch == '\r' || ch == 0x85 || (ch | 1) == 0x2029;
+                    }
+                    return true;
+                case UNIX_DOLLAR:
+                    return pos == end || (pos == end - 1 && input.charAt(pos) == '\n');
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        /**
+         * @return The maximal distance from the end of input where the anchor
+         *         may hold (for {@link #BEGIN} it's irrelevant).
+         */
+        int maxDistanceFromEnd() {
+            switch (this) {
+                case DOLLAR:
+                    return 2;
+                case UNIX_DOLLAR:
+                    return 1;
+                default:
+                    return 0;
+            }
+        }
+    }
+}
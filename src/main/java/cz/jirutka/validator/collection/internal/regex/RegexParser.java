@@ -0,0 +1,515 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex;
+
+import cz.jirutka.validator.collection.internal.regex.RegexNode.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.regex.Pattern.*;
+
+/**
+ * Parser of the subset of {@link java.util.regex.Pattern} syntax that can be
+ * matched by a finite automaton. It expects a regular expression that has
+ * been already successfully compiled by {@code Pattern}, so it doesn't care
+ * about syntax errors; it follows the same rules only for valid expressions.
+ *
+ * <p>Supported are literals and escapes, character classes without nesting
+ * and intersections, predefined classes {@code \d \D \s \S \w \W},
+ * {@code .}, groups, alternations, greedy and lazy quantifiers, anchors
+ * {@code ^ $ \A \z \Z} and flags {@code CASE_INSENSITIVE} (ASCII only),
+ * {@code DOTALL} and {@code UNIX_LINES}, also inline. Anything else causes
+ * {@link UnsupportedRegexException}.</p>
+ */
+final class RegexParser {
+
+    private static final int UNSUPPORTED_FLAGS = COMMENTS | CANON_EQ | UNICODE_CHARACTER_CLASS;
+
+    private final String regexp;
+    private final int[] chars;
+    private int pos;
+    private int flags;
+
+
+    private RegexParser(String regexp, int flags) {
+        this.regexp = regexp;
+        this.chars = toCodePoints(regexp);
+        this.flags = flags;
+    }
+
+    /**
+     * @param regexp A valid regular expression.
+     * @param flags Match flags of {@link java.util.regex.Pattern}.
+     * @throws UnsupportedRegexException if the expression uses an unsupported construct.
+     */
+    static RegexNode parse(String regexp, int flags) {
+        RegexParser parser = new RegexParser(regexp, flags);
+        parser.checkFlags();
+
+        RegexNode node = parser.expr();
+        if (parser.pos < parser.chars.length) {
+            throw parser.unsupported("Unbalanced ')'");
+        }
+        return node;
+    }
+
+
+    private RegexNode expr() {
+        List<RegexNode> alternatives = new ArrayList<>(2);
+        alternatives.add(sequence());
+
+        while (peek() == '|') {
+            pos++;
+            alternatives.add(sequence());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private RegexNode sequence() {
+        List<RegexNode> nodes = new ArrayList<>();
+
+        for (;;) {
+            int ch = peek();
+            RegexNode node;
+
+            switch (ch) {
+                case -1:
+                case '|':
+                case ')':
+                    return nodes.size() == 1 ? nodes.get(0) : new Concat(nodes);
+                case '(':
+                    node = group();
+                    if (node == null) {
+                        continue;  // inline flags only
+                    }
+                    break;
+                case '[':
+                    pos++;
+                    node = new Chars(charClass());
+                    break;
+                case '\\':
+                    pos++;
+                    node = escape();
+                    break;
+                case '^':
+                    pos++;
+                    if (has(MULTILINE)) {
+                        throw unsupported("MULTILINE anchor");
+                    }
+                    node = new Assertion(Anchor.BEGIN);
+                    break;
+                case '$':
+                    pos++;
+                    if (has(MULTILINE)) {
+                        throw unsupported("MULTILINE anchor");
+                    }
+                    node = new Assertion(has(UNIX_LINES) ? Anchor.UNIX_DOLLAR : Anchor.DOLLAR);
+                    break;
+                case '.':
+                    pos++;
+                    node = new Chars(has(DOTALL) ? CharPredicate.ANY
+                            : has(UNIX_LINES) ? CharPredicate.UNIX_DOT : CharPredicate.DOT);
+                    break;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported("Quantifier without operand");
+                default:
+                    pos++;
+                    node = new Chars(single(ch));
+            }
+            nodes.add(quantifier(node));
+        }
+    }
+
+    /**
+     * @return The group, or null if it's just inline flags.
+     */
+    private RegexNode group() {
+        int savedFlags = flags;
+        pos++;
+
+        if (peek() == '?') {
+            pos++;
+            int ch = next();
+
+            switch (ch) {
+                case ':':
+                    break;
+                case '=':
+                case '!':
+                    throw unsupported("Lookahead");
+                case '>':
+                    throw unsupported("Independent group");
+                case '<':
+                    if (!isAsciiLetter(peek())) {
+                        throw unsupported("Lookbehind");
+                    }
+                    while (next() != '>') { }  // named group
+                    break;
+                default:
+                    pos--;
+                    inlineFlags();
+                    if (next() == ')') {
+                        return null;
+                    }
+            }
+        }
+        RegexNode node = expr();
+        next();  // ')'
+        flags = savedFlags;
+
+        return node;
+    }
+
+    private void inlineFlags() {
+        boolean add = true;
+
+        for (;;) {
+            int flag;
+            switch (peek()) {
+                case 'i': flag = CASE_INSENSITIVE; break;
+                case 'm': flag = MULTILINE; break;
+                case 's': flag = DOTALL; break;
+                case 'd': flag = UNIX_LINES; break;
+                case 'u': flag = UNICODE_CASE; break;
+                case 'c': flag = CANON_EQ; break;
+                case 'x': flag = COMMENTS; break;
+                case 'U': flag = UNICODE_CHARACTER_CLASS | UNICODE_CASE; break;
+                case '-':
+                    if (!add) {
+                        return;
+                    }
+                    add = false;
+                    pos++;
+                    continue;
+                default:
+                    return;
+            }
+            flags = add ? flags | flag : flags & ~flag;
+            pos++;
+            checkFlags();
+        }
+    }
+
+    private RegexNode quantifier(RegexNode node) {
+        int min, max;
+
+        switch (peek()) {
+            case '?': pos++; min = 0; max = 1; break;
+            case '*': pos++; min = 0; max = RegexNode.UNBOUNDED; break;
+            case '+': pos++; min = 1; max = RegexNode.UNBOUNDED; break;
+            case '{':
+                pos++;
+                min = max = number();
+                if (peek() == ',') {
+                    pos++;
+                    max = peek() == '}' ? RegexNode.UNBOUNDED : number();
+                }
+                pos++;  // '}'
+                break;
+            default:
+                return node;
+        }
+        if (peek() == '+') {
+            throw unsupported("Possessive quantifier");
+        }
+        if (peek() == '?') {
+            pos++;  // lazy quantifier matches the same inputs
+        }
+        if (node instanceof Assertion) {
+            throw unsupported("Quantified anchor");
+        }
+        // Pattern leaves the loop after an empty iteration even if the minimum
+        // count hasn't been reached yet, so it doesn't try to match the empty
+        // iteration later, where the anchor may not hold.
+        if (min > 1 && node.isNullable() && node.hasAssertion()) {
+            throw unsupported("Repeated group with an optional anchor");
+        }
+        return new Repeat(node, min, max);
+    }
+
+    private CharPredicate charClass() {
+        List<CharPredicate> items = new ArrayList<>();
+        boolean negated = false;
+
+        if (peek() == '^') {
+            pos++;
+            negated = true;
+        }
+        for (;;) {
+            int ch = peek();
+
+            if (ch == ']' && !items.isEmpty()) {
+                pos++;
+                break;
+            }
+            if (ch == '[') {
+                throw unsupported("Nested character class");
+            }
+            if (ch == '&' && peekAt(1) == '&') {
+                throw unsupported("Character class intersection");
+            }
+            items.add(classItem());
+        }
+        CharPredicate union = CharPredicate.union(items.toArray(new CharPredicate[items.size()]));
+
+        return negated ? CharPredicate.not(union) : union;
+    }
+
+    private CharPredicate classItem() {
+        int lower = next();
+
+        if (lower == '\\') {
+            CharPredicate predefined = predefinedClass(peek());
+            if (predefined != null) {
+                pos++;
+                return predefined;
+            }
+            lower = escapedChar(peekAt(1) == '-');
+        }
+        if (peek() == '-' && peekAt(1) != ']') {
+            if (peekAt(1) == '[') {
+                throw unsupported("Nested character class");
+            }
+            pos++;
+            int upper = next();
+            if (upper == '\\') {
+                upper = escapedChar(true);
+            }
+            checkCaseFolding();
+            return CharPredicate.range(lower, upper, has(CASE_INSENSITIVE));
+        }
+        return single(lower);
+    }
+
+    /**
+     * Parses an escape sequence outside of a character class.
+     */
+    private RegexNode escape() {
+        int ch = peek();
+        CharPredicate predefined = predefinedClass(ch);
+
+        if (predefined != null) {
+            pos++;
+            return new Chars(predefined);
+        }
+        switch (ch) {
+            case 'A':
+                pos++;
+                return new Assertion(Anchor.BEGIN);
+            case 'z':
+                pos++;
+                return new Assertion(Anchor.END);
+            case 'Z':
+                pos++;
+                return new Assertion(has(UNIX_LINES) ? Anchor.UNIX_DOLLAR : Anchor.DOLLAR);
+            case '1': case '2': case '3': case '4': case '5': case '6': case '7': case '8': case '9':
+            case 'k':
+                throw unsupported("Backreference");
+            default:
+                return new Chars(single(escapedChar(false)));
+        }
+    }
+
+    /**
+     * @return The predefined character class for the escaped character, or
+     *         null if it's not a predefined class.
+     */
+    private CharPredicate predefinedClass(int ch) {
+        switch (ch) {
+            case 'd': return CharPredicate.DIGIT;
+            case 'D': return CharPredicate.not(CharPredicate.DIGIT);
+            case 's': return CharPredicate.SPACE;
+            case 'S': return CharPredicate.not(CharPredicate.SPACE);
+            case 'w': return CharPredicate.WORD;
+            case 'W': return CharPredicate.not(CharPredicate.WORD);
+            default: return null;
+        }
+    }
+
+    /**
+     * Parses an escape sequence that represents a single character.
+     *
+     * @param inRange Whether the escape is a bound of a range in a character class.
+     */
+    private int escapedChar(boolean inRange) {
+        int ch = next();
+
+        switch (ch) {
+            case '0':
+                return octal();
+            case 'a':
+                return 0x07;
+            case 'e':
+                return 0x1B;
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'c':
+                return next() ^ 64;
+            case 'x':
+                return checkNotSurrogate(hex());
+            case 'u':
+                return unicode();
+            case 'v':
+                if (inRange) {
+                    return 0x0B;
+                }
+                throw unsupported("\\v");
+            default:
+                if (isAsciiLetter(ch) || (ch >= '0' && ch <= '9')) {
+                    throw unsupported("\\" + (char) ch);
+                }
+                return ch;
+        }
+    }
+
+    private int octal() {
+        int n = next() - '0';
+        if (isOctal(peek())) {
+            int m = next() - '0';
+            if (isOctal(peek()) && n <= 3) {
+                return n * 64 + m * 8 + (next() - '0');
+            }
+            return n * 8 + m;
+        }
+        return n;
+    }
+
+    private int hex() {
+        if (peek() == '{') {
+            pos++;
+            int ch = 0;
+            while (peek() != '}') {
+                ch = (ch << 4) + Character.digit(next(), 16);
+            }
+            pos++;
+            return ch;
+        }
+        return Character.digit(next(), 16) * 16 + Character.digit(next(), 16);
+    }
+
+    private int unicode() {
+        int ch = fourHexDigits();
+
+        if (Character.isHighSurrogate((char) ch) && peek() == '\\' && peekAt(1) == 'u') {
+            int saved = pos;
+            pos += 2;
+            int low = fourHexDigits();
+
+            if (Character.isLowSurrogate((char) low)) {
+                return Character.toCodePoint((char) ch, (char) low);
+            }
+            pos = saved;
+        }
+        return checkNotSurrogate(ch);
+    }
+
+    private int fourHexDigits() {
+        int ch = 0;
+        for (int i = 0; i < 4; i++) {
+            ch = ch * 16 + Character.digit(next(), 16);
+        }
+        return ch;
+    }
+
+    private int number() {
+        int n = 0;
+        while (peek() >= '0' && peek() <= '9') {
+            n = n * 10 + (next() - '0');
+        }
+        return n;
+    }
+
+    private CharPredicate single(int ch) {
+        checkNotSurrogate(ch);
+        checkCaseFolding();
+        return CharPredicate.single(ch, has(CASE_INSENSITIVE));
+    }
+
+    private int checkNotSurrogate(int ch) {
+        if (ch >= Character.MIN_SURROGATE && ch <= Character.MAX_SURROGATE) {
+            throw unsupported("Unpaired surrogate");
+        }
+        return ch;
+    }
+
+    private void checkCaseFolding() {
+        if (has(CASE_INSENSITIVE) && has(UNICODE_CASE)) {
+            throw unsupported("UNICODE_CASE");
+        }
+    }
+
+    private void checkFlags() {
+        if ((flags & UNSUPPORTED_FLAGS) != 0) {
+            throw unsupported("Flag COMMENTS, CANON_EQ or UNICODE_CHARACTER_CLASS");
+        }
+    }
+
+    private boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private int peek() {
+        return peekAt(0);
+    }
+
+    private int peekAt(int offset) {
+        return pos + offset < chars.length ? chars[pos + offset] : -1;
+    }
+
+    private int next() {
+        return pos < chars.length ? chars[pos++] : -1;
+    }
+
+    private UnsupportedRegexException unsupported(String construct) {
+        return new UnsupportedRegexException(construct, regexp, pos);
+    }
+
+    private static boolean isOctal(int ch) {
+        return ch >= '0' && ch <= '7';
+    }
+
+    private static boolean isAsciiLetter(int ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static int[] toCodePoints(String str) {
+        int[] result = new int[str.codePointCount(0, str.length())];
+
+        for (int i = 0, j = 0; i < str.length(); j++) {
+            result[j] = str.codePointAt(i);
+            i += Character.charCount(result[j]);
+        }
+        return result;
+    }
+}
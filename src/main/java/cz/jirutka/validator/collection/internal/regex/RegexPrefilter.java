@@ -0,0 +1,387 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex;
+
+import cz.jirutka.validator.collection.internal.regex.RegexNode.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static cz.jirutka.validator.collection.internal.regex.RegexNode.UNBOUNDED;
+
+/**
+ * Cheap necessary conditions for an input to match a regular expression,
+ * derived from its syntax tree: the minimal and maximal length, a literal
+ * prefix and suffix, and literal characters that must occur in the input.
+ * If {@link #mayMatch(CharSequence)} returns false, the input certainly
+ * doesn't match; otherwise it must be matched by the regex engine.
+ *
+ * <p>This class is immutable and thread-safe.</p>
+ */
+public final class RegexPrefilter {
+
+    // longer literals are truncated, the conditions are just necessary anyway
+    static final int MAX_LITERAL_LENGTH = 64;
+
+    static final int MAX_REQUIRED_CHARS = 8;
+
+    final int minLength;
+    final int maxLength;
+    final String prefix;
+    final String suffix;
+    final char[] requiredChars;
+
+
+    private RegexPrefilter(int minLength, int maxLength, String prefix, String suffix, char[] requiredChars) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.requiredChars = requiredChars;
+    }
+
+    /**
+     * Analyses the regular expression.
+     *
+     * @param regexp A regular expression, already validated by
+     *               {@link java.util.regex.Pattern#compile(String, int)}.
+     * @param flags Match flags of {@link java.util.regex.Pattern}.
+     * @return The prefilter, or null if the expression is not supported by
+     *         {@link RegexParser}, or there's nothing to check.
+     */
+    public static RegexPrefilter of(String regexp, int flags) {
+        RegexNode node;
+        try {
+            node = RegexParser.parse(regexp, flags);
+        } catch (UnsupportedRegexException ex) {
+            return null;
+        }
+        String prefix = toString(truncate(prefix(node)));
+        String suffix = toString(reverse(truncate(prefix(reversed(node)))));
+        int minLength = Math.max(minLength(node), Math.max(prefix.length(), suffix.length()));
+        int maxLength = maxLength(node);
+
+        BitSet required = requiredChars(node);
+        for (int i = 0; i < prefix.length(); i++) {
+            required.clear(prefix.charAt(i));
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            required.clear(suffix.charAt(i));
+        }
+        char[] requiredChars = new char[Math.min(required.cardinality(), MAX_REQUIRED_CHARS)];
+        for (int i = 0, ch = required.nextSetBit(0); i < requiredChars.length; i++, ch = required.nextSetBit(ch + 1)) {
+            requiredChars[i] = (char) ch;
+        }
+        if (minLength == 0 && maxLength == UNBOUNDED && prefix.isEmpty() && suffix.isEmpty()
+                && requiredChars.length == 0) {
+            return null;
+        }
+        return new RegexPrefilter(minLength, maxLength, prefix, suffix, requiredChars);
+    }
+
+
+    /**
+     * @return false if the input certainly doesn't match the expression.
+     */
+    public boolean mayMatch(CharSequence input) {
+        int length = input.length();
+
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = suffix.length() - 1, j = length - 1; i >= 0; i--, j--) {
+            if (input.charAt(j) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        for (char required : requiredChars) {
+            if (!contains(input, required)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(CharSequence input, char ch) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) == ch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    //////// Analysis ////////
+
+    // lengths are in chars; Chars matches one code point, i.e. 1 or 2 chars
+
+    static int minLength(RegexNode node) {
+        if (node instanceof Chars) {
+            return 1;
+
+        } else if (node instanceof Concat) {
+            int sum = 0;
+            for (RegexNode child : ((Concat) node).nodes) {
+                sum = saturatedAdd(sum, minLength(child));
+            }
+            return sum;
+
+        } else if (node instanceof Alternation) {
+            int min = UNBOUNDED;
+            for (RegexNode child : ((Alternation) node).nodes) {
+                min = Math.min(min, minLength(child));
+            }
+            return min;
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            return saturatedMultiply(repeat.min, minLength(repeat.node));
+        }
+        return 0;  // Assertion
+    }
+
+    static int maxLength(RegexNode node) {
+        if (node instanceof Chars) {
+            return ((Chars) node).predicate.isBmpOnly() ? 1 : 2;
+
+        } else if (node instanceof Concat) {
+            int sum = 0;
+            for (RegexNode child : ((Concat) node).nodes) {
+                sum = saturatedAdd(sum, maxLength(child));
+            }
+            return sum;
+
+        } else if (node instanceof Alternation) {
+            int max = 0;
+            for (RegexNode child : ((Alternation) node).nodes) {
+                max = Math.max(max, maxLength(child));
+            }
+            return max;
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            int body = maxLength(repeat.node);
+            return body == 0 ? 0 : saturatedMultiply(repeat.max, body);
+        }
+        return 0;  // Assertion
+    }
+
+    /**
+     * @return The code points of the only string matched by the node, or null
+     *         if it can match more strings.
+     */
+    static List<Integer> literal(RegexNode node) {
+        if (node instanceof Chars) {
+            int cp = ((Chars) node).predicate.singleCodePoint();
+            return cp < 0 ? null : singletonList(cp);
+
+        } else if (node instanceof Concat) {
+            List<Integer> result = new ArrayList<>();
+            for (RegexNode child : ((Concat) node).nodes) {
+                List<Integer> literal = literal(child);
+                if (literal == null) {
+                    return null;
+                }
+                result.addAll(literal);
+            }
+            return result;
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            List<Integer> literal = literal(repeat.node);
+
+            if (literal == null || repeat.min != repeat.max && !literal.isEmpty()) {
+                return null;
+            }
+            return repeat(literal, repeat.min);
+
+        } else if (node instanceof Assertion) {
+            return new ArrayList<>(0);
+        }
+        return null;  // Alternation
+    }
+
+    static List<Integer> prefix(RegexNode node) {
+        List<Integer> literal = literal(node);
+        if (literal != null) {
+            return literal;
+        }
+        if (node instanceof Concat) {
+            List<Integer> result = new ArrayList<>();
+            for (RegexNode child : ((Concat) node).nodes) {
+                List<Integer> childLiteral = literal(child);
+                if (childLiteral == null) {
+                    result.addAll(prefix(child));
+                    break;
+                }
+                result.addAll(childLiteral);
+            }
+            return result;
+
+        } else if (node instanceof Alternation) {
+            List<Integer> common = null;
+            for (RegexNode child : ((Alternation) node).nodes) {
+                List<Integer> childPrefix = prefix(child);
+                common = common == null ? childPrefix : common.subList(0, commonPrefixLength(common, childPrefix));
+            }
+            return common;
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            if (repeat.min == 0) {
+                return new ArrayList<>(0);
+            }
+            List<Integer> bodyLiteral = literal(repeat.node);
+
+            return bodyLiteral != null ? repeat(bodyLiteral, repeat.min) : prefix(repeat.node);
+        }
+        return new ArrayList<>(0);  // Chars
+    }
+
+    /**
+     * @return The BMP characters that occur in every string matched by the node.
+     */
+    static BitSet requiredChars(RegexNode node) {
+        if (node instanceof Chars) {
+            BitSet result = new BitSet();
+            int cp = ((Chars) node).predicate.singleCodePoint();
+            if (cp >= 0 && Character.isBmpCodePoint(cp)) {
+                result.set(cp);
+            }
+            return result;
+
+        } else if (node instanceof Concat) {
+            BitSet result = new BitSet();
+            for (RegexNode child : ((Concat) node).nodes) {
+                result.or(requiredChars(child));
+            }
+            return result;
+
+        } else if (node instanceof Alternation) {
+            BitSet result = null;
+            for (RegexNode child : ((Alternation) node).nodes) {
+                BitSet childChars = requiredChars(child);
+                if (result == null) {
+                    result = childChars;
+                } else {
+                    result.and(childChars);
+                }
+            }
+            return result;
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            return repeat.min > 0 ? requiredChars(repeat.node) : new BitSet();
+        }
+        return new BitSet();  // Assertion
+    }
+
+
+    //////// Helpers ////////
+
+    /**
+     * @return The node that matches reversed strings (ignoring anchors).
+     */
+    private static RegexNode reversed(RegexNode node) {
+        if (node instanceof Concat) {
+            List<RegexNode> nodes = ((Concat) node).nodes;
+            List<RegexNode> result = new ArrayList<>(nodes.size());
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                result.add(reversed(nodes.get(i)));
+            }
+            return new Concat(result);
+
+        } else if (node instanceof Alternation) {
+            List<RegexNode> result = new ArrayList<>();
+            for (RegexNode child : ((Alternation) node).nodes) {
+                result.add(reversed(child));
+            }
+            return new Alternation(result);
+
+        } else if (node instanceof Repeat) {
+            Repeat repeat = (Repeat) node;
+            return new Repeat(reversed(repeat.node), repeat.min, repeat.max);
+        }
+        return node;  // Chars, Assertion
+    }
+
+    private static List<Integer> repeat(List<Integer> literal, int count) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < count && result.size() < MAX_LITERAL_LENGTH; i++) {
+            result.addAll(literal);
+        }
+        return result;
+    }
+
+    private static List<Integer> singletonList(int cp) {
+        List<Integer> result = new ArrayList<>(1);
+        result.add(cp);
+        return result;
+    }
+
+    private static List<Integer> reverse(List<Integer> list) {
+        List<Integer> result = new ArrayList<>(list.size());
+        for (int i = list.size() - 1; i >= 0; i--) {
+            result.add(list.get(i));
+        }
+        return result;
+    }
+
+    private static int commonPrefixLength(List<Integer> a, List<Integer> b) {
+        int i = 0;
+        while (i < a.size() && i < b.size() && a.get(i).equals(b.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<Integer> truncate(List<Integer> codePoints) {
+        return codePoints.size() > MAX_LITERAL_LENGTH ? codePoints.subList(0, MAX_LITERAL_LENGTH) : codePoints;
+    }
+
+    private static String toString(List<Integer> codePoints) {
+        StringBuilder sb = new StringBuilder(codePoints.size());
+        for (int cp : codePoints) {
+            sb.appendCodePoint(cp);
+        }
+        return sb.toString();
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        long sum = (long) a + b;
+        return sum >= UNBOUNDED ? UNBOUNDED : (int) sum;
+    }
+
+    private static int saturatedMultiply(int a, int b) {
+        long product = (long) a * b;
+        return product >= UNBOUNDED ? UNBOUNDED : (int) product;
+    }
+}
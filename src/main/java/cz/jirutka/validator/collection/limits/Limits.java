@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.limits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable limits of validation of a collection, see {@link ValidationLimits}.
+ * When a limit is exceeded, the collection is invalid and the limit's message
+ * is reported on the collection itself.
+ *
+ * <p>The default messages are {@value #SIZE_MESSAGE_KEY} and
+ * {@value #TIME_MESSAGE_KEY}. Their English texts are defined in the
+ * {@code ContributorValidationMessages} bundle of this library, so they
+ * can be overridden and localized in the {@code ValidationMessages} bundle.
+ * Older versions of Hibernate Validator that don't load the contributor
+ * bundles (e.g. 4.3) report the key, unless it's defined in
+ * {@code ValidationMessages}.</p>
+ */
+public final class Limits {
+
+    /** Message key of the violation reported when the max size is exceeded. */
+    public static final String SIZE_MESSAGE_KEY = "cz.jirutka.validator.collection.limits.size";
+
+    /** Message key of the violation reported when the time budget is exceeded. */
+    public static final String TIME_MESSAGE_KEY = "cz.jirutka.validator.collection.limits.time";
+
+    /** Limits that don't limit anything. */
+    public static final Limits NONE = new Limits(Integer.MAX_VALUE, 0, 1024,
+            '{' + SIZE_MESSAGE_KEY + '}', '{' + TIME_MESSAGE_KEY + '}');
+
+    private final int maxSize;
+    private final long timeBudgetNanos;
+    private final int checkInterval;
+    private final String sizeMessage;
+    private final String timeMessage;
+
+
+    private Limits(int maxSize, long timeBudgetNanos, int checkInterval, String sizeMessage, String timeMessage) {
+        this.maxSize = maxSize;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.checkInterval = checkInterval;
+        this.sizeMessage = sizeMessage;
+        this.timeMessage = timeMessage;
+    }
+
+
+    /**
+     * Returns a copy of these limits with the maximal size of a collection.
+     * A larger collection is rejected without iterating it.
+     */
+    public Limits withMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative, but is: " + maxSize);
+        }
+        return new Limits(maxSize, timeBudgetNanos, checkInterval, sizeMessage, timeMessage);
+    }
+
+    /**
+     * Returns a copy of these limits with the maximal time to spend with
+     * validation of a collection.
+     *
+     * @param budget The time budget, or 0 for unlimited.
+     * @param unit Unit of the {@code budget}.
+     */
+    public Limits withTimeBudget(long budget, TimeUnit unit) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget must not be negative, but is: " + budget);
+        }
+        return new Limits(maxSize, unit.toNanos(budget), checkInterval, sizeMessage, timeMessage);
+    }
+
+    /**
+     * Returns a copy of these limits with the number of elements validated
+     * between two checks of the time budget. The default is 1024.
+     */
+    public Limits withCheckInterval(int checkInterval) {
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("checkInterval must be positive, but is: " + checkInterval);
+        }
+        return new Limits(maxSize, timeBudgetNanos, checkInterval, sizeMessage, timeMessage);
+    }
+
+    /**
+     * Returns a copy of these limits with the message templates of the
+     * violations reported when the max size, or the time budget is exceeded.
+     */
+    public Limits withMessages(String sizeMessage, String timeMessage) {
+        if (sizeMessage == null || timeMessage == null) {
+            throw new IllegalArgumentException("messages must not be null");
+        }
+        return new Limits(maxSize, timeBudgetNanos, checkInterval, sizeMessage, timeMessage);
+    }
+
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The time budget in nanoseconds, or 0 if unlimited.
+     */
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    public String getSizeMessage() {
+        return sizeMessage;
+    }
+
+    public String getTimeMessage() {
+        return timeMessage;
+    }
+
+    /**
+     * Starts measuring the time budget.
+     *
+     * @return A new deadline, or <tt>null</tt> if the time is not limited.
+     */
+    public Deadline startDeadline() {
+        return timeBudgetNanos > 0 ? new Deadline(System.nanoTime() + timeBudgetNanos, checkInterval) : null;
+    }
+
+
+    //////// Inner classes ////////
+
+    /**
+     * Deadline of validation of a single collection. It reads the clock only
+     * once per {@link #getCheckInterval() check interval}, so it's cheap to
+     * call for every element. It's not thread-safe.
+     */
+    public static final class Deadline {
+
+        private final long deadlineNanos;
+        private final int checkInterval;
+        private int countdown;
+
+
+        Deadline(long deadlineNanos, int checkInterval) {
+            this.deadlineNanos = deadlineNanos;
+            this.checkInterval = checkInterval;
+            this.countdown = checkInterval;
+        }
+
+        /**
+         * Counts the given number of validated elements and checks the time,
+         * if the check interval has elapsed.
+         *
+         * @return Whether the deadline has passed.
+         */
+        public boolean isExceeded(int elements) {
+            countdown -= elements;
+            if (countdown > 0) {
+                return false;
+            }
+            countdown = checkInterval;
+            return System.nanoTime() - deadlineNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.limits;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holder of the {@link Limits} of validation of collections by
+ * {@code CommonEachValidator}, protecting from collections that would take
+ * too long to validate (e.g. a request with millions of elements). There are
+ * no limits by default.
+ *
+ * <p>The limits may be set globally, or for a specific {@code @EachX}
+ * annotation type, which takes precedence.</p>
+ */
+public abstract class ValidationLimits {
+
+    private static final Map<Class<? extends Annotation>, Limits> limitsByType = new ConcurrentHashMap<>();
+
+    private static volatile Limits defaultLimits = Limits.NONE;
+
+
+    /**
+     * @return The limits for the given {@code @EachX} annotation type.
+     */
+    public static Limits get(Class<? extends Annotation> eachAnnotationType) {
+        if (limitsByType.isEmpty()) {
+            return defaultLimits;
+        }
+        Limits limits = limitsByType.get(eachAnnotationType);
+
+        return limits != null ? limits : defaultLimits;
+    }
+
+    /**
+     * Sets the limits of all the {@code @EachX} annotations without the
+     * specific limits.
+     *
+     * @param limits The limits, or <tt>null</tt> to unset.
+     */
+    public static void setDefault(Limits limits) {
+        ValidationLimits.defaultLimits = limits != null ? limits : Limits.NONE;
+    }
+
+    /**
+     * Sets the limits of the given {@code @EachX} annotation type.
+     *
+     * @param limits The limits, or <tt>null</tt> to use the default ones.
+     */
+    public static void set(Class<? extends Annotation> eachAnnotationType, Limits limits) {
+        if (limits != null) {
+            limitsByType.put(eachAnnotationType, limits);
+        } else {
+            limitsByType.remove(eachAnnotationType);
+        }
+    }
+}
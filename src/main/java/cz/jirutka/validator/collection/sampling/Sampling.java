@@ -0,0 +1,54 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.sampling;
+
+/**
+ * Holder of the {@link SamplingPolicy} used by {@code CommonEachValidator}.
+ * There's no policy by default, i.e. all elements are validated.
+ *
+ * <p>Sampling is meant for trusted high-volume sources, where spot-checking
+ * is preferred over bounded validation cost. A sampled collection may be
+ * reported as valid even if some of the skipped elements are invalid!</p>
+ */
+public abstract class Sampling {
+
+    private static volatile SamplingPolicy policy;
+
+
+    /**
+     * @return The registered policy, or <tt>null</tt> if sampling is disabled.
+     */
+    public static SamplingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Registers the policy that selects the elements to validate.
+     *
+     * @param policy The policy, or <tt>null</tt> to disable sampling.
+     */
+    public static void setPolicy(SamplingPolicy policy) {
+        Sampling.policy = policy;
+    }
+}
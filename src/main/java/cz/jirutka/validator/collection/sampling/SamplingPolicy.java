@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.sampling;
+
+import cz.jirutka.validator.collection.internal.LongHashSet;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy that selects which elements of a collection are validated.
+ * Implementations must be thread-safe.
+ *
+ * @see Sampling#setPolicy(SamplingPolicy)
+ */
+public abstract class SamplingPolicy {
+
+    /**
+     * How the elements between the first and the last one are selected.
+     */
+    public enum Selection {
+
+        /** Uniformly at random, without repetition. */
+        RANDOM,
+
+        /** Evenly spaced. */
+        STRIDED
+    }
+
+
+    /**
+     * Selects the elements of a collection to be validated.
+     *
+     * @param eachAnnotation The {@code @EachX} annotation being validated.
+     * @param size Size of the collection; at least 1.
+     * @return Ascending indexes of the elements to validate, including the
+     *         first and the last one, or <tt>null</tt> to validate all.
+     */
+    public abstract int[] selectIndexes(Annotation eachAnnotation, int size);
+
+
+    /**
+     * Creates a policy that validates the given fraction of elements (rounded
+     * up) of the collections with at least {@code minSize} elements.
+     *
+     * @param fraction The fraction of elements to validate, in range (0, 1].
+     * @param selection How to select the elements.
+     * @param minSize The minimal size of a collection to be sampled.
+     */
+    public static SamplingPolicy fraction(final double fraction, final Selection selection, final int minSize) {
+        if (!(fraction > 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("fraction must be in range (0, 1], but is: " + fraction);
+        }
+        validateArgs(selection, minSize);
+
+        return new SamplingPolicy() {
+            public int[] selectIndexes(Annotation eachAnnotation, int size) {
+                return size < minSize ? null : select(size, (int) Math.ceil(size * fraction), selection);
+            }
+        };
+    }
+
+    /**
+     * Creates a policy that validates the given number of elements of the
+     * collections with at least {@code minSize} elements.
+     *
+     * @param count The number of elements to validate; at least 2.
+     * @param selection How to select the elements.
+     * @param minSize The minimal size of a collection to be sampled.
+     */
+    public static SamplingPolicy count(final int count, final Selection selection, final int minSize) {
+        if (count < 2) {
+            throw new IllegalArgumentException("count must be at least 2, but is: " + count);
+        }
+        validateArgs(selection, minSize);
+
+        return new SamplingPolicy() {
+            public int[] selectIndexes(Annotation eachAnnotation, int size) {
+                return size < minSize ? null : select(size, count, selection);
+            }
+        };
+    }
+
+    /**
+     * Selects {@code count} indexes of a collection with the given size,
+     * including the first and the last one.
+     *
+     * @return Ascending indexes, or <tt>null</tt> if {@code count} is not
+     *         less than {@code size}.
+     */
+    protected static int[] select(int size, int count, Selection selection) {
+        count = Math.max(count, 2);
+        if (count >= size) {
+            return null;
+        }
+        int[] indexes = new int[count];
+
+        if (selection == Selection.STRIDED) {
+            for (int i = 0; i < count; i++) {
+                indexes[i] = (int) ((long) i * (size - 1) / (count - 1));
+            }
+        } else {
+            selectRandomInner(indexes, size);
+            indexes[count - 1] = size - 1;
+        }
+        return indexes;
+    }
+
+
+    /**
+     * Fills the given array with 0, distinct random indexes from range
+     * [1, size - 2] in ascending order, and a placeholder for the last index.
+     * It uses Floyd's algorithm, so it takes O(count) random numbers.
+     */
+    private static void selectRandomInner(int[] indexes, int size) {
+        int inner = indexes.length - 2;
+        int range = size - 2;
+        LongHashSet selected = new LongHashSet(inner);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0, j = range - inner; j < range; i++, j++) {
+            int index = random.nextInt(j + 1) + 1;
+            if (! selected.add(index)) {
+                index = j + 1;
+                selected.add(index);
+            }
+            indexes[i + 1] = index;
+        }
+        indexes[0] = 0;
+        Arrays.sort(indexes, 1, inner + 1);
+    }
+
+    private static void validateArgs(Selection selection, int minSize) {
+        if (selection == null) {
+            throw new IllegalArgumentException("selection must not be null");
+        }
+        if (minSize < 0) {
+            throw new IllegalArgumentException("minSize must not be negative, but is: " + minSize);
+        }
+    }
+}
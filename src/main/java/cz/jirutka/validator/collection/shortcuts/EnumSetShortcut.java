@@ -0,0 +1,53 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.shortcuts;
+
+import cz.jirutka.validator.collection.CollectionShortcut;
+import cz.jirutka.validator.collection.constraints.In;
+import cz.jirutka.validator.collection.constraintvalidators.InValidatorForEnum;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Shortcut for {@link In} on an {@link EnumSet}. The set is compared with
+ * the allowed constants at once by {@link InValidatorForEnum#isValidAll(EnumSet)},
+ * i.e. by their bitmasks.
+ */
+public class EnumSetShortcut implements CollectionShortcut {
+
+    public boolean isValid(Collection<?> collection, Annotation constraint, ElementValidators validators,
+                           ConstraintValidatorContext context) {
+        if (!(collection instanceof EnumSet)) {
+            return false;
+        }
+        EnumSet<?> set = (EnumSet<?>) collection;
+        ConstraintValidator validator = validators.forType(set.iterator().next().getDeclaringClass());
+
+        return validator instanceof InValidatorForEnum && ((InValidatorForEnum) validator).isValidAll(set);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.shortcuts;
+
+import cz.jirutka.validator.collection.CollectionShortcut;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Shortcut for {@link NotNull}. Some collections cannot contain {@code null}
+ * at all (e.g. {@link EnumSet}, {@link ArrayDeque} or a {@link TreeSet} with
+ * natural ordering), so they are valid without looking at them. A
+ * {@link HashSet}, {@link LinkedHashSet} and a {@code TreeSet} with a
+ * comparator are asked by {@code contains(null)}, which is answered without iterating;
+ * if it throws an exception, it's not decided.
+ *
+ * <p>Only the exact JDK classes are recognized, not their subclasses, since
+ * a subclass may permit {@code null} or override {@code contains}.</p>
+ */
+public class NotNullShortcut implements CollectionShortcut {
+
+    // collections that don't permit null elements
+    private static final Set<Class<?>> NULL_HOSTILE_TYPES = new HashSet<Class<?>>(asList(
+            ArrayDeque.class, PriorityQueue.class, ConcurrentSkipListSet.class,
+            ConcurrentLinkedQueue.class, ConcurrentLinkedDeque.class,
+            ArrayBlockingQueue.class, LinkedBlockingQueue.class, LinkedBlockingDeque.class,
+            PriorityBlockingQueue.class, LinkedTransferQueue.class, DelayQueue.class));
+
+    // collections whose contains() is fast and consistent with iteration
+    private static final Set<Class<?>> HASHED_SET_TYPES = new HashSet<Class<?>>(asList(
+            HashSet.class, LinkedHashSet.class));
+
+
+    public boolean isValid(Collection<?> collection, Annotation constraint, ElementValidators validators,
+                           ConstraintValidatorContext context) {
+        Class<?> type = collection.getClass();
+
+        // EnumSet cannot be subclassed outside of java.util
+        if (collection instanceof EnumSet || NULL_HOSTILE_TYPES.contains(type)) {
+            return true;
+        }
+        // TreeSet with natural (or reversed) ordering doesn't permit null
+        if (type == TreeSet.class) {
+            Comparator<?> comparator = ((TreeSet<?>) collection).comparator();
+            return comparator == null || comparator == Collections.reverseOrder() || !containsNull(collection);
+        }
+        if (HASHED_SET_TYPES.contains(type)) {
+            return !containsNull(collection);
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns {@code true} if the collection contains {@code null}, or if
+     * it's not known, i.e. {@code contains(null)} throws an exception.
+     */
+    private static boolean containsNull(Collection<?> collection) {
+        try {
+            return collection.contains(null);
+        } catch (NullPointerException | ClassCastException ex) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.shortcuts;
+
+import cz.jirutka.validator.collection.CollectionShortcut;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Shortcut for bound constraints ({@link Min}, {@link Max}, {@link DecimalMin}
+ * and {@link DecimalMax}) on a {@link SortedSet} of numbers. If all elements
+ * must be greater (or less) than some value, it's enough to validate the
+ * least (or greatest) element of the set.
+ *
+ * <p>It's used only for sets sorted by the natural or reversed ordering of
+ * {@code Byte}, {@code Short}, {@code Integer}, {@code Long},
+ * {@code BigInteger} or {@code BigDecimal}, which is the same as their
+ * numeric ordering. Doubles are not supported, because NaN is ordered as the
+ * greatest value, but it's valid for both lower and upper bounds.</p>
+ */
+public class SortedSetBoundShortcut implements CollectionShortcut {
+
+    private static final Set<Class<?>> NUMERICALLY_ORDERED_TYPES = new HashSet<Class<?>>(asList(
+            Byte.class, Short.class, Integer.class, Long.class, BigInteger.class, BigDecimal.class));
+
+
+    @SuppressWarnings("unchecked")
+    public boolean isValid(Collection<?> collection, Annotation constraint, ElementValidators validators,
+                           ConstraintValidatorContext context) {
+        if (!(collection instanceof SortedSet)) {
+            return false;
+        }
+        Class<? extends Annotation> constraintType = constraint.annotationType();
+        boolean lowerBound = constraintType == Min.class || constraintType == DecimalMin.class;
+
+        if (!lowerBound && constraintType != Max.class && constraintType != DecimalMax.class) {
+            return false;
+        }
+        SortedSet<?> set = (SortedSet<?>) collection;
+        Comparator<?> comparator = set.comparator();
+        boolean reversed = comparator == Collections.reverseOrder();
+
+        if (comparator != null && !reversed) {
+            return false;
+        }
+        Object first = set.first();
+        Object last = set.last();
+
+        if (first.getClass() != last.getClass() || !NUMERICALLY_ORDERED_TYPES.contains(first.getClass())) {
+            return false;
+        }
+        Object extreme = lowerBound != reversed ? first : last;
+        ConstraintValidator validator = validators.forType(extreme.getClass());
+
+        return validator.isValid(extreme, context);
+    }
+}
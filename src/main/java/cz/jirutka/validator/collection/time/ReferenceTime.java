@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.time;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ValidationException;
+
+/**
+ * Holder of the {@link ReferenceClock} and the time captured for the
+ * collection being validated in the current thread.
+ *
+ * <p>The default clock uses the {@code TimeProvider} configured in Hibernate
+ * Validator 5.3 and newer, or the system clock in older versions.</p>
+ */
+public abstract class ReferenceTime {
+
+    private static final ReferenceClock DEFAULT_CLOCK = isTimeProviderSupported()
+            ? new HibernateClock()
+            : new SystemClock();
+
+    private static final ThreadLocal<Long> CAPTURED = new ThreadLocal<>();
+
+    private static volatile ReferenceClock clock = DEFAULT_CLOCK;
+
+
+    /**
+     * @return The registered clock, or the default clock.
+     */
+    public static ReferenceClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Registers the clock to read the current time from.
+     *
+     * @param clock The clock, or <tt>null</tt> to use the default one.
+     */
+    public static void setClock(ReferenceClock clock) {
+        ReferenceTime.clock = clock != null ? clock : DEFAULT_CLOCK;
+    }
+
+    /**
+     * Returns the time captured by {@link #capture(ConstraintValidatorContext)}
+     * in the current thread, or reads it from the clock if nothing is
+     * captured.
+     *
+     * @param context The context of the current validation, may be <tt>null</tt>.
+     * @return The current time in milliseconds since the epoch.
+     */
+    public static long currentTimeMillis(ConstraintValidatorContext context) {
+        Long captured = CAPTURED.get();
+
+        return captured != null ? captured : clock.currentTimeMillis(context);
+    }
+
+    /**
+     * Reads the current time from the clock and holds it for the current
+     * thread until {@link #release()} is called. If the time is already
+     * captured, it does nothing.
+     *
+     * @param context The context of the current validation, may be <tt>null</tt>.
+     * @return Whether the time has been captured by this call, i.e. the caller
+     *         is responsible for releasing it.
+     */
+    public static boolean capture(ConstraintValidatorContext context) {
+        if (CAPTURED.get() != null) {
+            return false;
+        }
+        CAPTURED.set(clock.currentTimeMillis(context));
+        return true;
+    }
+
+    /**
+     * Releases the time captured in the current thread.
+     */
+    public static void release() {
+        CAPTURED.remove();
+    }
+
+
+    private static boolean isTimeProviderSupported() {
+        try {
+            Class.forName("org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext")
+                    .getMethod("getTimeProvider");
+            return true;
+
+        } catch (ClassNotFoundException | NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+
+    //////// Inner classes ////////
+
+    static class SystemClock implements ReferenceClock {
+
+        public long currentTimeMillis(ConstraintValidatorContext context) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    static class HibernateClock implements ReferenceClock {
+
+        public long currentTimeMillis(ConstraintValidatorContext context) {
+            if (context == null) {
+                return System.currentTimeMillis();
+            }
+            try {
+                return context.unwrap(HibernateConstraintValidatorContext.class)
+                        .getTimeProvider().getCurrentTime();
+
+            } catch (ValidationException ex) {
+                // not a Hibernate Validator's context
+                return System.currentTimeMillis();
+            }
+        }
+    }
+}
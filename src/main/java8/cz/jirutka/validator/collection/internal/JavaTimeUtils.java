@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+
+/**
+ * Comparison of the {@code java.time} types with a time in milliseconds
+ * without creating a temporal object for it.
+ *
+ * <p>This class is compiled only on JDK 8 and newer!</p>
+ */
+public abstract class JavaTimeUtils {
+
+    /**
+     * @return A negative integer, zero, or a positive integer as the value is
+     *         before, equal to, or after the given time.
+     */
+    public static int compare(Instant value, long epochMilli) {
+        return compare(value.getEpochSecond(), value.getNano(), epochMilli);
+    }
+
+    /**
+     * @see #compare(Instant, long)
+     */
+    public static int compare(OffsetDateTime value, long epochMilli) {
+        // OffsetDateTime with the same instant and offset is equal
+        return compare(value.toEpochSecond(), value.getNano(), epochMilli);
+    }
+
+    /**
+     * The result is the same as of {@link ChronoZonedDateTime#compareTo}
+     * with the time converted to {@link ZonedDateTime} in the value's zone.
+     *
+     * @see #compare(Instant, long)
+     */
+    public static int compare(ChronoZonedDateTime<?> value, long epochMilli) {
+        int result = compare(value.toEpochSecond(), value.toLocalTime().getNano(), epochMilli);
+
+        if (result != 0) {
+            return result;
+        }
+        // the same instant, but it may still differ in chronology
+        return value.compareTo(ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), value.getZone()));
+    }
+
+
+    private static int compare(long epochSecond, int nano, long epochMilli) {
+        long second = epochMilli / 1000;
+        int milli = (int) (epochMilli % 1000);
+
+        if (milli < 0) {  // floor division
+            second--;
+            milli += 1000;
+        }
+        if (epochSecond != second) {
+            return epochSecond < second ? -1 : 1;
+        }
+        int nanoOfMilli = milli * 1000000;
+
+        return nano < nanoOfMilli ? -1 : nano > nanoOfMilli ? 1 : 0;
+    }
+}
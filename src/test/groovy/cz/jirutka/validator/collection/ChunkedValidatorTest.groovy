@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection
+
+import cz.jirutka.validator.collection.ChunkedValidator.Checkpoint
+import cz.jirutka.validator.collection.ChunkedValidator.Failure
+import cz.jirutka.validator.collection.ChunkedValidator.ProgressListener
+import cz.jirutka.validator.collection.constraints.EachPast
+import cz.jirutka.validator.collection.constraints.EachScriptAssert
+import cz.jirutka.validator.collection.constraints.EachSize
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+@Unroll
+class ChunkedValidatorTest extends Specification {
+
+    static final VALUES = ['ab', 'x', 'cd', 'ef', 'y', 'gh', 'ij']
+
+    static final EXPECTED_FAILURES = [
+        new Failure(1, 'size must be between 2 and 2147483647'),
+        new Failure(4, 'size must be between 2 and 2147483647')
+    ]
+
+    def validator = new ChunkedValidator(createAnnotation(EachSize, min: 2), 3)
+
+
+    def 'validate: validate all chunks and report failures of each chunk'() {
+        setup:
+            def progress = []
+            def listener = { checkpoint, size ->
+                progress << [checkpoint.nextIndex, size, checkpoint.chunkFailures*.index]; true
+            } as ProgressListener
+        when:
+            def checkpoint = validator.validate(VALUES, Checkpoint.START, listener)
+        then:
+            checkpoint.isComplete(VALUES)
+            ! checkpoint.valid
+            checkpoint.failureCount == 2
+            checkpoint.chunkFailures.empty
+            progress == [[3, 7, [1]], [6, 7, [4]], [7, 7, []]]
+    }
+
+    def 'validate: pause when listener returns false and resume from the checkpoint'() {
+        setup:
+            def listener = { checkpoint, size -> checkpoint.nextIndex < 3 } as ProgressListener
+        when:
+            def checkpoint = validator.validate(VALUES, Checkpoint.START, listener)
+        then:
+            checkpoint.nextIndex == 3
+            ! checkpoint.isComplete(VALUES)
+            checkpoint.chunkFailures == EXPECTED_FAILURES.take(1)
+        when:
+            checkpoint = validator.validate(VALUES, deserialize(serialize(checkpoint)), null)
+        then:
+            checkpoint.isComplete(VALUES)
+            checkpoint.failureCount == 2
+    }
+
+    def 'validateChunk: validate single chunk of #list.class.simpleName'() {
+        when:
+            def first = validator.validateChunk(list, Checkpoint.START)
+            def second = validator.validateChunk(list, first)
+        then:
+            first.chunkFailures == EXPECTED_FAILURES.take(1)
+            second.nextIndex == 6
+            second.chunkFailures == EXPECTED_FAILURES.drop(1)
+            second.failureCount == 2
+        where:
+            list << [VALUES, new LinkedList(VALUES)]
+    }
+
+    def 'validateChunk: throw IllegalArgumentException when checkpoint is beyond the list'() {
+        setup:
+            def checkpoint = validator.validate(VALUES, Checkpoint.START, null)
+        when:
+            validator.validateChunk(VALUES.take(3), checkpoint)
+        then:
+            thrown IllegalArgumentException
+    }
+
+    def 'validate: support #constraint.annotationType().simpleName'() {
+        setup:
+            def validator = new ChunkedValidator(constraint, 3)
+        expect:
+            validator.validateChunk(values, Checkpoint.START).chunkFailures*.index == expected
+        where:
+            constraint                                                                                 | values                                  || expected
+            createAnnotation(EachPast)                                                                 | [new Date(0), new Date(Long.MAX_VALUE)] || [1]
+            createAnnotation(EachScriptAssert, lang: 'javascript', script: '_this > 1', reportOn: 'x') | [1, 2, 0]                               || [0, 2]
+    }
+
+    def 'throw IllegalArgumentException for non-positive chunk size'() {
+        when:
+            new ChunkedValidator(createAnnotation(EachSize, min: 2), 0)
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    static byte[] serialize(Serializable obj) {
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withStream { it.writeObject(obj) }
+        bytes.toByteArray()
+    }
+
+    static deserialize(byte[] bytes) {
+        new ObjectInputStream(new ByteArrayInputStream(bytes)).withStream { it.readObject() }
+    }
+}
@@ -23,7 +23,12 @@
  */
 package cz.jirutka.validator.collection
 
+import cz.jirutka.validator.collection.constraints.EachSize
 import cz.jirutka.validator.collection.internal.HibernateValidatorInfo
+import cz.jirutka.validator.collection.limits.Limits
+import cz.jirutka.validator.collection.limits.ValidationLimits
+import cz.jirutka.validator.collection.time.ReferenceClock
+import cz.jirutka.validator.collection.time.ReferenceTime
 import spock.lang.Ignore
 import spock.lang.Issue
 import spock.lang.Specification
@@ -31,12 +36,17 @@ import spock.lang.Unroll
 
 import static cz.jirutka.validator.collection.TestUtils.evalClassWithConstraint
 import static cz.jirutka.validator.collection.TestUtils.validate
+import static java.util.concurrent.TimeUnit.MILLISECONDS
+import static java.util.concurrent.TimeUnit.MINUTES
 
 @Unroll
 class CommonEachValidatorIT extends Specification {
 
     static HV_VERSION = HibernateValidatorInfo.getVersion()
 
+    // older HV doesn't load the ContributorValidationMessages bundle
+    static DEFAULT_TIME_MESSAGE = HV_VERSION >= 5_2_0 ? 'took too long to validate' : "{${Limits.TIME_MESSAGE_KEY}}"
+
     def constraint = null
 
 
@@ -104,7 +114,7 @@ class CommonEachValidatorIT extends Specification {
             ['allons-y!'] | 'valid value'                      || true    | null
     }
 
-    @Ignore('should be fixed!') @Issue('#8')
+    @Issue('#8')
     def 'validate @EachX for constraint that uses @OverridesAttribute [ #desc value ]'() {
         given:
             constraint = '@EachURL(protocol="https", regexp=".*[^x]$")'
@@ -124,6 +134,126 @@ class CommonEachValidatorIT extends Specification {
             assertViolations(['http://fit.cvut.cz'], false, 0, 'must be a valid URL with https')
     }
 
+    def 'validate @EachX with batch validator [ #desc ]'() {
+        given:
+            constraint = '@EachScriptAssert(lang="javascript", batch=true, batchSize=2, message="must be >= 3", ' +
+                         'script="var r = []; for (var i = 0; i < _this.size(); i++) if (_this.get(i) < 3) r.push(i); r")'
+        expect:
+            assertViolations values, isValid, invalidIndex, 'must be >= 3'
+        where:
+            values          | desc                          || isValid | invalidIndex
+            [1, 5, 6]       | 'first value invalid'         || false   | 0
+            [3, 4, 5, 1, 2] | 'value in last batch invalid' || false   | 3
+            [3, 4, 5, 6]    | 'valid values'                || true    | null
+    }
+
+    def 'validate @EachUnique [ #desc ]'() {
+        given:
+            constraint = annotation
+        expect:
+            assertViolations values, isValid, invalidIndex, 'must not contain duplicate elements'
+        where:
+            annotation                    | values                    | desc                      || isValid | invalidIndex
+            '@EachUnique'                 | ['a', 'b', 'a', 'b']      | 'duplicate strings'       || false   | 2
+            '@EachUnique'                 | [1, 2, 3, 2]              | 'duplicate integers'      || false   | 3
+            '@EachUnique'                 | [1, 1L]                   | 'integer and long'        || true    | null
+            '@EachUnique'                 | ['a', null, 'b', null]    | 'unique values and nulls' || true    | null
+            '@EachUnique(by=LengthKey)'   | ['a', 'bc', 'd']          | 'duplicate key'           || false   | 2
+            '@EachUnique(by=LengthKey)'   | ['a', 'bc', 'def']        | 'unique keys'             || true    | null
+    }
+
+    def 'validate @EachPast against the time read once per collection'() {
+        setup:
+            def reads = 0
+            ReferenceTime.clock = { ctx -> reads++; 1000L } as ReferenceClock
+        and:
+            def entity = evalClassWithConstraint('@EachPast', null)
+            entity.valuesList = [new Date(10), Calendar.getInstance().with { timeInMillis = 999L; it }, new Date(500)]
+        expect:
+            validate(entity).empty
+            reads == 1
+        cleanup:
+            ReferenceTime.clock = null
+    }
+
+    def 'validate collection shared by two properties just once in ValidationScope [ #desc ]'() {
+        setup:
+            def tags = new CountingList(values)
+            def entity = new SharedTags(tags: tags, labels: tags)
+            def expectedPaths = HV_VERSION >= 5_0_0 ? ['labels[1]', 'tags[1]'] : ['labels', 'tags']
+        when:
+            def scope = ValidationScope.open()
+            def violations = validate(entity)
+            scope.close()
+        then:
+            tags.iterations == 1
+            violations*.propertyPath*.toString().sort() == (isValid ? [] : expectedPaths)
+            violations*.message.every { it == 'size must be between 2 and 2147483647' }
+        and:
+            ! ValidationScope.isOpen()
+        where:
+            values        | desc             || isValid
+            ['ab', 'c']   | 'invalid value'  || false
+            ['ab', 'cd']  | 'valid values'   || true
+    }
+
+    def 'validate ValidatedList incrementally'() {
+        setup:
+            def eachSize = SharedTags.getDeclaredField('tags').getAnnotation(EachSize)
+            def delegate = new CountingList(['ab', 'cd'])
+            def entity = new SharedTags(tags: ValidatedList.wrap(delegate, eachSize))
+            def propertyPath = HV_VERSION >= 5_0_0 ? 'tags[3]' : 'tags'
+        expect:
+            validate(entity).empty
+        when:
+            entity.tags.addAll(['ef', 'x'])
+            def violations = validate(entity)
+        then:
+            violations*.propertyPath*.toString() == [propertyPath]
+        when:
+            entity.tags[3] = 'xy'
+        then:
+            validate(entity).empty
+            delegate.iteratedFrom == [0, 2, 3]
+    }
+
+    def 'validate @EachX with limits [ #desc ]'() {
+        setup:
+            ValidationLimits.set(EachSize, limits)
+            def entity = evalClassWithConstraint('@EachSize(min=1)', null)
+            entity.valuesList = new SlowList(['a'] * 100)
+        when:
+            def violations = validate(entity)
+        then:
+            violations*.message == messages
+            violations*.propertyPath*.toString().every { it == 'valuesList' }
+        cleanup:
+            ValidationLimits.set(EachSize, null)
+        where:
+            limits                                                           || messages                            | desc
+            Limits.NONE.withMaxSize(100)                                     || []                                  | 'size within limit'
+            Limits.NONE.withMaxSize(99)                                      || ['exceeds the maximal size']        | 'max size exceeded, localized message'
+            Limits.NONE.withMaxSize(99).withMessages('too large', 'slow')    || ['too large']                       | 'custom message'
+            Limits.NONE.withTimeBudget(1, MILLISECONDS).withCheckInterval(1) || [DEFAULT_TIME_MESSAGE]              | 'time budget exceeded, default message'
+            Limits.NONE.withTimeBudget(1, MINUTES)                           || []                                  | 'time within budget'
+    }
+
+    def 'validate ValidatedList within time budget and continue where it has stopped'() {
+        setup:
+            ValidationLimits.set(EachSize, Limits.NONE.withTimeBudget(1, MILLISECONDS).withCheckInterval(1))
+            def eachSize = SharedTags.getDeclaredField('tags').getAnnotation(EachSize)
+            def entity = new SharedTags(tags: ValidatedList.wrap(new SlowList(['ab'] * 20), eachSize))
+            def passes = 1
+        when:
+            while (! validate(entity).empty) {
+                passes++
+            }
+        then:
+            passes > 1
+        cleanup:
+            ValidationLimits.set(EachSize, null)
+    }
+
     def 'validate legacy @EachX constraint [ #desc ]'() {
         given:
             constraint = '@LegacyEachSize(@Size(min=2, max=6))'
@@ -138,6 +268,51 @@ class CommonEachValidatorIT extends Specification {
 
     //////// Helpers ////////
 
+    static class SharedTags {
+        @EachSize(min = 2) List<String> tags
+        @EachSize(min = 2) List<String> labels
+    }
+
+    static class SlowList extends LinkedList {
+
+        SlowList(Collection values) {
+            super(values)
+        }
+
+        ListIterator listIterator(int index) {
+            def iterator = super.listIterator(index)
+            [hasNext: { iterator.hasNext() }, next: { Thread.sleep(1); iterator.next() }] as ListIterator
+        }
+
+        int hashCode() {
+            System.identityHashCode(this)
+        }
+    }
+
+    static class CountingList extends LinkedList {
+        int iterations
+        def iteratedFrom = []
+
+        CountingList(Collection values) {
+            super(values)
+        }
+
+        Iterator iterator() {
+            iterations++
+            super.iterator()
+        }
+
+        ListIterator listIterator(int index) {
+            iteratedFrom << index
+            super.listIterator(index)
+        }
+
+        // don't count iterations done by HV when collecting violations
+        int hashCode() {
+            System.identityHashCode(this)
+        }
+    }
+
     void assertViolations(Object value, boolean shouldBeValid, Integer invalidIndex, String expectedMessage) {
         def entity = evalClassWithConstraint(constraint, value)
         def propertyPath = HV_VERSION >= 5_0_0 ? "valuesList[${invalidIndex}]" : 'valuesList'
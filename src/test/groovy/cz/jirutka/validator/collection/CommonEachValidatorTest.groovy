@@ -23,17 +23,35 @@
  */
 package cz.jirutka.validator.collection
 
+import cz.jirutka.validator.collection.constraints.EachDecimalMax
+import cz.jirutka.validator.collection.constraints.EachMax
+import cz.jirutka.validator.collection.constraints.EachMin
+import cz.jirutka.validator.collection.constraints.EachNotNull
+import cz.jirutka.validator.collection.constraints.EachPattern
+import cz.jirutka.validator.collection.constraints.EachSize
 import cz.jirutka.validator.collection.fixtures.LegacyEachSize
+import cz.jirutka.validator.collection.immutable.ImmutabilityDetector
+import cz.jirutka.validator.collection.immutable.ImmutableCollections
+import cz.jirutka.validator.collection.instrument.Instrumentation
+import cz.jirutka.validator.collection.instrument.ValidationListener
+import cz.jirutka.validator.collection.sampling.Sampling
+import cz.jirutka.validator.collection.sampling.SamplingPolicy
 import spock.lang.Specification
+import spock.lang.Unroll
 
+import javax.validation.ConstraintValidatorContext
+import javax.validation.ConstraintValidatorFactory
 import javax.validation.MessageInterpolator
 import javax.validation.MessageInterpolator.Context
+import javax.validation.Validation
 import javax.validation.ValidatorFactory
 import javax.validation.constraints.Pattern
 import javax.validation.constraints.Size
 import javax.validation.metadata.ConstraintDescriptor
+import java.lang.annotation.Annotation
 
 import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.sampling.SamplingPolicy.Selection.STRIDED
 
 // TODO more tests
 class CommonEachValidatorTest extends Specification {
@@ -63,6 +81,148 @@ class CommonEachValidatorTest extends Specification {
             actual == expected
     }
 
+    def 'getInterpolatedMessage: should interpolate message only once when template does not refer to value'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: Validation.buildDefaultValidatorFactory())
+            def constraint = initializeLegacy(validator, createAnnotation(Size, min: 2, message: 'shorter than {min}'))
+        when:
+            def messages = ['a', 'b', 'c'].collect { validator.getInterpolatedMessage(constraint, it) }
+        then:
+            messages == ['shorter than 2'] * 3
+            messages.every { it.is(messages[0]) }
+    }
+
+    @Unroll
+    def 'getInterpolatedMessage: should interpolate message per value when template #desc'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: Validation.buildDefaultValidatorFactory())
+            def constraint = initializeLegacy(validator, createAnnotation(Size, min: 2, message: template))
+        when:
+            def messages = ['a', 'b'].collect { validator.getInterpolatedMessage(constraint, it) }
+        then:
+            messages == expected
+            constraint.messageValueDependency[Locale.default] == true
+        where:
+            template                         | expected                                   | desc
+            '${validatedValue} is too short' | ['a is too short', 'b is too short']       | 'refers to value'
+            '{unknown.message}'              | ['{unknown.message}', '{unknown.message}'] | 'refers to unknown parameter'
+    }
+
+    def 'getInterpolatedMessage: should interpolate message every time with custom interpolator'() {
+        setup:
+            def constraint = initializeLegacy(createAnnotation(Size, min: 2, message: 'too short'))
+        when:
+            def messages = ['a', 'b', 'c'].collect { validator.getInterpolatedMessage(constraint, it) }
+        then:
+            3 * interpolator.interpolate('too short', _ as Context) >> 'interpolated'
+        and:
+            messages == ['interpolated'] * 3
+    }
+
+    @Unroll
+    def 'isValid: #constraint.annotationType().simpleName on #desc #iterated iterate it'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: Validation.buildDefaultValidatorFactory())
+            validator.initialize(constraint)
+        and:
+            def set = new CountingTreeSet(comparator)
+            set.addAll(values)
+        expect:
+            validator.isValid(set, Stub(ConstraintValidatorContext)) == valid
+            (set.iterations > 0) == (iterated == 'should')
+        where:
+            constraint                                     | values       | comparator                        | valid | iterated   | desc
+            createAnnotation(EachMin, value: 3L)           | [3, 7, 5]    | null                              | true  | 'does not' | 'valid sorted set'
+            createAnnotation(EachMin, value: 3L)           | [3, 7, 2]    | null                              | false | 'should'   | 'invalid sorted set'
+            createAnnotation(EachMax, value: 7L)           | [3L, 7L, 5L] | null                              | true  | 'does not' | 'valid sorted set'
+            createAnnotation(EachMax, value: 7L)           | [3L, 8L, 5L] | Collections.reverseOrder()        | false | 'should'   | 'invalid reversed set'
+            createAnnotation(EachMin, value: 3L)           | [3, 7, 5]    | Collections.reverseOrder()        | true  | 'does not' | 'valid reversed set'
+            createAnnotation(EachDecimalMax, value: '1.5') | [1.5, 0.2]   | null                              | true  | 'does not' | 'valid sorted set of BigDecimals'
+            createAnnotation(EachMin, value: 3L)           | [3, 7, 5]    | { a, b -> a <=> b } as Comparator | true  | 'should'   | 'set with custom comparator'
+            createAnnotation(EachMin, value: 3L)           | ['3', '10']  | null                              | true  | 'should'   | 'sorted set of strings'
+            createAnnotation(EachMin, value: 3L)           | [3.5d, 7d]   | null                              | true  | 'should'   | 'sorted set of doubles'
+            createAnnotation(EachSize, min: 1)             | ['a', 'bc']  | null                              | true  | 'should'   | 'not a bound constraint'
+    }
+
+    def 'isValid: should not create #constraint.annotationType().simpleName validator per null element'() {
+        setup:
+            def defaultFactory = Validation.buildDefaultValidatorFactory()
+            def instances = 0
+            def validatorFactory = Stub(ConstraintValidatorFactory) {
+                getInstance(_) >> { Class type ->
+                    instances++
+                    defaultFactory.constraintValidatorFactory.getInstance(type)
+                }
+            }
+            def validator = new CommonEachValidator(validatorFactory: Stub(ValidatorFactory) {
+                getConstraintValidatorFactory() >> validatorFactory
+                getMessageInterpolator() >> defaultFactory.messageInterpolator
+            })
+            validator.initialize(constraint)
+        expect:
+            validator.isValid([null] * 100, Stub(ConstraintValidatorContext)) == valid
+            instances <= 1
+        where:
+            constraint                                   | valid
+            createAnnotation(EachSize, min: 1)           | true
+            createAnnotation(EachPattern, regexp: 'a.*') | true
+            createAnnotation(EachMin, value: 3L)         | true
+            createAnnotation(EachNotNull)                | false
+    }
+
+    def 'isValid: should not revalidate immutable collection that #desc'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: Validation.buildDefaultValidatorFactory())
+            validator.initialize(constraint)
+        and:
+            def set = new CountingTreeSet(null)
+            set.addAll(['a', 'bc'])
+            def detector = { it.is(set) } as ImmutabilityDetector
+            ImmutableCollections.addDetector(detector)
+            ImmutableCollections.cachingEnabled = enabled
+        when:
+            def results = (1..3).collect { validator.isValid(set, Stub(ConstraintValidatorContext)) }
+        then:
+            results.every { it == valid }
+            set.iterations == iterations
+        cleanup:
+            ImmutableCollections.removeDetector(detector)
+            ImmutableCollections.cachingEnabled = false
+        where:
+            constraint                          | enabled | valid | iterations | desc
+            createAnnotation(EachSize, min: 1)  | true    | true  | 1          | 'has passed'
+            createAnnotation(EachSize, min: 2)  | true    | false | 3          | 'has failed'
+            createAnnotation(EachSize, min: 1)  | false   | true  | 3          | 'has passed, when caching is disabled'
+    }
+
+    def 'isValid: should validate only sampled elements of #collection.class.simpleName'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: Validation.buildDefaultValidatorFactory())
+            validator.initialize(createAnnotation(EachSize, min: 2))
+        and:
+            def events = []
+            Instrumentation.listener = new ValidationListener() {
+                void collectionSampled(Annotation eachAnnotation, int size, int sampled, int invalidIndex) {
+                    events << [size, sampled, invalidIndex]
+                }
+            }
+            Sampling.policy = SamplingPolicy.count(3, STRIDED, 5)
+        when:
+            def valid = validator.isValid(collection, Stub(ConstraintValidatorContext))
+        then:
+            valid == expected
+            events == [[7, sampled, invalidIndex]]
+        cleanup:
+            Sampling.policy = null
+            Instrumentation.listener = null
+        where:
+            collection                                                        | expected | sampled | invalidIndex
+            ['ab', 'x', 'cd', 'ef', 'gh', 'x', 'ij']                          | true     | 3       | -1
+            ['ab', 'x', 'cd', 'x', 'gh', 'x', 'ij']                           | false    | 2       | 3
+            new LinkedList(['ab', 'x', 'cd', 'ef', 'gh', 'x', 'ij'])          | true     | 3       | -1
+            new LinkedList(['ab', 'cd', 'ef', 'gh', 'ij', 'kl', 'x'])         | false    | 3       | 6
+    }
+
     def 'unwrapConstraints'() {
         given:
             def expected = [ createAnnotation(Size, min: 10), createAnnotation(Size) ] as Size[]
@@ -70,4 +230,30 @@ class CommonEachValidatorTest extends Specification {
         expect:
             validator.unwrapConstraints(eachAnno) == expected
     }
+
+
+    //////// Helpers ////////
+
+    def initializeLegacy(Size constraint) {
+        initializeLegacy(validator, constraint)
+    }
+
+    def initializeLegacy(CommonEachValidator validator, Size constraint) {
+        validator.initialize(createAnnotation(LegacyEachSize, value: [constraint] as Size[]))
+        validator.constraints[0]
+    }
+
+
+    static class CountingTreeSet extends TreeSet {
+        int iterations
+
+        CountingTreeSet(Comparator comparator) {
+            super((Comparator) comparator)
+        }
+
+        Iterator iterator() {
+            iterations++
+            super.iterator()
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection
+
+import cz.jirutka.validator.collection.constraints.EachSize
+import spock.lang.Specification
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+class ValidatedListTest extends Specification {
+
+    def eachAnnotation = createAnnotation(EachSize, min: 2)
+
+    def validator = new RecordingValidator()
+
+
+    def 'validatePending: validate all elements for the first time'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd', 'ef'], eachAnnotation)
+        expect:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated == ['ab', 'cd', 'ef']
+    }
+
+    def 'validatePending: validate only appended and replaced elements'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd', 'ef'], eachAnnotation)
+            list.validatePending(eachAnnotation, validator)
+            validator.validated.clear()
+        when:
+            list.set(1, 'xy')
+            list.addAll(['gh', 'ij'])
+            list << 'kl'
+        then:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated == ['xy', 'gh', 'ij', 'kl']
+        when:
+            validator.validated.clear()
+        then:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated.empty
+    }
+
+    def 'validatePending: revalidate elements from index of #desc'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd', 'ef', 'gh'], eachAnnotation)
+            list.validatePending(eachAnnotation, validator)
+            validator.validated.clear()
+        when:
+            modify(list)
+        then:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated == expected
+        where:
+            desc                  | modify                                              || expected
+            'inserted element'    | { it.add(2, 'xy') }                                 || ['xy', 'ef', 'gh']
+            'removed element'     | { it.remove(1) }                                    || ['ef', 'gh']
+            'removed by iterator' | { it.iterator().with { next(); next(); remove() } } || ['ef', 'gh']
+            'clear'               | { it.clear(); it << 'xy' }                          || ['xy']
+    }
+
+    def 'validatePending: report the first invalid element and revalidate it next time'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd'], eachAnnotation)
+            list.validatePending(eachAnnotation, validator)
+            validator.validated.clear()
+        when:
+            list.addAll(['ef', 'x', 'gh'])
+        then:
+            ! list.validatePending(eachAnnotation, validator)
+            validator.validated == ['ef', 'x']
+            validator.reported == [['x', 3]]
+        when:
+            validator.validated.clear()
+            list.set(3, 'xy')
+        then:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated == ['xy', 'gh']
+    }
+
+    def 'validatePending: report replaced invalid element'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd', 'ef'], eachAnnotation)
+            list.validatePending(eachAnnotation, validator)
+        when:
+            list.set(1, 'x')
+        then:
+            ! list.validatePending(eachAnnotation, validator)
+            validator.reported == [['x', 1]]
+    }
+
+    def 'validatePending: stop when budget is exceeded and continue from there next time'() {
+        setup:
+            def list = ValidatedList.wrap(['ab', 'cd', 'ef', 'gh', 'ij'], eachAnnotation)
+            list.validatePending(eachAnnotation, validator)
+            list.set(1, 'xy')
+            list.set(3, 'zz')
+            list.add(0, 'kl')
+            validator.validated.clear()
+            validator.budget = 2
+        expect:
+            ! list.validatePending(eachAnnotation, validator)
+            validator.validated == ['kl', 'ab']
+        when:
+            validator.validated.clear()
+            validator.budget = -1
+        then:
+            list.validatePending(eachAnnotation, validator)
+            validator.validated == ['xy', 'ef', 'zz', 'ij']
+    }
+
+    def 'isTracked'() {
+        setup:
+            def list = ValidatedList.wrap([], eachAnnotation)
+        expect:
+            list.isTracked(createAnnotation(EachSize, min: 2))
+            ! list.isTracked(createAnnotation(EachSize, min: 3))
+    }
+
+
+    static class RecordingValidator implements IncrementalCollection.ElementValidator {
+        def validated = []
+        def reported = []
+        def budget = -1  // number of elements to validate, or -1 for unlimited
+
+        boolean isValid(Object element) {
+            validated << element
+            element.size() >= 2
+        }
+
+        boolean isBudgetExceeded() {
+            budget >= 0 && validated.size() >= budget
+        }
+
+        void reportViolation(Object element, int index) {
+            reported << [element, index]
+        }
+    }
+}
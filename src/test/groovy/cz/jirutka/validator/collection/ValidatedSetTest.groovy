@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection
+
+import cz.jirutka.validator.collection.ValidatedListTest.RecordingValidator
+import cz.jirutka.validator.collection.constraints.EachSize
+import spock.lang.Specification
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+class ValidatedSetTest extends Specification {
+
+    def eachAnnotation = createAnnotation(EachSize, min: 2)
+
+    def validator = new RecordingValidator()
+
+
+    def 'validatePending: validate only added elements'() {
+        setup:
+            def set = ValidatedSet.wrap(new LinkedHashSet(['ab', 'cd']), eachAnnotation)
+        when:
+            def valid = set.validatePending(eachAnnotation, validator)
+        then:
+            valid
+            validator.validated == ['ab', 'cd']
+        when:
+            validator.validated.clear()
+            set.addAll(['cd', 'ef', 'gh'])
+            set.remove('gh')
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated == ['ef']
+    }
+
+    def 'validatePending: report the first invalid element at its index and revalidate it next time'() {
+        setup:
+            def set = ValidatedSet.wrap(new LinkedHashSet(['ab', 'x', 'cd']), eachAnnotation)
+        expect:
+            ! set.validatePending(eachAnnotation, validator)
+            validator.reported == [['x', 1]]
+        when:
+            validator.validated.clear()
+            validator.reported.clear()
+            set << 'y'
+        then:
+            ! set.validatePending(eachAnnotation, validator)
+            validator.validated == ['x']
+            validator.reported == [['x', 1]]
+        when:
+            validator.validated.clear()
+            set.iterator().with { next(); next(); remove() }
+            set.remove('y')
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated == ['cd']
+    }
+
+    def 'validatePending: stop when budget is exceeded and continue from there next time'() {
+        setup:
+            def set = ValidatedSet.wrap(new LinkedHashSet(['ab', 'cd', 'ef']), eachAnnotation)
+            validator.budget = 2
+        expect:
+            ! set.validatePending(eachAnnotation, validator)
+            validator.validated == ['ab', 'cd']
+        when:
+            validator.validated.clear()
+            validator.budget = -1
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated == ['ef']
+        when:
+            validator.validated.clear()
+            set.addAll(['gh', 'ij'])
+            validator.budget = 1
+        then:
+            ! set.validatePending(eachAnnotation, validator)
+            validator.validated == ['gh']
+        when:
+            validator.validated.clear()
+            validator.budget = -1
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated == ['ij']
+    }
+
+    def 'validatePending: validate all again when modified after stopped by budget'() {
+        setup:
+            def set = ValidatedSet.wrap(new LinkedHashSet(['ab', 'cd', 'ef']), eachAnnotation)
+            validator.budget = 2
+            set.validatePending(eachAnnotation, validator)
+        when:
+            validator.validated.clear()
+            validator.budget = -1
+            set.remove('ab')
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated == ['cd', 'ef']
+    }
+
+    def 'validatePending: report the first invalid element in the iteration order, not in the order added'() {
+        setup:
+            def set = ValidatedSet.wrap(new TreeSet(['ab']), eachAnnotation)
+            set.validatePending(eachAnnotation, validator)
+            validator.validated.clear()
+            set.addAll(['y', 'x'])
+        expect:
+            ! set.validatePending(eachAnnotation, validator)
+            validator.validated == ['y', 'x']
+            validator.reported == [['x', 1]]
+    }
+
+    def 'validatePending: track elements of identity set by identity'() {
+        setup:
+            def set = ValidatedSet.wrap(Collections.newSetFromMap(new IdentityHashMap()), eachAnnotation)
+            def elements = [new String('ab'), new String('ab')]
+        when:
+            set.addAll(elements)
+        then:
+            set.size() == 2
+            set.validatePending(eachAnnotation, validator)
+            validator.validated.size() == 2
+            validator.validated.every { e -> elements.any { it.is(e) } }
+        when:
+            validator.validated.clear()
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated.empty
+    }
+
+    def 'validatePending: validate element re-added after removing its equal instance'() {
+        setup:
+            def set = ValidatedSet.wrap(new HashSet(['ab']), eachAnnotation)
+            def readded = new String('cd')
+            set.validatePending(eachAnnotation, validator)
+            validator.validated.clear()
+        when:
+            set << new String('cd')
+            set.remove(new String('cd'))
+            set << readded
+        then:
+            set.validatePending(eachAnnotation, validator)
+            validator.validated.size() == 1
+            validator.validated[0].is(readded)
+    }
+}
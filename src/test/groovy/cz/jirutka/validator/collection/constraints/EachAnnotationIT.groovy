@@ -31,6 +31,8 @@ import org.hibernate.validator.constraints.Range
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.math.RoundingMode
+
 import static cz.jirutka.validator.collection.TestUtils.evalClassWithConstraint
 import static cz.jirutka.validator.collection.TestUtils.validate
 
@@ -58,6 +60,11 @@ class EachAnnotationIT extends Specification {
             EachMod11Check, EachSafeHtml
     ]
 
+    // List of @Each* annotations for constraints provided by this library.
+    static final CONSTRAINTS_LIBRARY = [
+            EachIn
+    ]
+
     // List of @Each* annotations which are only a composition of other @Each* annotations.
     static final COMPOSITE_CONSTRAINTS = [
             EachCreditCardNumber, EachNotEmpty, EachRange
@@ -122,6 +129,9 @@ class EachAnnotationIT extends Specification {
             EachEAN         | [:]                       | ['1234567890128']  | ['1234567890128', '66']
             EachEmail       | [:]                       | ['x@y.z', 'a@b.c'] | ['x@y.z', 'ab.c']
             EachFuture      | [:]                       | [futureDate()]     | [pastDate()]
+            EachIn          | [value: ['CZK', 'EUR']]   | ['CZK', 'EUR']     | ['CZK', 'USD']
+            EachIn          | [value: ['1', '2']]       | [1, 2L, 2.0]       | [1, 3]
+            EachIn          | [value: ['UP', 'DOWN']]   | [RoundingMode.UP]  | [RoundingMode.UP, RoundingMode.CEILING]
             EachLength      | [min: 1, max: 3]          | ['a', 'foo']       | ['a', 'allons-y!']
             EachLuhnCheck   | [:]                       | ['79927398713']    | ['79927398714']
             EachMax         | [value: 3L]               | [1, 2, 3]          | [2, 3, 4]
@@ -137,9 +147,13 @@ class EachAnnotationIT extends Specification {
             EachNotNull     | [:]                       | ['foo', 'bar']     | ['foo', null]
             EachPast        | [:]                       | [pastDate()]       | [futureDate()]
             EachPattern     | [regexp: '[A-Z]+']        | ['FOO', 'BAR']     | ['FOO', '123']
+            EachPattern     | [regexp: '[A-Z]+', additionalRegexps: ['F.*']] | ['FOO', 'FIZ'] | ['FOO', 'BAR']
+            EachPattern     | [regexp: '[A-Z]+', additionalRegexps: ['[0-9]+'], match: EachPattern.Match.ANY] | ['FOO', '123'] | ['FOO', 'a1']
+            EachPattern     | [regexp: '[A-Z]+', linearTime: true] | ['FOO', 'BAR'] | ['FOO', '123']
             EachRange       | [min: 3L, max: 6L]        | [3, 4, 5]          | [6, 7, 8]
             EachRange       | [min: 3L, max: 6L]        | ['3', '4', '5']    | ['6', '7', '8']
             EachSafeHtml    | [:]                       | ['<b>foo</b>']     | ['<x>WAT?</x>']
+            EachScriptAssert | [lang: 'javascript', script: '_this > 2'] | [3, 4] | [3, 1]
             EachSize        | [min: 1, max: 2]          | ['a', 'xy']        | ['a', 'foo']
             EachSize        | [min: 1, max: 2]          | [[1], [2, 3]]      | [[1], [2, 3, 4]]
             EachSize        | [min: 1, max: 2]          | [[a: 1], [b: 2]]   | [[a: 1], [:]]
@@ -153,7 +167,7 @@ class EachAnnotationIT extends Specification {
     //////// Helpers ////////
 
     static getEachConstraints() {
-        (CONSTRAINTS_JSR + CONSTRAINTS_HV + (HV_VERSION >= 5_1_0 ? CONSTRAINTS_5_1_0 : [])).toSet()
+        (CONSTRAINTS_JSR + CONSTRAINTS_HV + CONSTRAINTS_LIBRARY + (HV_VERSION >= 5_1_0 ? CONSTRAINTS_5_1_0 : [])).toSet()
     }
 
     def attributesTypesSet(Class annotation) {
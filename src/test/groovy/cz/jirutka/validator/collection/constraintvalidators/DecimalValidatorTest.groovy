@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.constraints.DecimalMax
+import javax.validation.constraints.DecimalMin
+import javax.validation.constraints.Digits
+import java.util.concurrent.atomic.AtomicLong
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator
+
+@Unroll
+class DecimalValidatorTest extends Specification {
+
+    static final BOUNDS = [
+        '0', '-0', '10', '-5', '0.1', '1.5', '3.14159', '1e3', '-1E-20', '99999999999999999999',
+        '-9223372036854775809', '0.1000000000000000055511151231257827', '123456.789012345678901'
+    ]
+
+    @Shared numbers = generateNumbers(new Random(42))
+    @Shared strings = generateStrings(new Random(42))
+
+
+    def 'isValid: #validator.simpleName(value: #bound, inclusive: #inclusive) gives the same results as HV validator'() {
+        setup:
+            def constraint = createAnnotation(constraintType, value: bound, inclusive: inclusive)
+            def expected = createDefaultValidator(constraint, valueType)
+            def actual = validator.newInstance()
+            actual.initialize(constraint)
+        expect:
+            corpus.findAll { actual.isValid(it, null) != expected.isValid(it, null) }.empty
+        where:
+            [constraintType, validator, valueType, bound, inclusive] << [
+                [
+                    [DecimalMin, DecimalMinValidatorForNumber, Number],
+                    [DecimalMin, DecimalMinValidatorForCharSequence, CharSequence],
+                    [DecimalMax, DecimalMaxValidatorForNumber, Number],
+                    [DecimalMax, DecimalMaxValidatorForCharSequence, CharSequence]
+                ],
+                BOUNDS, [true, false]
+            ].combinations().collect { it.flatten() }
+
+            corpus = valueType == Number ? numbers : strings
+    }
+
+    def 'isValid: #validator.simpleName(integer: #integer, fraction: #fraction) gives the same results as HV validator'() {
+        setup:
+            def constraint = createAnnotation(Digits, integer: integer, fraction: fraction)
+            def expected = createDefaultValidator(constraint, valueType)
+            def actual = validator.newInstance()
+            actual.initialize(constraint)
+        expect:
+            corpus.findAll { actual.isValid(it, null) != expected.isValid(it, null) }.empty
+        where:
+            [validator, valueType, integer, fraction] << [
+                [
+                    [DigitsValidatorForNumber, Number],
+                    [DigitsValidatorForCharSequence, CharSequence]
+                ],
+                [0, 1, 3, 19], [0, 2, 20]
+            ].combinations().collect { it.flatten() }
+
+            // HV's validator fails on NaN and infinity, so does ours
+            corpus = valueType == Number ? numbers.findAll { !isNaNOrInfinite(it) } : strings
+    }
+
+    def 'initialize: throw IllegalArgumentException for invalid bound'() {
+        when:
+            new DecimalMinValidatorForNumber().initialize(createAnnotation(DecimalMin, value: '1,5'))
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    static isNaNOrInfinite(value) {
+        (value instanceof Double || value instanceof Float) && (value.naN || value.infinite)
+    }
+
+    static generateNumbers(Random random) {
+        def numbers = [
+            0, -0.0d, 0.0f, 10, 10L, -5, (short) 3, (byte) -5, 1000L, 999.9999d,
+            Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE, Double.MAX_VALUE, Double.MIN_VALUE, -Double.MAX_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY,
+            0.1d, 0.1f, 1.5f, 3.14159d, Math.nextUp(3.14159d), Math.nextAfter(3.14159d, 0), Math.nextUp(0.1d),
+            1e-20d, -1e-20d, Math.nextUp(-1e-20d), 1e20d, 9.223372036854776E18d,
+            new BigDecimal('0.1000000000000000055511151231257827'), new BigDecimal('99999999999999999999'),
+            new BigInteger('99999999999999999999'), new BigInteger('-9223372036854775809'), new AtomicLong(10)
+        ]
+        2000.times {
+            numbers << random.nextInt(40) - 20
+            numbers << random.nextLong()
+            numbers << (long) random.nextInt(100000) * 10
+            numbers << (random.nextDouble() - 0.5) * 40
+            numbers << (float) ((random.nextDouble() - 0.5) * 40)
+            numbers << Math.round(random.nextGaussian() * 1e6) / 100d
+            numbers << new BigDecimal(BigInteger.valueOf(random.nextInt()), random.nextInt(30) - 5)
+        }
+        numbers
+    }
+
+    static generateStrings(Random random) {
+        def strings = [
+            '', '+', '-', '.', '-.', '0', '-0', '+0', '00', '0.00', '.5', '5.', '-.5', '+10', '010', '10.0',
+            '1e3', '1E+3', '1000', '-1E-20', '1.5 ', ' 1.5', '1,5', 'abc', '١٢', '1.2.3', '1..2',
+            '999999999999999999', '9999999999999999999', '99999999999999999999', '-9223372036854775808',
+            '-9223372036854775809', '0.1000000000000000055511151231257827', '123456.789012345678901',
+            '123456.78901234567', '0.000000000000000001', '-0.0000000000000000001', '3.14159', '3.141590'
+        ]
+        def alphabet = ('0'..'9') * 3 + ['.', '-', '+', 'e']
+
+        10000.times {
+            def length = random.nextInt(22) + 1
+            def chars = (0..<length).collect { ('0'..'9')[random.nextInt(10)] }
+
+            switch (random.nextInt(4)) {
+                case 0: chars.add(random.nextInt(length + 1), '.'); break
+                case 1: chars.add(0, '-'); break
+                case 2: chars[random.nextInt(length)] = alphabet[random.nextInt(alphabet.size())]; break
+            }
+            strings << chars.join('')
+        }
+        strings
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import org.hibernate.validator.constraints.Email
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator
+
+@Unroll
+class EmailValidatorTest extends Specification {
+
+    static final CORPUS_SIZE = 50000
+
+    static final LOCAL_CHARS = ('a'..'z') + ('A'..'Z') + ('0'..'9') + '!#$%&\'*+/=?^_`{|}~-.."@\\ (),:;<>[]'.toList()
+
+    static final DOMAIN_CHARS = ('a'..'z') + ('0'..'9') + ['.', '.', '-', '_', '[', ']', ':', '!', ' ']
+
+    @Shared hibernateValidator = createDefaultValidator(createAnnotation(Email), CharSequence)
+
+    @Shared validator = new EmailValidator()
+
+    def setupSpec() {
+        validator.initialize(createAnnotation(Email))
+    }
+
+
+    def 'isValid: return #expected for #desc'() {
+        expect:
+            validator.isValid(value, null) == expected
+        and:
+            hibernateValidator.isValid(value, null) == expected
+        where:
+            value                                        | expected
+            null                                         | true
+            ''                                           | true
+            'x@y.z'                                      | true
+            'first.last+tag@sub.example.org'             | true
+            '"John Doe"@example.org'                     | true
+            '"a\\"b"."c\\\\d"@example.org'               | true
+            '"foo@bar"@example.org'                      | true
+            'foo@[192.168.1.1]'                          | true
+            'foo@[IPv6:2001:db8::1]'                     | true
+            'foo@[IPv6:2001:db8::xyz]'                   | false
+            'müller@example.org'                         | true
+            'foo@exämple.org'                            | true
+            'foo'                                        | false
+            'foo@'                                       | false
+            '@example.org'                               | false
+            'foo.@example.org'                           | false
+            '.foo@example.org'                           | false
+            'foo..bar@example.org'                       | false
+            'foo@example.org.'                           | false
+            'foo@example..org'                           | false
+            'a"b"@example.org'                           | false
+            '""@example.org'                             | false
+            '"a\\b"@example.org'                         | false
+            'foo bar@example.org'                        | false
+            'foo@[1.2.3]'                                | false
+            'foo@[1.2.3.4444]'                           | false
+            "${'a' * 65}@example.org"                    | false
+            "foo@${'a' * 64}.org"                        | false
+            "foo@${'a' * 63}.org"                        | true
+            "foo@${(['a' * 63] * 4).join('.')}"          | true
+            "foo@${(['a' * 63] * 4).join('.')}.a"        | false
+            new StringBuilder('x@y.z')                   | true
+
+            desc = value == null ? 'null' : "\"${value}\""
+    }
+
+    def 'isValid: give the same results as HV validator on generated corpus'() {
+        setup:
+            def corpus = generateCorpus(new Random(42))
+        expect:
+            corpus.findAll { validator.isValid(it, null) != hibernateValidator.isValid(it, null) }.empty
+        and: 'the corpus contains enough valid and invalid addresses'
+            corpus.count { validator.isValid(it, null) } in (CORPUS_SIZE * 0.1)..(CORPUS_SIZE * 0.9)
+    }
+
+
+    static generateCorpus(Random random) {
+        def pick = { List chars, int maxLength ->
+            (0..<random.nextInt(maxLength)).collect { chars[random.nextInt(chars.size())] }.join('')
+        }
+        def word = { pick(('a'..'z') + ('0'..'9'), 8) ?: 'x' }
+
+        (0..<CORPUS_SIZE).collect {
+            def local, domain
+
+            switch (random.nextInt(6)) {
+                case 0: local = pick(LOCAL_CHARS, 12); break
+                case 1: local = '"' + pick(LOCAL_CHARS, 10) + '"'; break
+                case 2: local = "${word()}.\"${pick(LOCAL_CHARS, 5)}\""; break
+                default: local = (1..random.nextInt(3) + 1).collect { word() }.join('.')
+            }
+            switch (random.nextInt(8)) {
+                case 0: domain = pick(DOMAIN_CHARS, 20); break
+                case 1: domain = "[${(1..4).collect { random.nextInt(1200) }.join('.')}]"; break
+                case 2: domain = '[' + pick(('0'..'9') + ['.'], 16) + ']'; break
+                case 3: domain = word() * random.nextInt(20) + '.com'; break
+                default: domain = (1..random.nextInt(4) + 1).collect { word() }.join('.')
+            }
+            def value = random.nextInt(30) == 0 ? local + domain : "${local}@${domain}"
+            random.nextInt(20) == 0 ? value.replace('a', 'á') : value
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.constraints.In
+import cz.jirutka.validator.collection.constraints.In.ValuesProvider
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static java.lang.Character.UnicodeScript.*
+import static java.util.concurrent.TimeUnit.*
+
+@Unroll
+class InValidatorTest extends Specification {
+
+    def 'isValid: CharSequence #desc is #expected'() {
+        setup:
+            def validator = createValidator(InValidatorForCharSequence, value: ['CZK', 'EUR', 'Aa', ''])
+        expect:
+            validator.isValid(input, null) == expected
+        where:
+            input                      | expected | desc
+            null                       | true     | 'null'
+            'CZK'                      | true     | "'CZK'"
+            new StringBuilder('EUR')   | true     | 'StringBuilder EUR'
+            ''                         | true     | 'empty string'
+            'Aa'                       | true     | "'Aa'"
+            'BB'                       | false    | "'BB' with the same hash code as 'Aa'"
+            new StringBuilder('BB')    | false    | "StringBuilder 'BB' with the same hash code as 'Aa'"
+            'czk'                      | false    | "'czk'"
+            'USD'                      | false    | "'USD'"
+            'CZKX'                     | false    | 'longer than any value'
+    }
+
+    def 'isValid: CharSequence with many values'() {
+        setup:
+            def values = (0..<5000).collect { Integer.toString(it, 36) }
+            def validator = createValidator(InValidatorForCharSequence, value: values)
+        expect:
+            values.every { validator.isValid(it, null) && validator.isValid(new StringBuilder(it), null) }
+            (5000..<10000).every { !validator.isValid(Integer.toString(it, 36), null) }
+    }
+
+    def 'isValid: CharSequence without values is false'() {
+        setup:
+            def validator = createValidator([:], InValidatorForCharSequence)
+        expect:
+            ! validator.isValid('', null)
+            validator.isValid(null, null)
+    }
+
+    def 'isValid: Number #input (#input.class.simpleName) is #expected'() {
+        setup:
+            def validator = createValidator(InValidatorForNumber,
+                    value: ['1', '-42', '0.5', '1e3', '0.00', '9223372036854775807', '1e30', '0.1'])
+        expect:
+            validator.isValid(input, null) == expected
+        where:
+            input                                  | expected
+            null                                   | true
+            1                                      | true
+            1L                                     | true
+            1.0d                                   | true
+            1.0f                                   | true
+            -42 as short                           | true
+            -42 as byte                            | true
+            new BigInteger('1')                    | true
+            new BigDecimal('1.000')                | true
+            new BigDecimal('1E+3')                 | true
+            1000                                   | true
+            0                                      | true
+            -0.0d                                  | true
+            0.5d                                   | true
+            0.5f                                   | true
+            0.1d                                   | true
+            0.1f                                   | true
+            new BigDecimal('0.10')                 | true
+            Long.MAX_VALUE                         | true
+            new BigInteger('9223372036854775807')  | true
+            1e30d                                  | true
+            new BigInteger('1' + '0' * 30)         | true
+            new AtomicLong(1)                      | true
+            2                                      | false
+            42                                     | false
+            1.5d                                   | false
+            0.25f                                  | false
+            Long.MIN_VALUE                         | false
+            new BigInteger('9223372036854775808')  | false
+            1e31d                                  | false
+            Double.NaN                             | false
+            Double.POSITIVE_INFINITY               | false
+            new AtomicLong(2)                      | false
+    }
+
+    def 'isValid: integral Number #input (#input.class.simpleName) is #expected when only longs are allowed'() {
+        setup:
+            def validator = createValidator(InValidatorForNumber,
+                    value: ['1000000000000000000', '4000000000000000000', '4611686018427387904', '-9223372036854775808'])
+        expect:
+            validator.isValid(input, null) == expected
+        where:
+            input                                  | expected
+            1e18d                                  | true
+            4e18d                                  | true
+            Long.MIN_VALUE as double               | true
+            Math.pow(2, 62) as float               | true
+            1e18d + 1024                           | false
+            Math.pow(2, 63)                        | false
+            1e19d                                  | false
+    }
+
+    def 'isValid: Number gives the same results as BigDecimal comparison'() {
+        setup:
+            def random = new Random(42)
+            def values = (0..<50).collect { randomNumber(random).toString() }
+            def validator = createValidator(InValidatorForNumber, value: values)
+            def allowed = values.collect { new BigDecimal(it) }
+        expect:
+            (0..<5000).collect { randomNumber(random) }.findAll { number ->
+                def expected = allowed.any { it.compareTo(new BigDecimal(number.toString())) == 0 }
+                validator.isValid(number, null) != expected
+            }.empty
+    }
+
+    def 'initialize: Number throws IllegalArgumentException for non-numeric value'() {
+        when:
+            createValidator(InValidatorForNumber, value: ['1', 'CZK'])
+        then:
+            thrown IllegalArgumentException
+    }
+
+    def 'isValid: Enum #input is #expected'() {
+        setup:
+            def validator = createValidator(InValidatorForEnum, value: values)
+        expect:
+            validator.isValid(input, null) == expected
+        where:
+            values                  | input        | expected
+            ['SECONDS', 'MINUTES']  | null         | true
+            ['SECONDS', 'MINUTES']  | SECONDS      | true
+            ['SECONDS', 'MINUTES']  | MINUTES      | true
+            ['SECONDS', 'MINUTES']  | HOURS        | false
+            ['LATIN', 'UNKNOWN']    | LATIN        | true
+            ['LATIN', 'UNKNOWN']    | UNKNOWN      | true
+            ['LATIN', 'UNKNOWN']    | CYRILLIC     | false
+            []                      | SECONDS      | false
+    }
+
+    def 'isValid: Enum throws IllegalArgumentException for unknown constant name'() {
+        setup:
+            def validator = createValidator(InValidatorForEnum, value: ['SECONDS', 'FORTNIGHTS'])
+        when:
+            validator.isValid(SECONDS, null)
+        then:
+            thrown IllegalArgumentException
+    }
+
+    def 'isValid: #validator.simpleName with values from provider'() {
+        setup:
+            def instance = createValidator(validator, value: [inline], provider: provider)
+        expect:
+            valid.every { instance.isValid(it, null) }
+            invalid.every { !instance.isValid(it, null) }
+        where:
+            validator                  | provider              | inline  | valid                    | invalid
+            InValidatorForCharSequence | EnumValuesProvider    | 'foo'   | ['foo', 'MINUTES']       | ['bar', 'SECONDS']
+            InValidatorForCharSequence | NumberValuesProvider  | 'foo'   | ['foo', '42']            | ['42.0', '7']
+            InValidatorForEnum         | EnumValuesProvider    | 'HOURS' | [HOURS, MINUTES]         | [SECONDS]
+            InValidatorForNumber       | NumberValuesProvider  | '7'     | [7, 42, 42.0d]           | [43]
+    }
+
+    def 'initialize: throw IllegalArgumentException when provider cannot be instantiated'() {
+        when:
+            createValidator(InValidatorForCharSequence, provider: PrivateValuesProvider)
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    def createValidator(Map attributes, Class validatorType) {
+        def validator = validatorType.newInstance()
+        if (attributes.value != null) {
+            attributes.value = attributes.value as String[]
+        }
+        validator.initialize(createAnnotation(In, attributes))
+        validator
+    }
+
+    static randomNumber(Random random) {
+        def integral = random.nextInt(20) - 10
+        switch (random.nextInt(7)) {
+            case 0: return integral
+            case 1: return (long) integral
+            case 2: return integral / 2.0d
+            case 3: return (float) (integral / 4.0f)
+            case 4: return new BigDecimal(integral).movePointLeft(random.nextInt(3))
+            case 5: return BigInteger.valueOf(integral)
+            default: return new BigDecimal(integral).setScale(random.nextInt(3))
+        }
+    }
+
+
+    static class EnumValuesProvider implements ValuesProvider {
+        Collection<?> getValues() {
+            [TimeUnit.MINUTES, null]
+        }
+    }
+
+    static class NumberValuesProvider implements ValuesProvider {
+        Collection<?> getValues() {
+            [42, null]
+        }
+    }
+
+    static class PrivateValuesProvider implements ValuesProvider {
+        private PrivateValuesProvider() { }
+
+        Collection<?> getValues() { [] }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import org.hibernate.validator.constraints.LuhnCheck
+import org.hibernate.validator.constraints.Mod10Check
+import org.hibernate.validator.constraints.Mod11Check
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator
+import static org.hibernate.validator.constraints.Mod11Check.ProcessingDirection.LEFT_TO_RIGHT
+
+@Unroll
+class ModCheckValidatorTest extends Specification {
+
+    static final CORPUS_SIZE = 20000
+
+    // characters of the generated values; digits are more frequent
+    static final ALPHABET = ('0'..'9') * 6 + [' ', '-', 'X', 'a', '٣', '१', '\uD835', '\uDFCE']
+
+    @Shared corpus = generateCorpus(new Random(42))
+
+
+    def 'isValid: #constraint.simpleName #attributes gives the same results as HV validator'() {
+        setup:
+            def annotation = createAnnotation(constraint, attributes)
+            def expected = createDefaultValidator(annotation, CharSequence)
+            def actual = validator.newInstance()
+            actual.initialize(annotation)
+        expect:
+            corpus.findAll { actual.isValid(it, null) != expected.isValid(it, null) }.empty
+        and: 'the corpus contains enough valid values'
+            corpus.count { expected.isValid(it, null) } > 100
+        where:
+            constraint | validator           | attributes
+            LuhnCheck  | LuhnCheckValidator  | [:]
+            LuhnCheck  | LuhnCheckValidator  | [ignoreNonDigitCharacters: false]
+            LuhnCheck  | LuhnCheckValidator  | [startIndex: 2, endIndex: 8]
+            LuhnCheck  | LuhnCheckValidator  | [startIndex: 0, endIndex: 5, checkDigitIndex: 6]
+            LuhnCheck  | LuhnCheckValidator  | [startIndex: 3, endIndex: 7, checkDigitIndex: 0, ignoreNonDigitCharacters: false]
+            LuhnCheck  | LuhnCheckValidator  | [checkDigitIndex: 0]
+            Mod10Check | Mod10CheckValidator | [:]
+            Mod10Check | Mod10CheckValidator | [multiplier: 7, weight: 2, ignoreNonDigitCharacters: false]
+            Mod10Check | Mod10CheckValidator | [startIndex: 1, endIndex: 9]
+            Mod10Check | Mod10CheckValidator | [startIndex: 0, endIndex: 4, checkDigitIndex: 5, multiplier: 0]
+            Mod11Check | Mod11CheckValidator | [:]
+            Mod11Check | Mod11CheckValidator | [ignoreNonDigitCharacters: true]
+            Mod11Check | Mod11CheckValidator | [threshold: 7, ignoreNonDigitCharacters: true]
+            Mod11Check | Mod11CheckValidator | [processingDirection: LEFT_TO_RIGHT, ignoreNonDigitCharacters: true]
+            Mod11Check | Mod11CheckValidator | [threshold: 1, treatCheck10As: 'A' as char, treatCheck11As: 'X' as char]
+            Mod11Check | Mod11CheckValidator | [startIndex: 2, endIndex: 6, checkDigitIndex: 8, processingDirection: LEFT_TO_RIGHT]
+    }
+
+    def 'isValid: return true for null'() {
+        expect:
+            new LuhnCheckValidator().isValid(null, null)
+    }
+
+    def 'isValid: accept any CharSequence'() {
+        setup:
+            def validator = new LuhnCheckValidator()
+            validator.initialize(createAnnotation(LuhnCheck))
+        expect:
+            validator.isValid(new StringBuilder('7992-7398-713'), null)
+            ! validator.isValid(new StringBuilder('7992-7398-714'), null)
+    }
+
+    def 'initialize: throw IllegalArgumentException for #attributes'() {
+        setup:
+            def validator = new Mod11CheckValidator()
+        when:
+            validator.initialize(createAnnotation(Mod11Check, attributes))
+        then:
+            thrown IllegalArgumentException
+        where:
+            attributes << [
+                [startIndex: -1],
+                [endIndex: -1],
+                [startIndex: 5, endIndex: 2],
+                [startIndex: 1, endIndex: 5, checkDigitIndex: 3],
+                [treatCheck10As: '-' as char]
+            ]
+    }
+
+
+    static generateCorpus(Random random) {
+        def corpus = ['', '0', '00', '79927398713', '79927398714', '7992 7398 713', '036000291452', '123456789X']
+
+        while (corpus.size() < CORPUS_SIZE) {
+            def length = random.nextInt(20)
+            // mostly digits only to hit valid checksums as well
+            def alphabet = random.nextInt(4) == 0 ? ALPHABET : ('0'..'9')
+            corpus << (0..<length).collect { alphabet[random.nextInt(alphabet.size())] }.join('')
+        }
+        corpus
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.AllocationMeter
+import org.hibernate.validator.constraints.NotBlank
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+@Unroll
+class NotBlankValidatorTest extends Specification {
+
+    static final ITERATIONS = 100000
+
+
+    def 'return #expected for #desc'() {
+        expect:
+            createValidator().isValid(value, null) == expected
+        where:
+            value                       | expected
+            null                        | true
+            ''                          | false
+            ' \t\n\u0000'               | false
+            '  a '                      | true
+            new StringBuilder(' \r x ') | true
+            new StringBuilder('  ')     | false
+            '\u00A0'                    | true  // not removed by String#trim()
+
+            desc = value == null ? 'null' : "\"${value}\""
+    }
+
+    def 'never convert value to String'() {
+        setup:
+            def value = new CharSequenceView('  foo ')
+        when:
+            createValidator().isValid(value, null)
+        then:
+            notThrown UnsupportedOperationException
+    }
+
+    @IgnoreIf({ !AllocationMeter.supported })
+    def 'do not allocate when validating #value.class.simpleName'() {
+        setup:
+            def instance = createValidator()
+        expect:
+            AllocationMeter.allocatedBytes(instance, value, ITERATIONS) < ITERATIONS
+        where:
+            value << [new StringBuilder('     foo     '), new CharSequenceView('     foo     ')]
+    }
+
+
+    def createValidator() {
+        def validator = new NotBlankValidator()
+        validator.initialize(createAnnotation(NotBlank))
+        validator
+    }
+
+
+    static class CharSequenceView implements CharSequence {
+
+        private final char[] chars
+
+        CharSequenceView(String value) {
+            this.chars = value.toCharArray()
+        }
+
+        int length() { chars.length }
+
+        char charAt(int index) { chars[index] }
+
+        CharSequence subSequence(int start, int end) { throw new UnsupportedOperationException() }
+
+        String toString() { throw new UnsupportedOperationException() }
+    }
+}
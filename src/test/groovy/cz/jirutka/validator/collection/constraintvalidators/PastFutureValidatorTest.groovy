@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.time.ReferenceClock
+import cz.jirutka.validator.collection.time.ReferenceTime
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.ConstraintValidatorContext
+
+/**
+ * Validators of the java.time types are tested in PastFutureValidatorForJavaTimeTest.
+ */
+@Unroll
+class PastFutureValidatorTest extends Specification {
+
+    // 2016-03-01T12:00:00.123Z
+    static final long NOW = 1456833600123L
+
+    def setup() {
+        ReferenceTime.clock = { ctx -> NOW } as ReferenceClock
+    }
+
+    def cleanup() {
+        ReferenceTime.clock = null
+    }
+
+
+    def '#validator.simpleName: return #expPast for #desc (Past) and #expFuture (Future)'() {
+        setup:
+            def past = pastValidator.newInstance()
+            def future = futureValidator.newInstance()
+        expect:
+            past.isValid(value, null) == expPast
+            future.isValid(value, null) == expFuture
+        where:
+            pastValidator             | futureValidator             | value                  || expPast | expFuture
+            PastValidator.ForDate     | FutureValidator.ForDate     | null                   || true    | true
+            PastValidator.ForDate     | FutureValidator.ForDate     | new Date(NOW - 1)      || true    | false
+            PastValidator.ForDate     | FutureValidator.ForDate     | new Date(NOW)          || false   | false
+            PastValidator.ForDate     | FutureValidator.ForDate     | new Date(NOW + 1)      || false   | true
+            PastValidator.ForCalendar | FutureValidator.ForCalendar | calendar(NOW - 1)      || true    | false
+            PastValidator.ForCalendar | FutureValidator.ForCalendar | calendar(NOW + 1000)   || false   | true
+
+            desc = value?.toString() ?: 'null'
+    }
+
+    def 'isValid: compare with the captured time'() {
+        setup:
+            def reads = 0
+            ReferenceTime.clock = { ctx -> reads++; NOW } as ReferenceClock
+            def validator = new PastValidator.ForDate()
+        when:
+            def captured = ReferenceTime.capture(null)
+            def results = [NOW - 1, NOW, NOW - 10000].collect { validator.isValid(new Date(it), null) }
+        then:
+            captured
+            results == [true, false, true]
+            reads == 1
+        and: 'nested capture does nothing'
+            ! ReferenceTime.capture(null)
+        cleanup:
+            ReferenceTime.release()
+    }
+
+    def 'isValid: pass the context to the clock'() {
+        setup:
+            def context = Mock(ConstraintValidatorContext)
+            def clock = Mock(ReferenceClock)
+            ReferenceTime.clock = clock
+        when:
+            new FutureValidator.ForDate().isValid(new Date(), context)
+        then:
+            1 * clock.currentTimeMillis(context) >> 0L
+    }
+
+
+    static calendar(long epochMilli) {
+        def calendar = Calendar.getInstance()
+        calendar.timeInMillis = epochMilli
+        calendar
+    }
+}
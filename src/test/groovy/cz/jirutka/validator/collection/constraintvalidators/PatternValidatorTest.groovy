@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.constraints.EachPattern
+import cz.jirutka.validator.collection.internal.regex.RegexAutomaton
+import cz.jirutka.validator.collection.internal.regex.UnsupportedRegexException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.constraints.Pattern
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.constraints.EachPattern.Match.ALL
+import static cz.jirutka.validator.collection.constraints.EachPattern.Match.ANY
+import static javax.validation.constraints.Pattern.Flag.CASE_INSENSITIVE
+
+@Unroll
+class PatternValidatorTest extends Specification {
+
+    def 'isValid: return #expected for #value with regexps #regexps and match #match'() {
+        setup:
+            def validator = createValidator(regexps, match)
+        expect:
+            validator.isValid(value, null) == expected
+        where:
+            regexps                       | match | value                     || expected
+            ['[a-z]+']                    | ALL   | null                      || true
+            ['[a-z]+']                    | ALL   | 'foo'                     || true
+            ['[a-z]+']                    | ALL   | 'Foo'                     || false
+            ['[a-z]+', 'f.*', '.*o']      | ALL   | 'foo'                     || true
+            ['[a-z]+', 'f.*', '.*o']      | ALL   | 'bar'                     || false
+            ['[a-z]+', 'f.*', '.*o']      | ALL   | 'fox'                     || false
+            ['[a-z]+', '[0-9]+']          | ANY   | '42'                      || true
+            ['[a-z]+', '[0-9]+']          | ANY   | 'foo'                     || true
+            ['[a-z]+', '[0-9]+']          | ANY   | 'foo42'                   || false
+            ['[a-z]+', '[0-9]+']          | ANY   | new StringBuilder('foo')  || true
+            ['(a)\\1', 'a+']              | ALL   | 'aa'                      || true
+            ['(a)\\1', 'a+']              | ALL   | 'aaa'                     || false
+            ['(a)\\1', 'b+']              | ANY   | 'bbb'                     || true
+            ['(a)\\1', 'b+']              | ANY   | 'ab'                      || false
+    }
+
+    def 'isValid: consider flags for all regexps'() {
+        setup:
+            def validator = createValidator(['[a-z]+', 'f.*'], ALL, [CASE_INSENSITIVE])
+        expect:
+            validator.isValid('FOO', null)
+            ! validator.isValid('BAR', null)
+    }
+
+    def 'isValid: match more than #max regexps'() {
+        setup:
+            def regexps = (0..max).collect { ".*${it}.*".toString() }
+        expect:
+            createValidator(regexps, ANY).isValid('x7', null)
+            ! createValidator(regexps, ALL).isValid('x7', null)
+        where:
+            max = RegexAutomaton.MAX_REGEXPS
+    }
+
+    def 'isValid: return #expected for #value with regexp #regexp in linearTime mode'() {
+        expect:
+            createValidator([regexp], ALL, [], true).isValid(value, null) == expected
+        where:
+            regexp       | value                 || expected
+            '[a-z]+'     | 'foo'                 || true
+            '[a-z]+'     | 'Foo'                 || false
+            '(a+)+b'     | 'a' * 10000 + 'b'     || true
+            '(a+)+b'     | 'a' * 10000 + 'c'     || false
+            '(x+x+)+y'   | 'x' * 10000           || false
+    }
+
+    def 'initialize: throw UnsupportedRegexException for #regexp in linearTime mode'() {
+        when:
+            createValidator([regexp], ALL, [], true)
+        then:
+            thrown UnsupportedRegexException
+        where:
+            regexp << ['(a)\\1', 'a(?=b)', 'a*+']
+    }
+
+    def 'initialize: throw IllegalArgumentException for more than #max regexps in linearTime mode'() {
+        when:
+            createValidator(['a'] * (max + 1), ANY, [], true)
+        then:
+            thrown IllegalArgumentException
+        where:
+            max = RegexAutomaton.MAX_REGEXPS
+    }
+
+    def 'initialize: throw IllegalArgumentException for invalid additional regexp'() {
+        when:
+            createValidator(['[a-z]+', '[a-z'], ALL)
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    def createValidator(List regexps, EachPattern.Match match, List flags = [], boolean linearTime = false) {
+        def validator = new PatternValidator()
+        validator.setEachAnnotation(createAnnotation(EachPattern, regexp: regexps[0],
+                additionalRegexps: regexps.tail() as String[], match: match, linearTime: linearTime))
+        validator.initialize(createAnnotation(Pattern, regexp: regexps[0], flags: flags as Pattern.Flag[]))
+        validator
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.constraints.EachSafeHtml
+import cz.jirutka.validator.collection.instrument.Instrumentation
+import cz.jirutka.validator.collection.instrument.ValidationListener
+import org.hibernate.validator.constraints.SafeHtml
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.annotation.Annotation
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+@Unroll
+class SafeHtmlValidatorTest extends Specification {
+
+    def parsed = []
+
+    def setup() {
+        Instrumentation.listener = new ValidationListener() {
+            void elementParsed(Annotation constraint, int length, long durationNanos) {
+                parsed << length
+            }
+        }
+    }
+
+    def cleanup() {
+        Instrumentation.listener = null
+    }
+
+
+    def 'isValid: return #expected for #desc'() {
+        expect:
+            createValidator([:]).isValid(value, null) == expected
+        where:
+            value                    | expected
+            null                     | true
+            '<b>foo</b>'             | true
+            '<script>foo</script>'   | false
+            new StringBuilder('<i>') | true
+
+            desc = value ? "\"${value}\"" : 'null'
+    }
+
+    def 'isValid: reject element longer than maxLength without parsing it'() {
+        setup:
+            def validator = createValidator(maxLength: 5)
+        expect:
+            validator.isValid('<b>x</b>', null) == false
+            parsed.empty
+        and:
+            validator.isValid('<b/>', null) == true
+            parsed == [4]
+    }
+
+    def 'isValid: parse the same element only once when verdict cache is enabled'() {
+        setup:
+            def validator = createValidator(verdictCacheSize: 10)
+        when:
+            def results = ['<b>a</b>', '<x>b</x>', '<b>a</b>', new StringBuilder('<x>b</x>')].collect {
+                validator.isValid(it, null)
+            }
+        then:
+            results == [true, false, true, false]
+            parsed == [8, 8]
+    }
+
+    def 'isValid: parse every element when verdict cache is disabled'() {
+        setup:
+            def validator = createValidator([:])
+        when:
+            3.times { validator.isValid('<b>a</b>', null) }
+        then:
+            parsed.size() == 3
+    }
+
+
+    def createValidator(Map eachAttributes) {
+        def validator = new SafeHtmlValidator()
+        validator.setEachAnnotation(createAnnotation(EachSafeHtml, eachAttributes))
+        validator.initialize(createAnnotation(SafeHtml))
+        validator
+    }
+}
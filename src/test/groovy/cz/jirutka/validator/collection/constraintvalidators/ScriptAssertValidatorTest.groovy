@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.constraints.EachScriptAssert
+import org.hibernate.validator.constraints.ScriptAssert
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.ConstraintDeclarationException
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+@Unroll
+class ScriptAssertValidatorTest extends Specification {
+
+    def 'isValid: return #expected for #value'() {
+        setup:
+            def validator = createValidator(script: '_this > 2')
+        expect:
+            validator.isValid(value, null) == expected
+        where:
+            value | expected
+            3     | true
+            1     | false
+    }
+
+    def 'isValid: bind value under the specified alias'() {
+        setup:
+            def validator = createValidator(script: 'item.length == 3', alias: 'item')
+        expect:
+            validator.isValid('foo', null)
+            ! validator.isValid('allons-y!', null)
+    }
+
+    def 'isValid: throw ConstraintDeclarationException when #desc'() {
+        setup:
+            def validator = createValidator(attributes)
+        when:
+            validator.isValid(42, null)
+        then:
+            thrown ConstraintDeclarationException
+        where:
+            attributes                              | desc
+            [script: '"foo"']                       | 'script does not return boolean'
+            [script: 'null']                        | 'script returns null'
+            [script: '_this >']                     | 'script is invalid'
+            [script: 'true', lang: 'nonexistent']   | 'no engine for the language found'
+    }
+
+    def 'findInvalid: return indexes of invalid elements returned by script as #desc'() {
+        setup:
+            def validator = createValidator(script: script)
+        expect:
+            validator.findInvalid(['a', 'bar', 'foo', 'x'], null) == [0, 3] as int[]
+        where:
+            script                                                                       | desc
+            'var r = []; for (var i = 0; i < _this.size(); i++) ' +
+                    'if (_this.get(i).length < 2) r.push(i); r'                         | 'JavaScript array'
+            'Java.to([3, 0], "int[]")'                                                   | 'Java array'
+            'var l = new java.util.ArrayList(); l.add(0); l.add(3); l'                   | 'Java list'
+    }
+
+    def 'findInvalid: return empty array when script returns empty array'() {
+        setup:
+            def validator = createValidator(script: '[]')
+        expect:
+            validator.findInvalid(['a', 'b'], null).length == 0
+    }
+
+    def 'findInvalid: throw ConstraintDeclarationException when script returns #desc'() {
+        setup:
+            def validator = createValidator(script: script)
+        when:
+            validator.findInvalid(['a', 'b'], null)
+        then:
+            thrown ConstraintDeclarationException
+        where:
+            script   | desc
+            'true'   | 'boolean'
+            '[2]'    | 'index out of range'
+            '["a"]'  | 'not a number'
+    }
+
+    def 'setEachAnnotation: enable batch mode'() {
+        setup:
+            def validator = new ScriptAssertValidator()
+        when:
+            validator.setEachAnnotation(createAnnotation(EachScriptAssert,
+                    lang: 'javascript', script: 'true', batch: true, batchSize: 100))
+        then:
+            validator.batchEnabled
+            validator.batchSize == 100
+    }
+
+    def 'isValid: evaluate script concurrently'() {
+        setup:
+            def validator = createValidator(script: '_this % 2 == 0')
+            def executor = Executors.newFixedThreadPool(4)
+        when:
+            def results = (1..400).collect { n ->
+                executor.submit({ validator.isValid(n, null) } as Callable)
+            }*.get()
+        then:
+            results == (1..400).collect { it % 2 == 0 }
+        cleanup:
+            executor.shutdown()
+    }
+
+
+    def createValidator(Map attributes) {
+        def validator = new ScriptAssertValidator()
+        validator.initialize(createAnnotation(ScriptAssert, [lang: 'javascript'] + attributes))
+        validator
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import org.hibernate.validator.constraints.URL
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.constraints.Pattern.Flag
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator
+import static javax.validation.constraints.Pattern.Flag.CASE_INSENSITIVE
+
+@Unroll
+class URLValidatorTest extends Specification {
+
+    static final CORPUS_SIZE = 50000
+
+    static final PROTOCOLS = ['http', 'https', 'HTTP', 'Ftp', 'ftp', 'file', 'mailto', 'jar', 'foo', 'a+b.c-d', '1ab', 'ht tp', '', 'htp#']
+
+    static final PORTS = ['', ':', ':80', ':8080', ':0080', ':80a', ':+80', ':-1', ':-80', ':99999999999', ':2147483648', ':1:2']
+
+    static final CHARS = ('a'..'z') + ('0'..'9') + ['/', '/', '?', '#', '.', ':', '@', '[', ']', ' ', '\t', '%', '-']
+
+
+    def 'isValid: return #expected for #desc'() {
+        setup:
+            def annotation = createAnnotation(URL, attributes)
+            def validator = newValidator(annotation)
+        expect:
+            validator.isValid(value, null) == expected
+        and:
+            createDefaultValidator(annotation, CharSequence).isValid(value, null) == expected
+        where:
+            value                                 | attributes           | expected
+            null                                  | [:]                  | true
+            ''                                    | [:]                  | true
+            'http://example.org'                  | [:]                  | true
+            ' url:HTTPS://example.org/a?b#c '     | [:]                  | true
+            'http:example'                        | [:]                  | true
+            'http:////example.org'                | [host: 'example.org']| false
+            'http://user@example.org:8080/'       | [port: 8080]         | true
+            'http://a@b@example.org/'             | [:]                  | true
+            'http://example.org:80a'              | [:]                  | false
+            'http://example.org:'                 | [:]                  | true
+            'http://[::1]:80/'                    | [port: 80]           | true
+            'http://[::x]/'                       | [:]                  | false
+            'mailto:foo@example.org'              | [:]                  | true
+            'foo://example.org'                   | [:]                  | false
+            'example.org'                         | [:]                  | false
+            '#http://example.org'                 | [:]                  | false
+            '1http://example.org'                 | [:]                  | false
+            'http://example.org'                  | [protocol: 'https']  | false
+            'HTTPS://example.org'                 | [protocol: 'https']  | true
+            'http://example.org/'                 | [host: 'example.org']| true
+            'http://Example.org/'                 | [host: 'example.org']| false
+            'http://example.org:8080'             | [port: 80]           | false
+            new StringBuilder('http://x')         | [:]                  | true
+
+            desc = value == null ? 'null' : "\"${value}\" with ${attributes}"
+    }
+
+    def 'isValid: verify regexp #regexp'() {
+        setup:
+            def validator = newValidator(createAnnotation(URL, [regexp: regexp, flags: flags as Flag[]]))
+        expect:
+            validator.isValid(value, null) == expected
+        where:
+            value                 | regexp       | flags              || expected
+            'https://fit.cvut.cz' | '.*[^x]$'    | []                 || true
+            'https://fit.cvut.cx' | '.*[^x]$'    | []                 || false
+            'HTTPS://FIT.CVUT.CZ' | 'https://.*' | [CASE_INSENSITIVE] || true
+            'HTTPS://FIT.CVUT.CZ' | 'https://.*' | []                 || false
+            ''                    | 'http.*'     | []                 || false
+            'foo'                 | 'foo'        | []                 || false
+    }
+
+    def 'isValid: give the same results as HV validator with #attributes on generated corpus'() {
+        setup:
+            def annotation = createAnnotation(URL, attributes)
+            def validator = newValidator(annotation)
+            def hibernateValidator = createDefaultValidator(annotation, CharSequence)
+            def corpus = generateCorpus(new Random(42))
+        expect:
+            corpus.findAll { validator.isValid(it, null) != hibernateValidator.isValid(it, null) }.empty
+        and: 'the corpus contains enough valid and invalid URLs'
+            corpus.count { validator.isValid(it, null) } in (CORPUS_SIZE * 0.01)..(CORPUS_SIZE * 0.9)
+        where:
+            attributes << [ [:], [protocol: 'https'], [host: 'example.org'], [port: 8080] ]
+    }
+
+
+    static newValidator(URL annotation) {
+        def validator = new URLValidator()
+        validator.initialize(annotation)
+        validator
+    }
+
+    static generateCorpus(Random random) {
+        def pick = { List list -> list[random.nextInt(list.size())] }
+        def chars = { int maxLength -> (0..<random.nextInt(maxLength)).collect { pick(CHARS) }.join('') }
+        def maybe = { int n, value -> random.nextInt(n) == 0 ? value : '' }
+
+        (0..<CORPUS_SIZE).collect {
+            def host = random.nextInt(4) == 0 ? chars(12) : pick(['example.org', 'Example.org', 'localhost', '127.0.0.1', '[::1]', ''])
+            def value = [
+                maybe(10, pick([' ', '\t', '\n '])),
+                maybe(10, pick(['url:', 'URL:', 'url'])),
+                pick(PROTOCOLS),
+                random.nextInt(15) == 0 ? '' : ':',
+                pick(['//', '//', '//', '/', '', '///', '////']),
+                maybe(8, pick(['user@', 'u:p@', 'a@b@', '@'])),
+                host,
+                pick(PORTS),
+                maybe(2, '/' + chars(10)),
+                maybe(5, '?' + chars(6)),
+                maybe(5, '#' + chars(6)),
+                maybe(10, pick([' ', '\r\n']))
+            ].join('')
+
+            random.nextInt(20) == 0 ? value.replace('e', 'é') : value
+        }
+    }
+}
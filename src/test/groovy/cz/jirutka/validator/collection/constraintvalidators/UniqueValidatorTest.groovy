@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.constraints.EachUnique
+import cz.jirutka.validator.collection.constraints.EachUnique.KeyExtractor
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.ConstraintValidatorContext
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+
+@Unroll
+class UniqueValidatorTest extends Specification {
+
+    def 'indexOfDuplicate: #elements -> #expected'() {
+        setup:
+            def validator = createValidator(UniqueValidatorForCollection)
+        expect:
+            validator.indexOfDuplicate(elements) == expected
+        where:
+            elements                                 | expected
+            []                                       | -1
+            ['a', 'b', 'c']                          | -1
+            ['a', 'b', 'a']                          | 2
+            [null, 'a', null, 'b']                   | -1
+            [1, 2, 3, 2, 1]                          | 3
+            [0, 5, 0]                                | 2
+            [1L, 2L, -1L, Long.MIN_VALUE, -1L]       | 4
+            [1, 1L]                                  | -1
+            [1, 2, 1L, 2]                            | 3
+            [1.5d, 0.0d, Double.parseDouble('-0.0')] | -1
+            [Double.NaN, 1.0d, Double.NaN]           | 2
+            [0.5f, 0.25f, 0.5f]                      | 2
+            ['a' as char, 'b' as char, 'a' as char]  | 2
+            [1 as byte, 2 as byte, 1 as byte]        | 2
+            ['a', 1, 'a']                            | 2
+            [[1, 2], [2, 1], [1, 2]]                 | 2
+    }
+
+    def 'indexOfDuplicate: gives the same result as HashSet for #type.simpleName elements'() {
+        setup:
+            def random = new Random(42)
+            def validator = createValidator(UniqueValidatorForCollection)
+        expect:
+            (0..<200).every {
+                def elements = (0..<random.nextInt(500)).collect { generator(random) }
+                def seen = new HashSet()
+                def expected = elements.findIndexOf { it != null && !seen.add(it) }
+
+                validator.indexOfDuplicate(elements) == expected
+            }
+        where:
+            type    | generator
+            Integer | { Random r -> r.nextInt(1000) - 500 }
+            Long    | { Random r -> r.nextLong() % 2000 }
+            Double  | { Random r -> r.nextInt(1000) / 4d }
+            String  | { Random r -> r.nextInt(10) == 0 ? null : Integer.toString(r.nextInt(1000), 36) }
+    }
+
+    def 'indexOfDuplicate: compares elements by key'() {
+        setup:
+            def validator = createValidator(UniqueValidatorForCollection, by: FirstCharKey)
+        expect:
+            validator.indexOfDuplicate(['foo', 'bar', null, '', 'baz']) == 4
+            validator.indexOfDuplicate(['foo', 'bar', '', '']) == -1
+    }
+
+    def 'isValid: #validator.simpleName for #array'() {
+        setup:
+            def instance = createValidator(validator)
+        expect:
+            instance.isValid(array, null) == expected
+        where:
+            validator                     | array                                 | expected
+            UniqueValidatorForIntArray    | [1, 0, -1, Integer.MAX_VALUE] as int[] | true
+            UniqueValidatorForIntArray    | null                                  | true
+            UniqueValidatorForLongArray   | [0L, Long.MIN_VALUE, 42L] as long[]   | true
+            UniqueValidatorForObjectArray | ['a', 'b'] as String[]                | true
+            UniqueValidatorForCollection  | ['a', 'b', 'a'] as Set                | true
+    }
+
+    def 'isValid: #validator.simpleName is false for #array'() {
+        setup:
+            def instance = createValidator(validator)
+        expect:
+            ! instance.isValid(array, Stub(ConstraintValidatorContext))
+        where:
+            validator                     | array
+            UniqueValidatorForIntArray    | [1, 0, 0] as int[]
+            UniqueValidatorForLongArray   | [5L, Long.MIN_VALUE, 5L] as long[]
+            UniqueValidatorForObjectArray | ['a', 'b', 'a'] as String[]
+            UniqueValidatorForCollection  | [1, 2, 1]
+            UniqueValidatorForCollection  | identitySetOf(new String('a'), 'b', new String('a'))
+    }
+
+    def 'isEqualsBasedSet: #collection.class.simpleName -> #expected'() {
+        expect:
+            UniqueValidatorForCollection.isEqualsBasedSet(collection) == expected
+        where:
+            collection                                          | expected
+            new HashSet(['a'])                                  | true
+            new LinkedHashSet(['a'])                            | true
+            EnumSet.of(Thread.State.NEW)                        | true
+            new TreeSet(['a'])                                  | true
+            new TreeSet(String.CASE_INSENSITIVE_ORDER)          | false
+            identitySetOf('a')                                  | false
+            Collections.unmodifiableSet(new HashSet(['a']))     | false
+            ['a']                                               | false
+    }
+
+    def 'initialize: throw IllegalArgumentException when key extractor cannot be instantiated'() {
+        when:
+            createValidator(UniqueValidatorForCollection, by: PrivateKeyExtractor)
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    def createValidator(Map attributes = [:], Class validatorType) {
+        def validator = validatorType.newInstance()
+        validator.initialize(createAnnotation(EachUnique, attributes))
+        validator
+    }
+
+
+    static Set identitySetOf(Object... elements) {
+        def set = Collections.newSetFromMap(new IdentityHashMap())
+        set.addAll(elements)
+        set
+    }
+
+    static class FirstCharKey implements KeyExtractor<String> {
+        Object getKey(String element) {
+            element.empty ? null : element.charAt(0)
+        }
+    }
+
+    static class PrivateKeyExtractor implements KeyExtractor<Object> {
+        private PrivateKeyExtractor() { }
+
+        Object getKey(Object element) { element }
+    }
+}
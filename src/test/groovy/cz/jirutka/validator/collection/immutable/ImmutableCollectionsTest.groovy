@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.immutable
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+@Unroll
+class ImmutableCollectionsTest extends Specification {
+
+    def 'isImmutable: return #expected for #desc'() {
+        expect:
+            ImmutableCollections.isImmutable(collection) == expected
+        where:
+            collection                                     | expected | desc
+            Collections.emptyList()                        | true     | 'empty list'
+            Collections.emptySet()                         | true     | 'empty set'
+            Collections.singletonList('a')                 | true     | 'singleton list'
+            Collections.singleton('a')                     | true     | 'singleton set'
+            ['a', 'b']                                     | false    | 'ArrayList'
+            Arrays.asList('a', 'b')                        | false    | 'Arrays.asList'
+            Collections.unmodifiableList(['a', 'b'])       | false    | 'unmodifiable view'
+    }
+
+    def 'addDetector: recognize collections accepted by the added detector'() {
+        setup:
+            def frozen = new ArrayList(['a', 'b'])
+            def detector = { it.is(frozen) } as ImmutabilityDetector
+        when:
+            ImmutableCollections.addDetector(detector)
+        then:
+            ImmutableCollections.isImmutable(frozen)
+            ! ImmutableCollections.isImmutable(new ArrayList(frozen))
+        when:
+            ImmutableCollections.removeDetector(detector)
+        then:
+            ! ImmutableCollections.isImmutable(frozen)
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.internal.MessageTemplateUtils.referencesValidatedValue
+
+@Unroll
+class MessageTemplateUtilsTest extends Specification {
+
+    def 'referencesValidatedValue: return #expected for "#template"'() {
+        expect:
+            referencesValidatedValue(template, ['min', 'max', 'value', 'inclusive'], Locale.ENGLISH) == expected
+        where:
+            template                                             | expected
+            'must be a valid URL'                                | false
+            'size must be between {min} and {max}'               | false
+            '{javax.validation.constraints.Size.message}'        | false
+            '{javax.validation.constraints.DecimalMax.message}'  | false
+            '${validatedValue} is not valid'                     | true
+            '{test.validatedValue.message}'                      | true
+            'value: {test.nested.message}'                       | true
+            '\\{test.nested.message}'                            | false
+            '{unknown.message}'                                  | true
+            'must be at most {regexp}'                           | true
+            'must be ${inclusive ? "at most" : "less than"} {value}' | false
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class ScriptEnginePoolTest extends Specification {
+
+    def 'creates at most maxEngines engines when more threads evaluate concurrently'() {
+        setup:
+            def pool = new ScriptEnginePool('javascript', 2)
+            def executor = Executors.newFixedThreadPool(8)
+            def task = { pool.evaluate('x + 1', 'x', 1) } as Callable
+        when:
+            def results = executor.invokeAll((1..200).collect { task })*.get()
+        then:
+            results.size() == 200
+            results.every { r -> r == 2 }
+            // engines are never discarded, so all the created ones are idle now
+            pool.idle.size() <= 2
+        cleanup:
+            executor.shutdown()
+    }
+
+    def 'does not leak global variables between evaluations'() {
+        setup:
+            def pool = new ScriptEnginePool('javascript', 1)
+            def script = 'n = (typeof n === "undefined") ? 1 : n + 1'
+        expect:
+            pool.evaluate(script, 'x', 0) == 1
+            pool.evaluate(script, 'x', 0) == 1
+            pool.evaluate('typeof x', 'y', 0) == 'undefined'
+    }
+
+    def 'forLanguage: shares pool only for the same context class loader'() {
+        setup:
+            def thread = Thread.currentThread()
+            def originalLoader = thread.contextClassLoader
+            def otherLoader = new URLClassLoader([] as URL[], originalLoader)
+        when:
+            def pool = ScriptEnginePool.forLanguage('javascript')
+        then:
+            ScriptEnginePool.forLanguage('javascript').is(pool)
+        when:
+            thread.contextClassLoader = otherLoader
+            def otherPool = ScriptEnginePool.forLanguage('javascript')
+        then:
+            ! otherPool.is(pool)
+            otherPool.classLoader.is(otherLoader)
+            otherPool.evaluate('x + 1', 'x', 1) == 2
+        cleanup:
+            thread.contextClassLoader = originalLoader
+    }
+
+    def 'rejects non-positive maxEngines'() {
+        when:
+            new ScriptEnginePool('javascript', 0)
+        then:
+            thrown IllegalArgumentException
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.regex.Pattern
+
+import static java.util.regex.Pattern.*
+
+@Unroll
+class RegexAutomatonTest extends Specification {
+
+    static final CORPUS_SIZE = 2000
+
+    static final INPUTS_PER_REGEXP = 40
+
+    static final INPUT_CHARS = ['a', 'b', 'A', 'B', 'k', '0', '7', '_', ' ', '-', '\t', '\n', '\r',
+                                new String(Character.toChars(0x85)), new String(Character.toChars(0x2028)),
+                                new String(Character.toChars(0x1F600)), new String(Character.toChars(0xE9))]
+
+    static final ATOMS = ['a', 'b', 'A', 'k', '0', '_', ' ', '-', '\\t', '\\n', '\\r', '\\x41', '\\u0062', '\\x{1F600}',
+                          '\\0141', '\\cJ', '\\\\', '\\.', '.', '\\d', '\\D', '\\w', '\\W', '\\s', '\\S',
+                          '[ab]', '[^ab]', '[a-z]', '[^a-z0-9]', '[A-Z_]', '[\\d\\s]', '[^\\w]', '[-a]', '[a-]',
+                          '[\\x00-\\x7f]', '[^\\n]', '[.]', '[\\]a]', '[é-ü]',
+                          '^', '$', '\\A', '\\z', '\\Z']
+
+    static final QUANTIFIERS = ['', '', '', '?', '*', '+', '{2}', '{0,2}', '{1,}', '{2,3}', '??', '*?', '+?', '{1,2}?']
+
+    static final FLAGS = [0, CASE_INSENSITIVE, DOTALL, UNIX_LINES, CASE_INSENSITIVE | DOTALL, DOTALL | UNIX_LINES]
+
+
+    def 'matchesAll/matchesAny: same results as java.util.regex for a single regexp'() {
+        setup:
+            def random = new Random(42)
+            def mismatches = []
+            def supported = 0
+        when:
+            CORPUS_SIZE.times {
+                def regexp = generateRegexp(random, 3)
+                def flags = FLAGS[random.nextInt(FLAGS.size())]
+                def automaton = compileOrNull([regexp], flags)
+
+                if (automaton != null) {
+                    supported++
+                    def pattern = Pattern.compile(regexp, flags)
+
+                    generateInputs(random, regexp).each { input ->
+                        def expected = pattern.matcher(input).matches()
+                        if (automaton.matchesAll(input) != expected || automaton.matchesAny(input) != expected) {
+                            mismatches << [regexp, flags, input]
+                        }
+                    }
+                }
+            }
+        then:
+            mismatches.empty
+            supported > CORPUS_SIZE * 0.9
+    }
+
+    def 'matchesAll/matchesAny: same results as java.util.regex for #count regexps'() {
+        setup:
+            def random = new Random(count)
+            def mismatches = []
+            def supported = 0
+        when:
+            (CORPUS_SIZE / 10).times {
+                def regexps = (1..count).collect { generateRegexp(random, 1) }
+                def flags = FLAGS[random.nextInt(FLAGS.size())]
+                def automaton = compileOrNull(regexps, flags)
+
+                if (automaton != null) {
+                    supported++
+                    def patterns = regexps.collect { Pattern.compile(it, flags) }
+
+                    generateInputs(random, regexps[random.nextInt(count)]).each { input ->
+                        def results = patterns.collect { it.matcher(input).matches() }
+                        if (automaton.matchesAll(input) != results.every() || automaton.matchesAny(input) != results.any()) {
+                            mismatches << [regexps, flags, input]
+                        }
+                    }
+                }
+            }
+        then:
+            mismatches.empty
+            supported > 0
+        where:
+            count << [2, 5, 64]
+    }
+
+    def 'matchesAll: linear time for #regexp'() {
+        setup:
+            def automaton = RegexAutomaton.compile([regexp], 0)
+            def input = 'a' * 10000 + '!'
+        expect:
+            ! automaton.matchesAll(input)
+        where:
+            regexp << ['(a+)+', '(a|aa)*', '(a*)*b', '(?:a|a?)+']
+    }
+
+    def 'compile: throw UnsupportedRegexException for #desc'() {
+        when:
+            RegexAutomaton.compile([regexp], flags)
+        then:
+            thrown UnsupportedRegexException
+        where:
+            regexp        | flags            | desc
+            '(a)\\1'      | 0                | 'backreference'
+            '(?<n>a)\\k<n>'| 0               | 'named backreference'
+            'a(?=b)'      | 0                | 'lookahead'
+            'a(?<!b)'     | 0                | 'lookbehind'
+            '(?>a)'       | 0                | 'independent group'
+            'a*+'         | 0                | 'possessive quantifier'
+            '[a[b]]'      | 0                | 'nested class'
+            '[a-z&&[^b]]' | 0                | 'intersection'
+            '\\bfoo'      | 0                | 'word boundary'
+            '\\p{L}'      | 0                | 'Unicode property'
+            '\\Qa.b\\E'   | 0                | 'quotation'
+            '^a'          | MULTILINE        | 'MULTILINE anchor'
+            'a'           | COMMENTS         | 'COMMENTS flag'
+            '(?iu)a'      | 0                | 'Unicode case folding'
+            'a{1000}{1000}'| 0               | 'too many states'
+    }
+
+    def 'compile: throw IllegalArgumentException for more than 64 regexps'() {
+        when:
+            RegexAutomaton.compile(['a'] * 65, 0)
+        then:
+            thrown IllegalArgumentException
+    }
+
+
+    static compileOrNull(List<String> regexps, int flags) {
+        try {
+            regexps.each { Pattern.compile(it, flags) }
+        } catch (IllegalArgumentException ex) {
+            return null  // invalid regexp, e.g. a quantified anchor in some JDK versions
+        }
+        try {
+            RegexAutomaton.compile(regexps, flags)
+        } catch (UnsupportedRegexException ex) {
+            null
+        }
+    }
+
+    static String generateRegexp(Random random, int depth) {
+        def pick = { List list -> list[random.nextInt(list.size())] }
+
+        def term = {
+            def atom
+            switch (depth > 0 ? random.nextInt(10) : 9) {
+                case 0:
+                    atom = '(' + generateRegexp(random, depth - 1) + ')'; break
+                case 1:
+                    atom = '(?:' + generateRegexp(random, depth - 1) + ')'; break
+                case 2:
+                    atom = pick(['(?i:', '(?s:', '(?-i:', '(?<g' + random.nextInt(1000) + '>']) + generateRegexp(random, depth - 1) + ')'; break
+                case 3:
+                    atom = pick(['(?i)', '(?s)', '(?d)', '(?-s)']); break
+                default:
+                    atom = pick(ATOMS)
+            }
+            atom in ['^', '$', '\\A', '\\z', '\\Z'] || atom.startsWith('(?') && atom.endsWith(')') && !atom.contains(':') && atom.size() < 6 \
+                    ? atom : atom + pick(QUANTIFIERS)
+        }
+        def alternatives = (0..random.nextInt(random.nextInt(3) + 1)).collect {
+            (0..<random.nextInt(4)).collect { term() }.join('')
+        }
+        alternatives.join('|')
+    }
+
+    static List<String> generateInputs(Random random, String regexp) {
+        def literals = (regexp.findAll(/[a-zA-Z0-9_ -]/) ?: ['a'])
+
+        (0..<INPUTS_PER_REGEXP).collect {
+            def length = random.nextInt(9)
+            (0..<length).collect {
+                random.nextBoolean() ? literals[random.nextInt(literals.size())] : INPUT_CHARS[random.nextInt(INPUT_CHARS.size())]
+            }.join('')
+        } + ['', 'a' * random.nextInt(10), 'ab\r\n', 'a\n']
+    }
+}
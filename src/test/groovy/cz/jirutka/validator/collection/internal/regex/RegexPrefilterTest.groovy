@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.internal.regex
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.regex.Pattern
+
+import static cz.jirutka.validator.collection.internal.regex.RegexAutomatonTest.generateInputs
+import static cz.jirutka.validator.collection.internal.regex.RegexAutomatonTest.generateRegexp
+import static java.util.regex.Pattern.CASE_INSENSITIVE
+import static java.util.regex.Pattern.DOTALL
+
+@Unroll
+class RegexPrefilterTest extends Specification {
+
+    static final UNBOUNDED = Integer.MAX_VALUE
+
+    static final EMOJI = new String(Character.toChars(0x1F600))
+
+
+    def 'of: derive conditions from #regexp'() {
+        when:
+            def prefilter = RegexPrefilter.of(regexp, flags)
+        then:
+            prefilter.minLength == minLength
+            prefilter.maxLength == maxLength
+            prefilter.prefix == prefix
+            prefilter.suffix == suffix
+            prefilter.requiredChars as List == required.collect { it as char }
+        where:
+            regexp                  | flags            | minLength | maxLength | prefix  | suffix   | required
+            '^INV-[0-9]{8}$'        | 0                | 12        | 12        | 'INV-'  | ''       | []
+            'foo'                   | 0                | 3         | 3         | 'foo'   | 'foo'    | []
+            'ab+c'                  | 0                | 3         | UNBOUNDED | 'ab'    | 'bc'     | []
+            '(?:ab){2,3}x?'         | 0                | 4         | 7         | 'abab'  | ''       | []
+            'foo|far'               | 0                | 3         | 3         | 'f'     | ''       | []
+            '[a-z]+@[a-z]+\\.cz'    | 0                | 6         | UNBOUNDED | ''      | '.cz'    | ['@']
+            '.*(?:x|yx).*'          | 0                | 1         | UNBOUNDED | ''      | ''       | ['x']
+            'foo'                   | CASE_INSENSITIVE | 3         | 3         | ''      | ''       | []
+            '12-a'                  | CASE_INSENSITIVE | 4         | 4         | '12-'   | ''       | []
+            '.'                     | DOTALL           | 1         | 2         | ''      | ''       | []
+            '\\x{1F600}a'           | 0                | 3         | 3         | EMOJI + 'a' | EMOJI + 'a' | []
+    }
+
+    def 'of: return null for #desc'() {
+        expect:
+            RegexPrefilter.of(regexp, 0) == null
+        where:
+            regexp      | desc
+            '.*'        | 'nothing to check'
+            '(a)\\1'    | 'unsupported construct'
+    }
+
+    def 'mayMatch: return #expected for #input'() {
+        setup:
+            def prefilter = RegexPrefilter.of('^INV-[0-9]{4}-.*X', 0)
+        expect:
+            prefilter.mayMatch(input) == expected
+        where:
+            input                      | expected
+            'INV-1234-X'               | true
+            'INV-12345X'               | true  // just a necessary condition
+            'INV-123X'                 | false
+            'inv-1234-X'               | false
+            'INV-1234-Y'               | false
+            new StringBuilder('INV-0000-foo') | false
+    }
+
+    def 'mayMatch: return true for all inputs that match'() {
+        setup:
+            def random = new Random(42)
+            def falseNegatives = []
+            def rejected = 0
+        when:
+            1000.times {
+                def regexp = generateRegexp(random, 2)
+                def flags = [0, CASE_INSENSITIVE, DOTALL][random.nextInt(3)]
+                def prefilter
+                try {
+                    Pattern.compile(regexp, flags)
+                    prefilter = RegexPrefilter.of(regexp, flags)
+                } catch (IllegalArgumentException ex) {
+                    return
+                }
+                if (prefilter == null) return
+
+                def pattern = Pattern.compile(regexp, flags)
+                generateInputs(random, regexp).each { input ->
+                    if (!prefilter.mayMatch(input)) {
+                        rejected++
+                        if (pattern.matcher(input).matches()) {
+                            falseNegatives << [regexp, flags, input]
+                        }
+                    }
+                }
+            }
+        then:
+            falseNegatives.empty
+            rejected > 1000
+    }
+}
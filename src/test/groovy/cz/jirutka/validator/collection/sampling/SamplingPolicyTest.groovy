@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.sampling
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static cz.jirutka.validator.collection.sampling.SamplingPolicy.Selection.RANDOM
+import static cz.jirutka.validator.collection.sampling.SamplingPolicy.Selection.STRIDED
+
+@Unroll
+class SamplingPolicyTest extends Specification {
+
+    def 'select: return #expected for size #size, count #count and STRIDED'() {
+        expect:
+            SamplingPolicy.select(size, count, STRIDED) == expected as int[]
+        where:
+            size | count || expected
+            10   | 2     || [0, 9]
+            10   | 4     || [0, 3, 6, 9]
+            10   | 9     || [0, 1, 2, 3, 4, 5, 6, 7, 9]
+            10   | 1     || [0, 9]
+            10   | 10    || null
+            1    | 2     || null
+    }
+
+    def 'select: return #count distinct ascending indexes including first and last for size #size and RANDOM'() {
+        when:
+            def indexes = SamplingPolicy.select(size, count, RANDOM) as List
+        then:
+            indexes.size() == count
+            indexes.first() == 0
+            indexes.last() == size - 1
+            indexes == indexes.toSorted()
+            indexes.toSet().size() == count
+        where:
+            size   | count
+            3      | 2
+            3      | 2
+            100    | 50
+            100    | 99
+            100000 | 1000
+    }
+
+    def 'select: select each inner index with similar probability for RANDOM'() {
+        setup:
+            def counts = new int[10]
+        when:
+            10000.times {
+                SamplingPolicy.select(10, 4, RANDOM).each { counts[it]++ }
+            }
+        then:
+            counts[0] == 10000
+            counts[9] == 10000
+            (1..8).every { counts[it] in 2000..3000 }
+    }
+
+    def 'fraction: select #expected of #size elements'() {
+        setup:
+            def policy = SamplingPolicy.fraction(0.1, STRIDED, 100)
+        expect:
+            policy.selectIndexes(null, size)?.length == expected
+        where:
+            size | expected
+            99   | null
+            100  | 10
+            1001 | 101
+    }
+
+    def 'count: select #expected of #size elements'() {
+        setup:
+            def policy = SamplingPolicy.count(10, RANDOM, 0)
+        expect:
+            policy.selectIndexes(null, size)?.length == expected
+        where:
+            size | expected
+            10   | null
+            11   | 10
+            1000 | 10
+    }
+
+    def 'throw IllegalArgumentException for #desc'() {
+        when:
+            create()
+        then:
+            thrown IllegalArgumentException
+        where:
+            create                                           | desc
+            { -> SamplingPolicy.fraction(0, RANDOM, 0) }     | 'zero fraction'
+            { -> SamplingPolicy.fraction(1.5, RANDOM, 0) }   | 'fraction greater than 1'
+            { -> SamplingPolicy.fraction(0.5, null, 0) }     | 'null selection'
+            { -> SamplingPolicy.count(1, STRIDED, 0) }       | 'count less than 2'
+            { -> SamplingPolicy.count(10, STRIDED, -1) }     | 'negative minSize'
+    }
+}
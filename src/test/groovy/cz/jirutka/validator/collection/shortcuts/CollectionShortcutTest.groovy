@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.shortcuts
+
+import cz.jirutka.validator.collection.CollectionShortcut.ElementValidators
+import cz.jirutka.validator.collection.CommonEachValidator
+import cz.jirutka.validator.collection.constraints.*
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.validation.ConstraintValidatorContext
+import javax.validation.Validation
+import javax.validation.constraints.Max
+import javax.validation.constraints.Min
+import javax.validation.constraints.NotNull
+import java.util.concurrent.*
+
+import static cz.jirutka.validator.collection.TestUtils.createAnnotation
+import static cz.jirutka.validator.collection.internal.ConstraintValidatorUtils.createDefaultValidator
+import static java.math.RoundingMode.*
+
+@Unroll
+class CollectionShortcutTest extends Specification {
+
+    static final NULLS_FIRST = { a, b -> a == null ? (b == null ? 0 : -1) : b == null ? 1 : a <=> b } as Comparator
+
+    // all JDK collection types (except DelayQueue that requires Delayed elements)
+    static final COLLECTION_TYPES = [
+        'ArrayList'                   : { new ArrayList(it) },
+        'LinkedList'                  : { new LinkedList(it) },
+        'Vector'                      : { new Vector(it) },
+        'CopyOnWriteArrayList'        : { new CopyOnWriteArrayList(it) },
+        'Arrays.asList'               : { Arrays.asList(it.toArray()) },
+        'unmodifiableList'            : { Collections.unmodifiableList(it) },
+        'synchronizedList'            : { Collections.synchronizedList(it) },
+        'HashSet'                     : { new HashSet(it) },
+        'LinkedHashSet'               : { new LinkedHashSet(it) },
+        'TreeSet'                     : { new TreeSet(it) },
+        'TreeSet(reverseOrder)'       : { def s = new TreeSet(Collections.reverseOrder()); s.addAll(it); s },
+        'TreeSet(nullsFirst)'         : { def s = new TreeSet(NULLS_FIRST); s.addAll(it); s },
+        'CopyOnWriteArraySet'         : { new CopyOnWriteArraySet(it) },
+        'ConcurrentSkipListSet'       : { new ConcurrentSkipListSet(it) },
+        'newSetFromMap(HashMap)'      : { def s = Collections.newSetFromMap(new HashMap()); s.addAll(it); s },
+        'ConcurrentHashMap.keySet'    : { def m = new ConcurrentHashMap(); it.each { m.put(it, 1) }; m.keySet() },
+        'unmodifiableSet'             : { Collections.unmodifiableSet(new HashSet(it)) },
+        'synchronizedSet'             : { Collections.synchronizedSet(new HashSet(it)) },
+        'HashMap.values'              : { def m = new HashMap(); it.eachWithIndex { v, i -> m.put(i, v) }; m.values() },
+        'EnumSet'                     : { EnumSet.copyOf(it) },
+        'ArrayDeque'                  : { new ArrayDeque(it) },
+        'PriorityQueue'               : { new PriorityQueue(it) },
+        'ConcurrentLinkedQueue'       : { new ConcurrentLinkedQueue(it) },
+        'ConcurrentLinkedDeque'       : { new ConcurrentLinkedDeque(it) },
+        'ArrayBlockingQueue'          : { new ArrayBlockingQueue(it.size(), false, it) },
+        'LinkedBlockingQueue'         : { new LinkedBlockingQueue(it) },
+        'LinkedBlockingDeque'         : { new LinkedBlockingDeque(it) },
+        'PriorityBlockingQueue'       : { new PriorityBlockingQueue(it) },
+        'LinkedTransferQueue'         : { new LinkedTransferQueue(it) }
+    ]
+
+    // types that NotNullShortcut decides for any elements
+    static final NOT_NULL_DECIDED = [
+        'HashSet', 'LinkedHashSet', 'TreeSet', 'TreeSet(reverseOrder)', 'TreeSet(nullsFirst)',
+        'ConcurrentSkipListSet', 'ArrayDeque', 'PriorityQueue', 'ConcurrentLinkedQueue', 'ConcurrentLinkedDeque',
+        'ArrayBlockingQueue', 'LinkedBlockingQueue', 'LinkedBlockingDeque', 'PriorityBlockingQueue',
+        'LinkedTransferQueue'
+    ]
+
+    @Shared factory = Validation.buildDefaultValidatorFactory()
+
+
+    def 'validate @#constraint.annotationType().simpleName on #values in any collection type gives the same result with shortcuts'() {
+        setup:
+            def validator = new CommonEachValidator(validatorFactory: factory)
+            validator.initialize(constraint)
+        when:
+            def mismatches = COLLECTION_TYPES.findAll { type, create ->
+                def collection = createOrNull(create, values)
+                collection != null && validator.isValid(collection, Stub(ConstraintValidatorContext)) != valid
+            }
+        then:
+            mismatches.isEmpty()
+        where:
+            constraint                                                  | values            | valid
+            createAnnotation(EachNotNull)                               | [1, 3, 2]         | true
+            createAnnotation(EachNotNull)                               | [1, null, 2]      | false
+            createAnnotation(EachNotNull)                               | [UP, DOWN]        | true
+            createAnnotation(EachMin, value: 3L)                        | [3, 5, 4]         | true
+            createAnnotation(EachMin, value: 3L)                        | [3, 5, 2]         | false
+            createAnnotation(EachMax, value: 7L)                        | [3L, 7L, 5L]      | true
+            createAnnotation(EachMax, value: 7L)                        | [3L, 8L, 5L]      | false
+            createAnnotation(EachDecimalMin, value: '0.5')              | [0.5, 1.0, 0.75]  | true
+            createAnnotation(EachDecimalMax, value: '0.5')              | [0.5, 0.25, 0.75] | false
+            createAnnotation(EachIn, value: ['UP', 'DOWN'] as String[]) | [UP, DOWN]        | true
+            createAnnotation(EachIn, value: ['UP', 'DOWN'] as String[]) | [UP, CEILING]     | false
+    }
+
+    def '#shortcut.simpleName decides valid collection of #values only for expected types'() {
+        setup:
+            def instance = shortcut.newInstance()
+            def validators = { Class type -> createDefaultValidator(constraint, type) } as ElementValidators
+        when:
+            def mismatches = COLLECTION_TYPES.findAll { type, create ->
+                def collection = createOrNull(create, values)
+                collection != null && instance.isValid(collection, constraint, validators, null) != (type in decidedTypes)
+            }
+        then:
+            mismatches.isEmpty()
+        where:
+            shortcut               | constraint                                              | values     | decidedTypes
+            NotNullShortcut        | createAnnotation(NotNull)                               | [1, 3, 2]  | NOT_NULL_DECIDED
+            NotNullShortcut        | createAnnotation(NotNull)                               | [UP, DOWN] | NOT_NULL_DECIDED + 'EnumSet'
+            SortedSetBoundShortcut | createAnnotation(Min, value: 1L)                        | [1, 3, 2]  | ['TreeSet', 'TreeSet(reverseOrder)', 'ConcurrentSkipListSet']
+            SortedSetBoundShortcut | createAnnotation(Max, value: 3L)                        | [1, 3, 2]  | ['TreeSet', 'TreeSet(reverseOrder)', 'ConcurrentSkipListSet']
+            EnumSetShortcut        | createAnnotation(In, value: ['UP', 'DOWN'] as String[]) | [UP, DOWN] | ['EnumSet']
+    }
+
+    def '#shortcut.simpleName does not decide invalid collection of #values'() {
+        setup:
+            def instance = shortcut.newInstance()
+            def validators = { Class type -> createDefaultValidator(constraint, type) } as ElementValidators
+        when:
+            def mismatches = COLLECTION_TYPES.findAll { type, create ->
+                def collection = createOrNull(create, values)
+                collection != null && instance.isValid(collection, constraint, validators, null)
+            }
+        then:
+            mismatches.isEmpty()
+        where:
+            shortcut               | constraint                                      | values
+            NotNullShortcut        | createAnnotation(NotNull)                       | [1, null, 2]
+            SortedSetBoundShortcut | createAnnotation(Min, value: 2L)                | [1, 3, 2]
+            SortedSetBoundShortcut | createAnnotation(Max, value: 2L)                | [1, 3, 2]
+            EnumSetShortcut        | createAnnotation(In, value: ['UP'] as String[]) | [UP, DOWN]
+    }
+
+    def 'NotNullShortcut does not decide when contains(null) throws'() {
+        setup:
+            def set = new TreeSet({ a, b -> a.compareTo(b) } as Comparator)
+            set.addAll([1, 2])
+        expect:
+            ! new NotNullShortcut().isValid(set, createAnnotation(NotNull), null, null)
+    }
+
+
+    static createOrNull(Closure create, List values) {
+        try {
+            create(values)
+        } catch (NullPointerException | ClassCastException | IllegalArgumentException ex) {
+            null  // the collection type doesn't support these values
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2015 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection
+
+import cz.jirutka.validator.collection.internal.HibernateValidatorInfo
+import cz.jirutka.validator.collection.time.ReferenceClock
+import cz.jirutka.validator.collection.time.ReferenceTime
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Instant
+import java.time.OffsetDateTime
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+
+import static cz.jirutka.validator.collection.TestUtils.evalClassWithConstraint
+import static cz.jirutka.validator.collection.TestUtils.validate
+
+@Unroll
+class JavaTimeIT extends Specification {
+
+    static HV_VERSION = HibernateValidatorInfo.getVersion()
+
+    static final NOW = Instant.ofEpochMilli(1000)
+
+    def setup() {
+        ReferenceTime.clock = { ctx -> NOW.toEpochMilli() } as ReferenceClock
+    }
+
+    def cleanup() {
+        ReferenceTime.clock = null
+    }
+
+
+    def 'validate #constraint with java.time elements [ #desc ]'() {
+        setup:
+            def entity = evalClassWithConstraint(constraint, null)
+            entity.valuesList = values
+        when:
+            def violations = validate(entity)
+        then:
+            violations*.propertyPath*.toString() == (invalidIndex != null ? [propertyPath(invalidIndex)] : [])
+        where:
+            constraint    | values                                                          | desc         || invalidIndex
+            '@EachPast'   | [NOW.minusMillis(1), offset(NOW.minusMillis(1)), zoned(NOW)]    | 'zoned now'  || 2
+            '@EachPast'   | [new Date(10), NOW.minusSeconds(1), zoned(NOW.minusMillis(1))]  | 'all past'   || null
+            '@EachFuture' | [NOW.plusMillis(1), offset(NOW), zoned(NOW.plusMillis(1))]      | 'offset now' || 1
+            '@EachFuture' | [NOW.plusSeconds(1), offset(NOW.plusMillis(1)), new Date(2000)] | 'all future' || null
+    }
+
+
+    static propertyPath(int index) {
+        HV_VERSION >= 5_0_0 ? "valuesList[${index}]" : 'valuesList'
+    }
+
+    static offset(Instant instant) {
+        OffsetDateTime.ofInstant(instant, ZoneOffset.ofHours(2))
+    }
+
+    static zoned(Instant instant) {
+        ZonedDateTime.ofInstant(instant, ZoneId.of('Europe/Prague'))
+    }
+}
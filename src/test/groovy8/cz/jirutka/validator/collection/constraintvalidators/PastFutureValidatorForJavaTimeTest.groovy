@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2014 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection.constraintvalidators
+
+import cz.jirutka.validator.collection.time.ReferenceClock
+import cz.jirutka.validator.collection.time.ReferenceTime
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Instant
+import java.time.OffsetDateTime
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+import java.time.chrono.ThaiBuddhistDate
+
+import static java.time.temporal.ChronoUnit.NANOS
+
+@Unroll
+class PastFutureValidatorForJavaTimeTest extends Specification {
+
+    static final NOW = Instant.parse('2016-03-01T12:00:00.123Z')
+
+    def setup() {
+        ReferenceTime.clock = { ctx -> NOW.toEpochMilli() } as ReferenceClock
+    }
+
+    def cleanup() {
+        ReferenceTime.clock = null
+    }
+
+
+    def '#validator.simpleName: return #expPast for #desc (Past) and #expFuture (Future)'() {
+        setup:
+            def past = pastValidator.newInstance()
+            def future = futureValidator.newInstance()
+        expect:
+            past.isValid(value, null) == expPast
+            future.isValid(value, null) == expFuture
+        where:
+            pastValidator                        | futureValidator                        | value                             || expPast | expFuture
+            PastValidatorForInstant              | FutureValidatorForInstant              | null                              || true    | true
+            PastValidatorForInstant              | FutureValidatorForInstant              | NOW.minus(1, NANOS)               || true    | false
+            PastValidatorForInstant              | FutureValidatorForInstant              | NOW                               || false   | false
+            PastValidatorForInstant              | FutureValidatorForInstant              | NOW.plus(1, NANOS)                || false   | true
+            PastValidatorForInstant              | FutureValidatorForInstant              | Instant.ofEpochMilli(-1001)       || true    | false
+            PastValidatorForOffsetDateTime       | FutureValidatorForOffsetDateTime       | offset(NOW.minus(1, NANOS), 5)    || true    | false
+            PastValidatorForOffsetDateTime       | FutureValidatorForOffsetDateTime       | offset(NOW, -3)                   || false   | false
+            PastValidatorForOffsetDateTime       | FutureValidatorForOffsetDateTime       | offset(NOW.plusSeconds(1), 0)     || false   | true
+            PastValidatorForChronoZonedDateTime  | FutureValidatorForChronoZonedDateTime  | zoned(NOW.minus(1, NANOS))        || true    | false
+            PastValidatorForChronoZonedDateTime  | FutureValidatorForChronoZonedDateTime  | zoned(NOW)                        || false   | false
+            PastValidatorForChronoZonedDateTime  | FutureValidatorForChronoZonedDateTime  | zoned(NOW.plusSeconds(1))         || false   | true
+            PastValidatorForChronoZonedDateTime  | FutureValidatorForChronoZonedDateTime  | thaiBuddhist(NOW.minusSeconds(1)) || true    | false
+
+            desc = value?.toString() ?: 'null'
+    }
+
+
+    static offset(Instant instant, int hours) {
+        OffsetDateTime.ofInstant(instant, ZoneOffset.ofHours(hours))
+    }
+
+    static zoned(Instant instant) {
+        ZonedDateTime.ofInstant(instant, ZoneId.of('Europe/Prague'))
+    }
+
+    static thaiBuddhist(Instant instant) {
+        ThaiBuddhistDate.from(zoned(instant)).atTime(zoned(instant).toLocalTime()).atZone(ZoneId.of('Europe/Prague'))
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2013-2016 Jakub Jirutka <jakub@jirutka.cz>.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package cz.jirutka.validator.collection;
+
+import javax.validation.ConstraintValidator;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures memory allocated by the current thread while validating values.
+ * It's written in Java, so the measured loop itself doesn't allocate.
+ */
+public abstract class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+
+    public static boolean isSupported() {
+        return THREAD_BEAN.isThreadAllocatedMemorySupported() && THREAD_BEAN.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Validates the value with the validator the given number of times (after
+     * a warm-up) and returns the number of bytes allocated meanwhile.
+     */
+    @SuppressWarnings("unchecked")
+    public static long allocatedBytes(ConstraintValidator validator, Object value, int times) {
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < times; i++) {
+            validator.isValid(value, null);
+        }
+        long start = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < times; i++) {
+            validator.isValid(value, null);
+        }
+        return THREAD_BEAN.getThreadAllocatedBytes(threadId) - start;
+    }
+}